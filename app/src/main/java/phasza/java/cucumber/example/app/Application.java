@@ -4,15 +4,25 @@
 package phasza.java.cucumber.example.app;
 
 
-import com.fasterxml.jackson.databind.json.JsonMapper;
 import io.micronaut.configuration.picocli.MicronautFactory;
 import io.micronaut.context.ApplicationContext;
+import io.micronaut.core.value.PropertyResolver;
 import jakarta.inject.Singleton;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import phasza.java.cucumber.example.app.daemon.DaemonClient;
+import phasza.java.cucumber.example.lib.http.ConnectionWarmup;
+import phasza.java.cucumber.example.lib.http.MvnHttpConfiguration;
 import picocli.CommandLine;
 
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Callable;
 
 /**
@@ -25,12 +35,36 @@ import java.util.concurrent.Callable;
 @CommandLine.Command(
         name = "mvn-query",
         subcommands = {
-                SearchCommand.class
+                SearchCommand.class,
+                BatchCommand.class,
+                IndexCommand.class,
+                WatchCommand.class,
+                ServeCommand.class
         },
         versionProvider = VersionProvider.class)
 @RequiredArgsConstructor
 public class Application implements Callable<Integer> {
 
+    /**
+     * Default repository of the commands (see the --url options)
+     */
+    public static final String DEFAULT_REPOSITORY_URL = "https://search.maven.org";
+    /**
+     * Commands, which connect to the repositories of their --url options (unless --offline)
+     */
+    private static final Set<String> CONNECTING_COMMANDS = Set.of("search", "batch", "index", "watch");
+    /**
+     * Options of the application, which print the help or the version instead of executing the command
+     */
+    private static final Set<String> HELP_OPTIONS = Set.of("-h", "--help", "-v", "--version");
+    /**
+     * Configuration property of the connect timeout (see MvnHttpConfiguration)
+     */
+    private static final String CONNECT_TIMEOUT_PROPERTY = "mvn.http.connect-timeout";
+    /**
+     * Configuration property of the response cache (see ResponseCacheConfiguration)
+     */
+    private static final String CACHE_ENABLED_PROPERTY = "mvn.cache.enabled";
     /**
      * --version option
      */
@@ -49,6 +83,15 @@ public class Application implements Callable<Integer> {
             description = "Displays the help")
     private boolean help;
 
+    /**
+     * --startup-profile option
+     */
+    @CommandLine.Option(
+            names = "--startup-profile",
+            description = "Prints the time spent in the phases of the startup (JVM, context, command line, "
+                    + "command) to the standard error")
+    private boolean startupProfile;
+
     /**
      * Help message is "rendered" runtime, we need to save its value to print it
      * if the app is used without parameters.
@@ -59,6 +102,10 @@ public class Application implements Callable<Integer> {
      * Injected logger
      */
     private final Logger logger;
+    /**
+     * Standard output, where the commands write their results
+     */
+    private final StandardOutput standardOutput;
 
     /**
      * Executes the given arguments from the CLI
@@ -67,7 +114,70 @@ public class Application implements Callable<Integer> {
      * @param args Arguments to execute
      */
     public static void main(final String... args) {
-        System.exit(new Application(LoggerFactory.getLogger(Application.class.getName())).execute(args)); //NOPMD
+        //Unlike System.out, the file stream reports when the reader of the output has gone away
+        final var standardOutput = new FileOutputStream(FileDescriptor.out);
+        //A running daemon (see the serve command) executes the command without starting a new context
+        final var forwarded = DaemonClient.forward(List.of(args), standardOutput, System.err);
+        if (forwarded.isPresent()) {
+            System.exit(forwarded.get()); //NOPMD
+        }
+        final Duration connectTimeout;
+        final boolean cacheEnabled;
+        //The property sources of the context (application.yml, system properties, environment variables)
+        //are read without loading the beans
+        try (var environment = ApplicationContext.builder(Application.class).build().getEnvironment().start()) {
+            connectTimeout = connectTimeout(environment);
+            cacheEnabled = environment.getProperty(CACHE_ENABLED_PROPERTY, Boolean.class).orElse(false);
+        }
+        //Connecting to the repositories overlaps with the start of the context, the pool adopts the connections
+        final int status;
+        try (var warmup = new ConnectionWarmup(connectTimeout)) {
+            //The searches may be answered from the response cache without connecting at all
+            if (!cacheEnabled) {
+                warmup.start(repositoryURLs(args));
+            }
+            status = new Application(
+                    LoggerFactory.getLogger(Application.class.getName()),
+                    new StandardOutput(standardOutput, System.err)).execute(List.of(warmup), args);
+        }
+        System.exit(status); //NOPMD
+    }
+
+    /**
+     * Finds the repositories, which the command is going to connect to, without parsing the command line
+     * @param args Arguments of the command line
+     * @return URLs of the --url options, or the default repository,
+     * empty if the command does not connect (e.g. --offline or --help)
+     */
+    static List<String> repositoryURLs(final String... args) {
+        final var arguments = List.of(args);
+        //The options of the application (e.g. --startup-profile) precede the command
+        final int command = (int) arguments.stream().takeWhile(i -> i.startsWith("-")).count();
+        if (command == arguments.size() || !CONNECTING_COMMANDS.contains(arguments.get(command))
+                || arguments.subList(0, command).stream().anyMatch(HELP_OPTIONS::contains)
+                || arguments.contains("--help") || arguments.contains("--version")
+                || arguments.contains("--offline")) {
+            return List.of();
+        }
+        final var urls = new ArrayList<String>();
+        for (int i = command + 1; i < arguments.size(); i++) {
+            if (arguments.get(i).startsWith("--url=")) {
+                urls.add(arguments.get(i).substring("--url=".length()));
+            } else if ("--url".equals(arguments.get(i)) && i + 1 < arguments.size()) {
+                urls.add(arguments.get(++i));
+            }
+        }
+        return urls.isEmpty() ? List.of(DEFAULT_REPOSITORY_URL) : urls;
+    }
+
+    /**
+     * Reads the connect timeout before the context is started, as the context would configure it
+     * @param properties Configuration properties of the application
+     * @return Configured connect timeout, or the default of MvnHttpConfiguration
+     */
+    static Duration connectTimeout(final PropertyResolver properties) {
+        return properties.getProperty(CONNECT_TIMEOUT_PROPERTY, Duration.class)
+                .orElseGet(() -> new MvnHttpConfiguration().getConnectTimeout());
     }
 
     /**
@@ -76,23 +186,49 @@ public class Application implements Callable<Integer> {
      * @return Status of the command
      */
     public int execute(final String... args) {
+        return execute(List.of(), args);
+    }
+
+    /**
+     * Implementation of the command execution with services which are already running (see the serve command)
+     * @param shared Services which are registered as singletons instead of creating new ones
+     *               (e.g. the MvnConnector of a daemon, with its warm connection pool)
+     * @param args args to executed
+     * @return Status of the command
+     */
+    public int execute(final List<Object> shared, final String... args) {
+        final var profile = new StartupProfile();
         try (var context = ApplicationContext
                 .builder(Application.class)
-                .singletons(createSingletons(this))
+                .singletons(createSingletons(shared))
                 .start()) {
+            profile.mark("context");
             final var commandLine = new CommandLine(this, new MicronautFactory(context))
                     .setTrimQuotes(true)
+                    .setCaseInsensitiveEnumValuesAllowed(true)
                     .setUsageHelpWidth(100)
                     .setUsageHelpAutoWidth(true)
                     .setExecutionExceptionHandler((ex, commandLine1, parseResult) -> logException(ex));
             helpMessage = commandLine.getUsageMessage();
-            return commandLine.execute(args);
+            profile.mark("command-line");
+            final int status = commandLine.execute(args);
+            profile.mark("command");
+            if (startupProfile) {
+                writeProfile(profile);
+            }
+            return status;
         } catch (Exception e) { //NOPMD
             logger.error(e.getMessage(), e);
             return Status.ERROR.getValue();
         }
     }
 
+    private void writeProfile(final StartupProfile profile) throws IOException {
+        final var writer = standardOutput.newErrorWriter();
+        writer.write(profile.report());
+        writer.flush();
+    }
+
     private int logException(final Exception e) {
         logger.debug(e.getMessage(), e);
         logger.error(e.getMessage());
@@ -102,15 +238,13 @@ public class Application implements Callable<Integer> {
     /**
      * Registers all classes which are not configured with the javax Singleton annotation
      * but are used as singletons
-     * @param application Instance of this app
+     * @param shared Services which are already running
      * @return Array of singleton
      */
-    private Object[] createSingletons(final Application application) {
-        return new Object[]{
-                application,
-                logger,
-                new JsonMapper()
-        };
+    private Object[] createSingletons(final List<Object> shared) {
+        final List<Object> singletons = new ArrayList<>(List.of(this, logger, standardOutput));
+        singletons.addAll(shared);
+        return singletons.toArray();
     }
 
     /**
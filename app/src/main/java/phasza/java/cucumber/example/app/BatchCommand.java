@@ -0,0 +1,157 @@
+package phasza.java.cucumber.example.app;
+
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import phasza.java.cucumber.example.lib.MvnConnector;
+import phasza.java.cucumber.example.lib.MvnQueryException;
+import picocli.CommandLine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Implements the "batch" command, which runs the search of many patterns in a single invocation.
+ * The patterns are searched concurrently (at most --parallelism at a time), but the results are
+ * printed grouped per pattern in the order of the input.
+ */
+@Singleton
+@CommandLine.Command(name = "batch")
+@RequiredArgsConstructor
+public class BatchCommand implements Callable<Integer> {
+
+    /**
+     * Marks the comment lines in the pattern file
+     */
+    private static final String COMMENT = "#";
+    /**
+     * Option value which means the standard input
+     */
+    private static final String STDIN = "-";
+
+    /**
+     * --head option
+     */
+    @CommandLine.Option(
+            names = {"-h", "--head"},
+            defaultValue = "100",
+            description = "Limits the number of results displayed per pattern. (Default: 100)")
+    private int head;
+
+    /**
+     * --url option
+     */
+    @CommandLine.Option(
+            names = "--url",
+            defaultValue = Application.DEFAULT_REPOSITORY_URL,
+            description = "URL to maven repository.")
+    private String repositoryURL;
+
+    /**
+     * --file option
+     */
+    @CommandLine.Option(
+            names = {"-f", "--file"},
+            defaultValue = STDIN,
+            description = "File of patterns, one per line. Reads the standard input if omitted or \"-\".")
+    private String file;
+
+    /**
+     * --parallelism option
+     */
+    @CommandLine.Option(
+            names = {"-p", "--parallelism"},
+            defaultValue = "8",
+            description = "Maximum number of patterns searched at the same time. (Default: 8)")
+    private int parallelism;
+
+    /**
+     * Injected connector, created only when the command runs
+     */
+    private final Provider<MvnConnector> mvnConnector;
+    /**
+     * Injected logger
+     */
+    private final Logger logger;
+
+    @Override
+    public Integer call() throws IOException, InterruptedException {
+        final var patterns = readPatterns();
+        final var limit = new Semaphore(Math.max(1, parallelism));
+        final var executor = newExecutor();
+        try {
+            final List<Future<List<String>>> results = new ArrayList<>(patterns.size());
+            for (final var pattern : patterns) {
+                results.add(executor.submit(() -> {
+                    limit.acquire();
+                    try {
+                        return mvnConnector.get().search(repositoryURL, pattern, head);
+                    } finally {
+                        limit.release();
+                    }
+                }));
+            }
+            var status = Status.SUCCESS;
+            for (int i = 0; i < patterns.size(); i++) {
+                logger.info(String.format("%s %s", COMMENT, patterns.get(i)));
+                try {
+                    results.get(i).get().forEach(logger::info);
+                } catch (ExecutionException e) {
+                    if (!(e.getCause() instanceof MvnQueryException)) {
+                        throw new MvnQueryException(e.getCause().getMessage(), e.getCause());
+                    }
+                    logger.error(String.format("%s: %s", patterns.get(i), e.getCause().getMessage()));
+                    status = Status.ERROR;
+                }
+            }
+            return status.getValue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return Non-blank, non-comment lines of the pattern file (or standard input), trimmed
+     * @throws IOException if the input cannot be read
+     */
+    private List<String> readPatterns() throws IOException {
+        final List<String> lines;
+        if (STDIN.equals(file)) {
+            final var reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            lines = reader.lines().collect(Collectors.toList());
+        } else {
+            lines = Files.readAllLines(Path.of(file), StandardCharsets.UTF_8);
+        }
+        return lines.stream()
+                .map(String::trim)
+                .filter(i -> !i.isEmpty() && !i.startsWith(COMMENT))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Virtual threads are used where the runtime supports them (Java 21+), so a blocked search costs
+     * no platform thread. On older runtimes a pool of --parallelism platform threads is used instead.
+     * @return Executor of the searches
+     */
+    private ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.max(1, parallelism)); //NOPMD
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package phasza.java.cucumber.example.app;
+
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import phasza.java.cucumber.example.lib.index.ArtifactIndex;
+import picocli.CommandLine;
+
+import java.util.List;
+
+/**
+ * Implements the "index" command, which pulls the artifacts matching the patterns into the local index,
+ * so they can be searched without the network (see "search --offline").
+ */
+@Singleton
+@CommandLine.Command(name = "index")
+@RequiredArgsConstructor
+public class IndexCommand implements Runnable {
+
+    /**
+     * --url option
+     */
+    @CommandLine.Option(
+            names = "--url",
+            defaultValue = Application.DEFAULT_REPOSITORY_URL,
+            description = "URL to maven repository.")
+    private String repositoryURL;
+
+    /**
+     * --refresh option
+     */
+    @CommandLine.Option(
+            names = "--refresh",
+            description = "Fetches the patterns of the existing index again and merges the new patterns into it, "
+                    + "instead of replacing it.")
+    private boolean refresh;
+
+    /**
+     * Pattern parameters
+     */
+    @CommandLine.Parameters(arity = "0..*")
+    private List<String> patterns = List.of();
+
+    /**
+     * Injected index, created only when the command runs
+     */
+    private final Provider<ArtifactIndex> artifactIndex;
+    /**
+     * Injected logger
+     */
+    private final Logger logger;
+
+    @Override
+    public void run() {
+        final int count = artifactIndex.get().build(repositoryURL, patterns, refresh);
+        logger.info(String.format("Indexed %d artifacts into %s", count, artifactIndex.get().path()));
+    }
+}
@@ -0,0 +1,24 @@
+package phasza.java.cucumber.example.app;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micronaut.context.annotation.Factory;
+import jakarta.inject.Singleton;
+import lombok.NoArgsConstructor;
+
+/**
+ * Creates the object mapper of the application when a bean needs it (e.g. the response parser),
+ * so the commands which do not parse or write JSON do not pay for the initialization of Jackson.
+ */
+@Factory
+@NoArgsConstructor
+public class JsonMapperFactory {
+
+    /**
+     * @return Object mapper shared by the beans of the application
+     */
+    @Singleton
+    public ObjectMapper objectMapper() {
+        return new JsonMapper();
+    }
+}
@@ -1,13 +1,33 @@
 package phasza.java.cucumber.example.app;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import phasza.java.cucumber.example.app.output.OutputFormat;
+import phasza.java.cucumber.example.app.output.ResultWriter;
 import phasza.java.cucumber.example.lib.MvnConnector;
+import phasza.java.cucumber.example.lib.MvnQueryException;
+import phasza.java.cucumber.example.lib.index.ArtifactIndex;
+import phasza.java.cucumber.example.lib.metrics.LatencyHistogram;
+import phasza.java.cucumber.example.lib.metrics.MetricsRegistry;
+import phasza.java.cucumber.example.lib.metrics.QueryPhase;
+import phasza.java.cucumber.example.lib.request.FieldListProperty;
+import phasza.java.cucumber.example.lib.response.DocsEntry;
 import picocli.CommandLine;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
 
 /**
- * Implements the "search" command
+ * Implements the "search" command.
+ * The results are written to the standard output through a buffered writer, which is flushed when its
+ * buffer is full and at the end. The streamed formats (see OutputFormat) are written while the pages
+ * arrive, so when the output is closed (e.g. "| head") the rest of the pages are not fetched.
  */
 @Singleton
 @CommandLine.Command(name = "search")
@@ -28,9 +48,45 @@ public class SearchCommand implements Runnable {
      */
     @CommandLine.Option(
             names = "--url",
-            defaultValue = "https://search.maven.org",
-            description = "URL to maven repository.")
-    private String repositoryURL;
+            defaultValue = Application.DEFAULT_REPOSITORY_URL,
+            description = "URL to maven repository. Can be repeated to search several mirrors in parallel.")
+    private List<String> repositoryURLs;
+
+    /**
+     * --first-wins option
+     */
+    @CommandLine.Option(
+            names = "--first-wins",
+            description = "With several --url, uses the first repository which answers instead of merging all.")
+    private boolean firstWins;
+
+    /**
+     * --output option
+     */
+    @CommandLine.Option(
+            names = {"-o", "--output"},
+            defaultValue = "text",
+            description = "Output format: ${COMPLETION-CANDIDATES}. "
+                    + "ndjson and csv are written in the order of the repository. (Default: text)")
+    private OutputFormat output;
+
+    /**
+     * --offline option
+     */
+    @CommandLine.Option(
+            names = "--offline",
+            description = "Searches the local index (see the index command) instead of the repository. "
+                    + "The pattern is matched as a substring of [groupID]:[artifactID].")
+    private boolean offline;
+
+    /**
+     * --timings option
+     */
+    @CommandLine.Option(
+            names = "--timings",
+            description = "Prints the time spent in the phases of the query (DNS, connect, TLS, time to first byte, "
+                    + "transfer, parse, sort, output) to the standard error.")
+    private boolean timings;
 
     /**
      * Pattern parameter
@@ -39,12 +95,121 @@ public class SearchCommand implements Runnable {
     private String pattern;
 
     /**
-     * Injected connector
+     * Injected connector, created only when the command runs
      */
-    private final MvnConnector mvnConnector;
+    private final Provider<MvnConnector> mvnConnector;
+    /**
+     * Injected local index, created only when the command runs
+     */
+    private final Provider<ArtifactIndex> artifactIndex;
+    /**
+     * Injected standard output
+     */
+    private final StandardOutput standardOutput;
+    /**
+     * Injected object mapper, created only for the JSON outputs, its factory creates the JSON generators
+     */
+    private final Provider<ObjectMapper> objectMapper;
+    /**
+     * Injected latencies of the query phases
+     */
+    private final MetricsRegistry metrics;
+    /**
+     * Injected logger
+     */
+    private final Logger logger;
 
     @Override
     public void run() {
-        mvnConnector.runQuery(repositoryURL, pattern, head);
+        final var before = metrics.snapshot();
+        final long start = System.nanoTime();
+        try {
+            search();
+        } finally {
+            if (timings) {
+                writeTimings(before, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void search() {
+        try {
+            final var writer = ResultWriter.timed(
+                    output.open(standardOutput.newWriter(), () -> objectMapper.get().getFactory()), metrics, output);
+            if (!offline && output.isStreamed() && repositoryURLs.size() == 1) {
+                stream(writer);
+            } else {
+                write(writer, offline
+                        ? artifactIndex.get().search(pattern, head)
+                        : mvnConnector.get().searchEntries(repositoryURLs, pattern, head, firstWins, fields()));
+                writer.finish();
+            }
+        } catch (IOException | UncheckedIOException e) {
+            //The reader of the output has gone away, there is no one to tell
+            logger.debug("Output is closed: {}", e.getMessage());
+        }
+    }
+
+    private static void write(final ResultWriter writer, final List<DocsEntry> entries) throws IOException {
+        for (final var entry : entries) {
+            writer.write(entry);
+        }
+    }
+
+    /**
+     * Writes the artifacts while the pages arrive. A failed write stops the query.
+     * The writer is finished even if a later page fails, so the artifacts already written are not lost.
+     */
+    private void stream(final ResultWriter writer) throws IOException {
+        final int[] count = new int[1];
+        try {
+            mvnConnector.get().query(repositoryURLs.get(0), pattern, head, fields(), entry -> {
+                try {
+                    writer.write(entry);
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } finally {
+            if (count[0] > 0) {
+                writer.finish();
+            }
+        }
+        if (count[0] == 0) {
+            throw new MvnQueryException("No matching artifacts could be found!");
+        }
+    }
+
+    /**
+     * Writes the phases recorded since the start of the command. The phases of the concurrent requests overlap,
+     * so their sum may exceed the elapsed time. In a daemon the registry is shared, so the phases of the
+     * requests served concurrently are included as well.
+     */
+    private void writeTimings(final Map<QueryPhase, LatencyHistogram.Snapshot> before, final long elapsed) {
+        final var report = new StringBuilder(512).append("Timings:").append(System.lineSeparator());
+        metrics.snapshot().forEach((phase, snapshot) -> {
+            final var recorded = snapshot.minus(before.get(phase));
+            if (recorded.getCount() > 0) {
+                report.append(String.format("  %-10s %9.1f ms in %d (p95 <= %.1f ms)%n", phase.getLabel(),
+                        toMillis(recorded.getSumNanos()), recorded.getCount(), toMillis(recorded.percentile(0.95))));
+            }
+        });
+        report.append(String.format("  %-10s %9.1f ms%n", "elapsed", toMillis(elapsed)));
+        try {
+            final var writer = standardOutput.newErrorWriter();
+            writer.write(report.toString());
+            writer.flush();
+        } catch (IOException e) {
+            logger.debug("Standard error is closed: {}", e.getMessage());
+        }
+    }
+
+    private static double toMillis(final long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private FieldListProperty fields() {
+        return output.isMachineReadable() ? FieldListProperty.DOCS_ENTRY : FieldListProperty.COORDINATES;
     }
 }
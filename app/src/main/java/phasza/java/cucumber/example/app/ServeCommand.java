@@ -0,0 +1,71 @@
+package phasza.java.cucumber.example.app;
+
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import phasza.java.cucumber.example.app.daemon.DaemonServer;
+import phasza.java.cucumber.example.lib.MvnConnector;
+import phasza.java.cucumber.example.lib.index.ArtifactIndex;
+import phasza.java.cucumber.example.lib.metrics.MetricsRegistry;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Implements the "serve" command, which keeps a warm application (JIT compiled code, HTTP connection pool,
+ * caches) running in the background. The CLI forwards the searches to it while it runs, so they do not pay
+ * for the startup of the JVM and the application context.
+ */
+@Singleton
+@CommandLine.Command(name = "serve")
+@RequiredArgsConstructor
+public class ServeCommand implements Runnable {
+
+    /**
+     * --port option
+     */
+    @CommandLine.Option(
+            names = "--port",
+            defaultValue = "0",
+            description = "Port of the loopback socket. (Default: any free port)")
+    private int port;
+
+    /**
+     * --idle-timeout option
+     */
+    @CommandLine.Option(
+            names = "--idle-timeout",
+            defaultValue = "30",
+            description = "Stops after this many minutes without requests, 0 means never. (Default: 30)")
+    private int idleTimeout;
+
+    /**
+     * Injected connector, created only when the command runs
+     */
+    private final Provider<MvnConnector> mvnConnector;
+    /**
+     * Injected local index, created only when the command runs
+     */
+    private final Provider<ArtifactIndex> artifactIndex;
+    /**
+     * Injected latencies of the query phases, shared with the requests so their --timings see the connector
+     */
+    private final MetricsRegistry metrics;
+    /**
+     * Injected logger
+     */
+    private final Logger logger;
+
+    @Override
+    public void run() {
+        try {
+            final var shared = List.of(mvnConnector.get(), artifactIndex.get(), metrics);
+            new DaemonServer(shared, logger, Duration.ofMinutes(idleTimeout)).serve(port);
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("Daemon cannot be started: %s", e.getMessage()), e);
+        }
+    }
+}
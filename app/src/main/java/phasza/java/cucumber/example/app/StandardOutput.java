@@ -0,0 +1,47 @@
+package phasza.java.cucumber.example.app;
+
+import lombok.RequiredArgsConstructor;
+
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Standard output of the application, where the commands write their results
+ * (messages and errors are written through the logger), and standard error, where the
+ * diagnostic reports (e.g. --startup-profile) are written.
+ * It is registered as a singleton by the Application, so the tests can capture it.
+ */
+@RequiredArgsConstructor
+public final class StandardOutput {
+
+    /**
+     * Size of the output buffer, the output is flushed when it is full
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Stream of the output
+     */
+    private final OutputStream stream;
+    /**
+     * Stream of the diagnostic reports
+     */
+    private final OutputStream errorStream;
+
+    /**
+     * @return New buffered writer of the output, it must be flushed (but not closed) when the command finishes
+     */
+    public Writer newWriter() {
+        return new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * @return New writer of the standard error, it must be flushed (but not closed) when the report is written
+     */
+    public Writer newErrorWriter() {
+        return new OutputStreamWriter(errorStream, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,69 @@
+package phasza.java.cucumber.example.app;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Measures the phases of a command execution (see the --startup-profile option), e.g.
+ * the start of the JVM, of the application context and of the command line, and the command itself.
+ * The start of the JVM is only reported by the first profile of the process, because a daemon
+ * (see the serve command) executes many commands in the same JVM.
+ */
+final class StartupProfile {
+
+    /**
+     * Whether the start of the JVM was already reported
+     */
+    private static final AtomicBoolean JVM_REPORTED = new AtomicBoolean();
+    /**
+     * Nanoseconds in a millisecond
+     */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * Duration of the phases in nanoseconds, in the order of their end
+     */
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    /**
+     * End of the last phase
+     */
+    private long last = System.nanoTime();
+
+    /**
+     * New profile, which starts measuring the first phase
+     */
+    StartupProfile() {
+        if (!JVM_REPORTED.getAndSet(true)) {
+            ProcessHandle.current().info().startInstant().ifPresent(start ->
+                    phases.put("jvm", Duration.between(start, Instant.now()).toNanos()));
+        }
+    }
+
+    /**
+     * Ends the current phase and starts measuring the next one
+     * @param phase Name of the ended phase
+     */
+    void mark(final String phase) {
+        final long now = System.nanoTime();
+        phases.merge(phase, now - last, Long::sum);
+        last = now;
+    }
+
+    /**
+     * @return Human-readable report of the phases, one line per phase and the total
+     */
+    String report() {
+        final var report = new StringBuilder(128).append("Startup profile:").append(System.lineSeparator());
+        phases.forEach((phase, nanos) -> appendLine(report, phase, nanos));
+        appendLine(report, "total", phases.values().stream().mapToLong(Long::longValue).sum());
+        return report.toString();
+    }
+
+    private static void appendLine(final StringBuilder report, final String phase, final long nanos) {
+        report.append(String.format("  %-14s %9.1f ms", phase, nanos / NANOS_PER_MILLI))
+                .append(System.lineSeparator());
+    }
+}
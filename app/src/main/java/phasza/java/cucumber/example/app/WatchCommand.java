@@ -0,0 +1,123 @@
+package phasza.java.cucumber.example.app;
+
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import phasza.java.cucumber.example.lib.MvnQueryException;
+import phasza.java.cucumber.example.lib.watch.ArtifactWatcher;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implements the "watch" command, which polls the patterns and prints only the artifacts which were added,
+ * removed, upgraded or downgraded since the last poll (including the polls of earlier invocations).
+ * Without --interval the patterns are polled once, e.g. for a cron job.
+ */
+@Singleton
+@CommandLine.Command(name = "watch")
+@RequiredArgsConstructor
+public class WatchCommand implements Callable<Integer> {
+
+    /**
+     * Marks the comment lines in the pattern file
+     */
+    private static final String COMMENT = "#";
+
+    /**
+     * --head option
+     */
+    @CommandLine.Option(
+            names = {"-h", "--head"},
+            defaultValue = "100",
+            description = "Number of the first artifacts watched per pattern. (Default: 100)")
+    private int head;
+
+    /**
+     * --url option
+     */
+    @CommandLine.Option(
+            names = "--url",
+            defaultValue = Application.DEFAULT_REPOSITORY_URL,
+            description = "URL to maven repository. Can be repeated to watch several repositories.")
+    private List<String> repositoryURLs;
+
+    /**
+     * --file option
+     */
+    @CommandLine.Option(
+            names = {"-f", "--file"},
+            description = "File of patterns to watch, one per line, in addition to the pattern parameters.")
+    private String file;
+
+    /**
+     * --interval option
+     */
+    @CommandLine.Option(
+            names = {"-i", "--interval"},
+            defaultValue = "0",
+            description = "Minutes between the polls, 0 polls only once. (Default: 0)")
+    private int interval;
+
+    /**
+     * Pattern parameters
+     */
+    @CommandLine.Parameters(arity = "0..*")
+    private List<String> patterns = List.of();
+
+    /**
+     * Injected watcher, created only when the command runs
+     */
+    private final Provider<ArtifactWatcher> artifactWatcher;
+    /**
+     * Injected logger
+     */
+    private final Logger logger;
+
+    @Override
+    public Integer call() throws IOException {
+        final var watched = readPatterns();
+        if (watched.isEmpty()) {
+            throw new MvnQueryException("No patterns to watch!");
+        }
+        //The same repository is polled once, even if it is repeated
+        final var repositories = new ArrayList<>(new LinkedHashSet<>(repositoryURLs));
+        while (true) {
+            final int failures = artifactWatcher.get().poll(repositories, watched, head, change ->
+                    logger.info(change.format()));
+            if (interval <= 0) {
+                return (failures == 0 ? Status.SUCCESS : Status.ERROR).getValue();
+            }
+            try {
+                TimeUnit.MINUTES.sleep(interval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Status.SUCCESS.getValue();
+            }
+        }
+    }
+
+    /**
+     * @return Pattern parameters followed by the non-blank, non-comment lines of the pattern file, trimmed
+     * @throws IOException if the pattern file cannot be read
+     */
+    private List<String> readPatterns() throws IOException {
+        final var result = new LinkedHashSet<String>(patterns);
+        if (file != null) {
+            Files.readAllLines(Path.of(file), StandardCharsets.UTF_8).stream()
+                    .map(String::trim)
+                    .filter(i -> !i.isEmpty() && !i.startsWith(COMMENT))
+                    .forEach(result::add);
+        }
+        return List.copyOf(result);
+    }
+}
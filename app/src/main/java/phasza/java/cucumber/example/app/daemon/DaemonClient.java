@@ -0,0 +1,122 @@
+package phasza.java.cucumber.example.app.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Forwards a command of the CLI to a running daemon (see ServeCommand), so the invocation does not pay
+ * for the startup of the application context, and uses the warm connections and caches of the daemon.
+ * Only the commands which do not read the standard input are forwarded.
+ * The daemon keeps the configuration it was started with, so a CLI with its own configuration
+ * (mvn.* system properties or MVN_* environment variables) executes the command locally.
+ */
+public final class DaemonClient {
+
+    /**
+     * Commands which are forwarded
+     */
+    private static final Set<String> FORWARDED_COMMANDS = Set.of("search");
+    /**
+     * Timeout of connecting to the daemon, it is on the loopback interface, so it is either there or not
+     */
+    private static final int CONNECT_TIMEOUT_MILLIS = 200;
+    /**
+     * Status returned when the connection breaks during the command
+     */
+    private static final int BROKEN_CONNECTION_STATUS = 1;
+    /**
+     * Prefix of the configuration properties
+     */
+    private static final String PROPERTY_PREFIX = "mvn.";
+    /**
+     * Prefix of the environment variables, which are mapped to configuration properties
+     */
+    private static final String VARIABLE_PREFIX = "MVN_";
+
+    private DaemonClient() {
+
+    }
+
+    /**
+     * Forwards the command to the running daemon, if there is one
+     * @param args Arguments of the command
+     * @param standardOutput Standard output of the CLI
+     * @param standardError Standard error of the CLI
+     * @return Status of the command, or empty if it was not forwarded (and has to be executed locally)
+     */
+    public static Optional<Integer> forward(
+            final List<String> args,
+            final OutputStream standardOutput,
+            final OutputStream standardError) {
+        if (args.isEmpty() || !FORWARDED_COMMANDS.contains(args.get(0)) || hasOwnConfiguration()) {
+            return Optional.empty();
+        }
+        final var daemon = DaemonFile.read();
+        if (daemon.isEmpty()) {
+            return Optional.empty();
+        }
+        try (var socket = new Socket()) {
+            try {
+                socket.connect(
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), daemon.get().getPort()),
+                        CONNECT_TIMEOUT_MILLIS);
+                DaemonProtocol.writeRequest(
+                        new DataOutputStream(new BufferedOutputStream(socket.getOutputStream())),
+                        daemon.get().getToken(),
+                        args);
+            } catch (IOException e) {
+                //Stale daemon file, the command is executed locally
+                return Optional.empty();
+            }
+            return Optional.of(readResponse(
+                    new DataInputStream(new BufferedInputStream(socket.getInputStream())),
+                    standardOutput,
+                    standardError));
+        } catch (IOException e) {
+            //The output of the command may have been written partially, so it is not executed again
+            return Optional.of(BROKEN_CONNECTION_STATUS);
+        }
+    }
+
+    /**
+     * @return true if the CLI is configured by system properties or environment variables,
+     *         which the daemon would not see
+     */
+    private static boolean hasOwnConfiguration() {
+        return System.getProperties().stringPropertyNames().stream().anyMatch(i -> i.startsWith(PROPERTY_PREFIX))
+                || System.getenv().keySet().stream()
+                .anyMatch(i -> i.startsWith(VARIABLE_PREFIX) && !DaemonFile.PATH_VARIABLE.equals(i));
+    }
+
+    private static int readResponse(
+            final DataInputStream input,
+            final OutputStream standardOutput,
+            final OutputStream standardError) throws IOException {
+        try {
+            while (true) {
+                final byte channel = input.readByte();
+                if (channel == DaemonProtocol.EXIT) {
+                    return input.readInt();
+                }
+                final var bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                final var output = channel == DaemonProtocol.STDERR ? standardError : standardOutput;
+                output.write(bytes);
+                output.flush();
+            }
+        } catch (EOFException e) {
+            return BROKEN_CONNECTION_STATUS;
+        }
+    }
+}
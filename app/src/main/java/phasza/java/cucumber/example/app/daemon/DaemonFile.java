@@ -0,0 +1,100 @@
+package phasza.java.cucumber.example.app.daemon;
+
+import lombok.Value;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Optional;
+
+/**
+ * File which announces a running daemon to the CLI: the port of its loopback socket and the token
+ * which authenticates the requests. It is readable only by the owner, so other users of the machine
+ * cannot send requests to the daemon.
+ */
+@Value
+public class DaemonFile {
+
+    /**
+     * System property, which overrides the location of the file
+     */
+    public static final String PATH_PROPERTY = "mvn-query.daemon-file";
+    /**
+     * Environment variable, which overrides the location of the file
+     */
+    public static final String PATH_VARIABLE = "MVN_QUERY_DAEMON_FILE";
+
+    /**
+     * Port of the loopback socket
+     */
+    int port;
+    /**
+     * Token of the requests
+     */
+    String token;
+
+    /**
+     * @return Location of the file: the mvn-query.daemon-file system property, the MVN_QUERY_DAEMON_FILE
+     *         environment variable, or ~/.mvn-query/daemon
+     */
+    public static Path path() {
+        return Optional.ofNullable(System.getProperty(PATH_PROPERTY))
+                .or(() -> Optional.ofNullable(System.getenv(PATH_VARIABLE)))
+                .map(Paths::get)
+                .orElseGet(() -> Paths.get(System.getProperty("user.home"), ".mvn-query", "daemon"));
+    }
+
+    /**
+     * Writes the file
+     * @throws IOException if the file cannot be written
+     */
+    public void write() throws IOException {
+        final var path = path();
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        final var temp = Files.createTempFile(path.toAbsolutePath().getParent(), "daemon", ".tmp");
+        try {
+            if (Files.getFileStore(temp).supportsFileAttributeView("posix")) {
+                Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------"));
+            }
+            Files.writeString(temp, String.format("%d %s", port, token), StandardCharsets.UTF_8);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Deletes the file, if it still announces this daemon
+     */
+    public void delete() {
+        try {
+            if (read().filter(this::equals).isPresent()) {
+                Files.deleteIfExists(path());
+            }
+        } catch (IOException e) { //NOPMD
+            //A stale file is ignored by the CLI
+        }
+    }
+
+    /**
+     * @return The announced daemon, or empty if there is none (or the file cannot be read)
+     */
+    public static Optional<DaemonFile> read() {
+        try {
+            final var path = path();
+            if (!Files.isRegularFile(path)) {
+                return Optional.empty();
+            }
+            final var parts = Files.readString(path, StandardCharsets.UTF_8).trim().split(" ");
+            return parts.length == 2
+                    ? Optional.of(new DaemonFile(Integer.parseInt(parts[0]), parts[1]))
+                    : Optional.empty();
+        } catch (IOException | NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
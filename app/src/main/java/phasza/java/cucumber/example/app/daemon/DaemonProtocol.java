@@ -0,0 +1,75 @@
+package phasza.java.cucumber.example.app.daemon;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wire protocol between the CLI and the daemon (see ServeCommand) on a loopback connection:
+ * - request: the token of the daemon, then the number of arguments and the arguments (modified UTF-8 strings)
+ * - response: frames of [channel byte][length int][bytes] for the standard output and error,
+ *   closed by an exit frame of [EXIT][status int]
+ */
+public final class DaemonProtocol {
+
+    /**
+     * Channel of the exit frame
+     */
+    public static final byte EXIT = 0;
+    /**
+     * Channel of the standard output
+     */
+    public static final byte STDOUT = 1;
+    /**
+     * Channel of the standard error
+     */
+    public static final byte STDERR = 2;
+
+    private DaemonProtocol() {
+
+    }
+
+    /**
+     * Writes a request
+     * @param output Stream of the connection
+     * @param token Token of the daemon
+     * @param args Arguments of the command
+     * @throws IOException if the request cannot be written
+     */
+    public static void writeRequest(final DataOutputStream output, final String token, final List<String> args)
+            throws IOException {
+        output.writeUTF(token);
+        output.writeInt(args.size());
+        for (final var arg : args) {
+            output.writeUTF(arg);
+        }
+        output.flush();
+    }
+
+    /**
+     * Reads the token of a request
+     * @param input Stream of the connection
+     * @return Token sent by the client
+     * @throws IOException if the request cannot be read
+     */
+    public static String readToken(final DataInputStream input) throws IOException {
+        return input.readUTF();
+    }
+
+    /**
+     * Reads the arguments of a request (after the token)
+     * @param input Stream of the connection
+     * @return Arguments of the command
+     * @throws IOException if the request cannot be read
+     */
+    public static List<String> readArgs(final DataInputStream input) throws IOException {
+        final int count = input.readInt();
+        final var args = new ArrayList<String>(Math.max(0, count));
+        for (int i = 0; i < count; i++) {
+            args.add(input.readUTF());
+        }
+        return args;
+    }
+}
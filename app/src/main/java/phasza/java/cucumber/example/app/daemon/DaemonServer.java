@@ -0,0 +1,144 @@
+package phasza.java.cucumber.example.app.daemon;
+
+import org.slf4j.Logger;
+import phasza.java.cucumber.example.app.Application;
+import phasza.java.cucumber.example.app.StandardOutput;
+import phasza.java.cucumber.example.app.Status;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves the requests of the CLI (see DaemonClient) on a loopback socket.
+ * Every request is executed by a new Application, whose context is started with the warm services of the
+ * daemon (connector, index, metrics) as singletons. So the requests share the connection pool and the
+ * caches, but every request has its own command instances, standard output and logger, which are sent back
+ * to the client. In the warm JVM the per-request context starts in a few milliseconds.
+ */
+public final class DaemonServer {
+
+    /**
+     * Bits of the random token
+     */
+    private static final int TOKEN_BITS = 128;
+    /**
+     * Backlog of the server socket
+     */
+    private static final int BACKLOG = 64;
+
+    /**
+     * Warm services shared by the requests
+     */
+    private final List<Object> shared;
+    /**
+     * Logger of the daemon itself
+     */
+    private final Logger logger;
+    /**
+     * The daemon stops after this long without requests (zero means never)
+     */
+    private final Duration idleTimeout;
+    /**
+     * Number of requests being executed
+     */
+    private final AtomicInteger active = new AtomicInteger();
+
+    /**
+     * New server
+     * @param shared Warm services shared by the requests
+     * @param logger Logger of the daemon itself
+     * @param idleTimeout The daemon stops after this long without requests (zero means never)
+     */
+    public DaemonServer(final List<Object> shared, final Logger logger, final Duration idleTimeout) {
+        this.shared = List.copyOf(shared);
+        this.logger = logger;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Serves the requests until the idle timeout (or until the thread is interrupted)
+     * @param port Port of the loopback socket, zero means any free port
+     * @throws IOException if the socket cannot be opened or the daemon file cannot be written
+     */
+    public void serve(final int port) throws IOException {
+        final var token = new BigInteger(TOKEN_BITS, new SecureRandom()).toString(Character.MAX_RADIX);
+        final ExecutorService executor = Executors.newCachedThreadPool(); //NOPMD
+        try (var serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress())) {
+            serverSocket.setSoTimeout((int) Math.min(Integer.MAX_VALUE, idleTimeout.toMillis()));
+            final var daemonFile = new DaemonFile(serverSocket.getLocalPort(), token);
+            daemonFile.write();
+            logger.info(String.format("Serving on port %d (%s)", serverSocket.getLocalPort(), DaemonFile.path()));
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    try {
+                        final var socket = serverSocket.accept();
+                        active.incrementAndGet();
+                        executor.execute(() -> handle(socket, token));
+                    } catch (SocketTimeoutException e) {
+                        if (active.get() == 0) {
+                            logger.info("Stopping after the idle timeout");
+                            return;
+                        }
+                    }
+                }
+            } finally {
+                daemonFile.delete();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void handle(final Socket socket, final String token) {
+        try (socket) {
+            final var input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            final var received = DaemonProtocol.readToken(input);
+            if (!MessageDigest.isEqual(
+                    token.getBytes(StandardCharsets.UTF_8),
+                    received.getBytes(StandardCharsets.UTF_8))) {
+                logger.warn("Request with an invalid token has been rejected");
+                return;
+            }
+            final var args = DaemonProtocol.readArgs(input);
+            final var output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            final var standardOutput = new FrameOutputStream(output, DaemonProtocol.STDOUT);
+            final var standardError = new FrameOutputStream(output, DaemonProtocol.STDERR);
+            int status;
+            try {
+                status = new Application(
+                        new RemoteLogger(standardOutput, standardError),
+                        new StandardOutput(standardOutput, standardError))
+                        .execute(shared, args.toArray(new String[0]));
+            } catch (Throwable e) { //NOPMD - the client waits for the exit frame whatever happened
+                logger.error("Request failed", e);
+                standardError.write(String.format("Daemon failed: %s%n", e).getBytes(StandardCharsets.UTF_8));
+                status = Status.ERROR.getValue();
+            }
+            synchronized (output) {
+                output.writeByte(DaemonProtocol.EXIT);
+                output.writeInt(status);
+                output.flush();
+            }
+        } catch (IOException e) {
+            logger.debug("Request failed: {}", e.getMessage());
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+}
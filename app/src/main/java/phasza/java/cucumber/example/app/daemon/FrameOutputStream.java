@@ -0,0 +1,48 @@
+package phasza.java.cucumber.example.app.daemon;
+
+import lombok.RequiredArgsConstructor;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes everything as frames of a channel (see DaemonProtocol). The frames of the channels of a
+ * connection are interleaved, so the writes are synchronized on the stream of the connection.
+ */
+@RequiredArgsConstructor
+final class FrameOutputStream extends OutputStream {
+
+    /**
+     * Stream of the connection
+     */
+    private final DataOutputStream output;
+    /**
+     * Channel of the frames
+     */
+    private final byte channel;
+
+    @Override
+    public void write(final int value) throws IOException {
+        write(new byte[]{(byte) value}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (length == 0) {
+            return;
+        }
+        synchronized (output) {
+            output.writeByte(channel);
+            output.writeInt(length);
+            output.write(bytes, offset, length);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        synchronized (output) {
+            output.flush();
+        }
+    }
+}
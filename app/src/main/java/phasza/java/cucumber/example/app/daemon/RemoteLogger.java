@@ -0,0 +1,99 @@
+package phasza.java.cucumber.example.app.daemon;
+
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.LegacyAbstractLogger;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Logger of a request of the daemon, which sends the messages to the client:
+ * info to its standard output, warn and error to its standard error (debug and trace are dropped).
+ */
+final class RemoteLogger extends LegacyAbstractLogger {
+
+    /**
+     * serial version UID
+     */
+    private static final long serialVersionUID = 2829356315632001585L;
+
+    /**
+     * Standard output of the client
+     */
+    private final transient OutputStream standardOutput;
+    /**
+     * Standard error of the client
+     */
+    private final transient OutputStream standardError;
+
+    /**
+     * New logger
+     * @param standardOutput Standard output of the client
+     * @param standardError Standard error of the client
+     */
+    RemoteLogger(final OutputStream standardOutput, final OutputStream standardError) {
+        super();
+        this.name = RemoteLogger.class.getSimpleName();
+        this.standardOutput = standardOutput;
+        this.standardError = standardError;
+    }
+
+    @Override
+    public boolean isTraceEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return true;
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return true;
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return true;
+    }
+
+    @Override
+    protected String getFullyQualifiedCallerName() {
+        return null;
+    }
+
+    @Override
+    protected void handleNormalizedLoggingCall(
+            final Level level,
+            final Marker marker,
+            final String messagePattern,
+            final Object[] arguments,
+            final Throwable throwable) {
+        final var message = new StringBuilder(MessageFormatter.basicArrayFormat(messagePattern, arguments))
+                .append('\n');
+        if (throwable != null) {
+            final var stackTrace = new StringWriter();
+            throwable.printStackTrace(new PrintWriter(stackTrace));
+            message.append(stackTrace);
+        }
+        try {
+            final var output = level == Level.INFO ? standardOutput : standardError;
+            output.write(message.toString().getBytes(StandardCharsets.UTF_8));
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package phasza.java.cucumber.example.app.output;
+
+import phasza.java.cucumber.example.lib.response.DocsEntry;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes the artifacts as RFC 4180 CSV records, with a header record
+ */
+final class CsvResultWriter implements ResultWriter {
+
+    /**
+     * Header record
+     */
+    private static final String HEADER = String.join(",", OutputFormat.FIELDS);
+
+    /**
+     * Buffered output
+     */
+    private final Writer writer;
+
+    /**
+     * New writer, which writes the header immediately
+     * @param writer Buffered output
+     * @throws IOException if the output cannot be written
+     */
+    CsvResultWriter(final Writer writer) throws IOException {
+        this.writer = writer;
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(final DocsEntry entry) throws IOException {
+        writeField(entry.getId());
+        writer.write(',');
+        writeField(entry.getGroup());
+        writer.write(',');
+        writeField(entry.getArtifact());
+        writer.write(',');
+        writeField(entry.getLatestVersion());
+        writer.write(',');
+        writer.write(Integer.toString(entry.getVersionCount()));
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Writes a field, quoted only if it contains a separator, a quote or a line break
+     */
+    private void writeField(final String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,65 @@
+package phasza.java.cucumber.example.app.output;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import phasza.java.cucumber.example.lib.response.DocsEntry;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes the artifacts either as a single JSON array, or as newline delimited JSON objects (NDJSON)
+ */
+final class JsonResultWriter implements ResultWriter {
+
+    /**
+     * Generator of the output
+     */
+    private final JsonGenerator generator;
+    /**
+     * Whether every artifact is a separate line, instead of an element of an array
+     */
+    private final boolean delimited;
+
+    /**
+     * New writer
+     * @param jsonFactory Factory of the JSON generator
+     * @param writer Buffered output
+     * @param delimited Whether every artifact is a separate line, instead of an element of an array
+     * @throws IOException if the output cannot be written
+     */
+    JsonResultWriter(final JsonFactory jsonFactory, final Writer writer, final boolean delimited) throws IOException {
+        this.generator = jsonFactory.createGenerator(writer)
+                //The output is flushed by finish(), it must not be closed
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.delimited = delimited;
+        if (delimited) {
+            generator.setRootValueSeparator(null);
+        } else {
+            generator.writeStartArray();
+        }
+    }
+
+    @Override
+    public void write(final DocsEntry entry) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField(OutputFormat.FIELDS.get(0), entry.getId());
+        generator.writeStringField(OutputFormat.FIELDS.get(1), entry.getGroup());
+        generator.writeStringField(OutputFormat.FIELDS.get(2), entry.getArtifact());
+        generator.writeStringField(OutputFormat.FIELDS.get(3), entry.getLatestVersion());
+        generator.writeNumberField(OutputFormat.FIELDS.get(4), entry.getVersionCount());
+        generator.writeEndObject();
+        if (delimited) {
+            generator.writeRaw('\n');
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (!delimited) {
+            generator.writeEndArray();
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+}
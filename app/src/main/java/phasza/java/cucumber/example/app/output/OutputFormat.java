@@ -0,0 +1,79 @@
+package phasza.java.cucumber.example.app.output;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Output formats of the search results (--output option)
+ */
+public enum OutputFormat {
+    /**
+     * [groupID]:[artifactID]:[latestVersion] lines, sorted
+     */
+    TEXT(false),
+    /**
+     * JSON array of the artifacts, sorted
+     */
+    JSON(false),
+    /**
+     * A JSON object per line, in the order of the repository
+     */
+    NDJSON(true),
+    /**
+     * CSV with a header, a record per line, in the order of the repository
+     */
+    CSV(true);
+
+    /**
+     * Names of the fields of an artifact in the machine-readable formats
+     */
+    static final List<String> FIELDS = List.of("id", "groupId", "artifactId", "latestVersion", "versionCount");
+
+    /**
+     * Whether the results are written as soon as they arrive (in the order of the repository),
+     * so the search stops early when the output is closed, instead of being sorted at the end
+     */
+    private final boolean streamed;
+
+    OutputFormat(final boolean streamed) {
+        this.streamed = streamed;
+    }
+
+    /**
+     * @return Whether the results are written as soon as they arrive, in the order of the repository
+     */
+    public boolean isStreamed() {
+        return streamed;
+    }
+
+    /**
+     * @return Whether the format needs every field of the artifacts, not only the coordinates
+     */
+    public boolean isMachineReadable() {
+        return this != TEXT;
+    }
+
+    /**
+     * Starts writing the results
+     * @param writer Buffered output
+     * @param jsonFactory Factory of the JSON generators, only created by the JSON formats
+     * @return Writer of the results in this format
+     * @throws IOException if the output cannot be written
+     */
+    public ResultWriter open(final Writer writer, final Supplier<JsonFactory> jsonFactory) throws IOException {
+        switch (this) {
+            case JSON:
+                return new JsonResultWriter(jsonFactory.get(), writer, false);
+            case NDJSON:
+                return new JsonResultWriter(jsonFactory.get(), writer, true);
+            case CSV:
+                return new CsvResultWriter(writer);
+            default:
+                return new TextResultWriter(writer);
+        }
+    }
+}
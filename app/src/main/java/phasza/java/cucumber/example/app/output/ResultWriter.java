@@ -0,0 +1,38 @@
+package phasza.java.cucumber.example.app.output;
+
+import phasza.java.cucumber.example.lib.metrics.MetricsRegistry;
+import phasza.java.cucumber.example.lib.response.DocsEntry;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Writes the matching artifacts of a search in an output format (see OutputFormat).
+ * The writers are buffered, an IOException (e.g. when the reader of the output has gone away)
+ * is thrown when a full buffer cannot be written.
+ */
+public interface ResultWriter {
+
+    /**
+     * Writes an artifact
+     * @param entry Artifact to write
+     * @throws IOException if the output cannot be written
+     */
+    void write(DocsEntry entry) throws IOException;
+
+    /**
+     * Finishes the document (e.g. closes the JSON array) and flushes the output
+     * @throws IOException if the output cannot be written
+     */
+    void finish() throws IOException;
+
+    /**
+     * @param writer Writer of an output format
+     * @param metrics Latencies of the query phases
+     * @param format Output format of the writer
+     * @return Writer, which records the time spent in writing the output (and its flight recorder event)
+     */
+    static ResultWriter timed(final ResultWriter writer, final MetricsRegistry metrics, final OutputFormat format) {
+        return new TimedResultWriter(writer, metrics, format.name().toLowerCase(Locale.ROOT));
+    }
+}
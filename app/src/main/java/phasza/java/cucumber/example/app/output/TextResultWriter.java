@@ -0,0 +1,31 @@
+package phasza.java.cucumber.example.app.output;
+
+import lombok.RequiredArgsConstructor;
+import phasza.java.cucumber.example.lib.MvnConnector;
+import phasza.java.cucumber.example.lib.response.DocsEntry;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes the artifacts as [groupID]:[artifactID]:[latestVersion] lines
+ */
+@RequiredArgsConstructor
+final class TextResultWriter implements ResultWriter {
+
+    /**
+     * Buffered output
+     */
+    private final Writer writer;
+
+    @Override
+    public void write(final DocsEntry entry) throws IOException {
+        writer.write(MvnConnector.format(entry));
+        writer.write('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,92 @@
+package phasza.java.cucumber.example.app.output;
+
+import phasza.java.cucumber.example.lib.events.OutputEvent;
+import phasza.java.cucumber.example.lib.metrics.MetricsRegistry;
+import phasza.java.cucumber.example.lib.metrics.QueryPhase;
+import phasza.java.cucumber.example.lib.response.DocsEntry;
+
+import java.io.IOException;
+
+/**
+ * Records the time spent in writing the output once per command (see QueryPhase.OUTPUT), and the
+ * flight recorder event of the output from the first write (or the finish, if nothing was written)
+ * until it is finished, so the event does not overlap with the query which precedes a sorted output
+ */
+final class TimedResultWriter implements ResultWriter {
+
+    /**
+     * Writer of the output format
+     */
+    private final ResultWriter writer;
+    /**
+     * Latencies of the query phases
+     */
+    private final MetricsRegistry metrics;
+    /**
+     * Flight recorder event of the output
+     */
+    private final OutputEvent event = new OutputEvent();
+    /**
+     * Name of the output format
+     */
+    private final String format;
+    /**
+     * Number of the written artifacts
+     */
+    private int docs;
+    /**
+     * Whether the event has begun
+     */
+    private boolean begun;
+    /**
+     * Time spent in writing in nanoseconds
+     */
+    private long nanos;
+
+    /**
+     * @param writer Writer of the output format
+     * @param metrics Latencies of the query phases
+     * @param format Name of the output format
+     */
+    TimedResultWriter(final ResultWriter writer, final MetricsRegistry metrics, final String format) {
+        this.writer = writer;
+        this.metrics = metrics;
+        this.format = format;
+    }
+
+    @Override
+    public void write(final DocsEntry entry) throws IOException {
+        begin();
+        final long start = System.nanoTime();
+        try {
+            writer.write(entry);
+            docs++;
+        } finally {
+            nanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        begin();
+        final long start = System.nanoTime();
+        try {
+            writer.finish();
+        } finally {
+            metrics.record(QueryPhase.OUTPUT, nanos + System.nanoTime() - start);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.setFormat(format);
+            event.setDocs(docs);
+            event.commit();
+        }
+    }
+
+    private void begin() {
+        if (!begun) {
+            event.begin();
+            begun = true;
+        }
+    }
+}
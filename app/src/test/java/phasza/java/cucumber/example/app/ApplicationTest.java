@@ -0,0 +1,147 @@
+package phasza.java.cucumber.example.app;
+
+import io.micronaut.core.value.MapPropertyResolver;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import phasza.java.cucumber.example.lib.http.MvnHttpConfiguration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of the argument scan and of the configuration of the connection warm-up
+ */
+@NoArgsConstructor
+class ApplicationTest {
+
+    /**
+     * A command without --url connects to the default repository
+     */
+    @Test
+    void defaultRepository() {
+        assertEquals(
+                List.of(Application.DEFAULT_REPOSITORY_URL),
+                Application.repositoryURLs("search", "guice"),
+                "Default repository was not warmed up");
+    }
+
+    /**
+     * Both forms of the --url option are found, in their order
+     */
+    @Test
+    void urlOptions() {
+        assertEquals(
+                List.of("http://a", "http://b"),
+                Application.repositoryURLs("batch", "--url=http://a", "-f", "file", "--url", "http://b"),
+                "--url options were not found");
+    }
+
+    /**
+     * The options of the application precede the command
+     */
+    @Test
+    void applicationOptionsBeforeCommand() {
+        assertEquals(
+                List.of("http://a"),
+                Application.repositoryURLs("--startup-profile", "index", "com", "--url", "http://a"),
+                "Command after the application options was not found");
+    }
+
+    /**
+     * A --url option without value is ignored
+     */
+    @Test
+    void urlWithoutValue() {
+        assertEquals(
+                List.of(Application.DEFAULT_REPOSITORY_URL),
+                Application.repositoryURLs("watch", "com", "--url"),
+                "Incomplete --url option was not ignored");
+    }
+
+    /**
+     * An offline search does not connect
+     */
+    @Test
+    void offline() {
+        assertEquals(
+                List.of(),
+                Application.repositoryURLs("search", "om", "--offline"),
+                "Offline search was warmed up");
+    }
+
+    /**
+     * A command which does not connect is not warmed up
+     */
+    @Test
+    void notConnectingCommand() {
+        assertEquals(List.of(), Application.repositoryURLs("serve"), "Serve command was warmed up");
+    }
+
+    /**
+     * Only application options, without command
+     */
+    @Test
+    void noCommand() {
+        assertEquals(List.of(), Application.repositoryURLs("--startup-profile"), "Missing command was warmed up");
+    }
+
+    /**
+     * The help of the application does not connect
+     */
+    @Test
+    void help() {
+        assertEquals(List.of(), Application.repositoryURLs("-h", "search"), "Help was warmed up");
+    }
+
+    /**
+     * The version of the application does not connect
+     */
+    @Test
+    void version() {
+        assertEquals(List.of(), Application.repositoryURLs("--version"), "Version was warmed up");
+    }
+
+    /**
+     * The help option after the command is rejected without connecting
+     */
+    @Test
+    void helpAfterCommand() {
+        assertEquals(List.of(), Application.repositoryURLs("search", "--help"), "Help of the command was warmed up");
+    }
+
+    /**
+     * -h of the commands is --head, it does not prevent the warm-up
+     */
+    @Test
+    void headOfCommand() {
+        assertEquals(
+                List.of(Application.DEFAULT_REPOSITORY_URL),
+                Application.repositoryURLs("search", "guice", "-h", "5"),
+                "--head of the command prevented the warm-up");
+    }
+
+    /**
+     * The connect timeout is converted as the context converts it
+     */
+    @Test
+    void configuredConnectTimeout() {
+        assertEquals(
+                Duration.ofMillis(500),
+                Application.connectTimeout(new MapPropertyResolver(Map.of("mvn.http.connect-timeout", "500ms"))),
+                "Configured connect timeout was not read");
+    }
+
+    /**
+     * Without configuration the default of the HTTP configuration is used
+     */
+    @Test
+    void defaultConnectTimeout() {
+        assertEquals(
+                new MvnHttpConfiguration().getConnectTimeout(),
+                Application.connectTimeout(new MapPropertyResolver(Map.of())),
+                "Default connect timeout was not used");
+    }
+}
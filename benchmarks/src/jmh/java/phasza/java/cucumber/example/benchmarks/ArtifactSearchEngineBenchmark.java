@@ -0,0 +1,76 @@
+package phasza.java.cucumber.example.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import phasza.java.cucumber.example.lib.MvnConnector;
+import phasza.java.cucumber.example.lib.response.DocsEntry;
+import phasza.java.cucumber.example.lib.search.ArtifactSearchEngine;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the searches of ArtifactSearchEngine over a million artifacts:
+ * - substring: a pattern long enough for the trigram index
+ * - shortSubstring: a pattern shorter than a trigram, which is matched by the parallel segment scan
+ * - prefix: a group prefix, found by binary search
+ * - naive: filtering every id with String.contains and sorting, as a baseline
+ */
+@SuppressWarnings("PMD")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ArtifactSearchEngineBenchmark {
+
+    @Param({"1000000"})
+    public int artifacts;
+
+    @Param({"100"})
+    public int rows;
+
+    private List<DocsEntry> entries;
+    private ArtifactSearchEngine engine;
+
+    @Setup
+    public void setup() {
+        entries = ResponseFixtures.docs(artifacts);
+        engine = new ArtifactSearchEngine(entries);
+    }
+
+    @Benchmark
+    public List<DocsEntry> substring() {
+        return engine.search("group123:artifact-7", rows);
+    }
+
+    @Benchmark
+    public List<DocsEntry> shortSubstring() {
+        return engine.search("-f", rows);
+    }
+
+    @Benchmark
+    public List<DocsEntry> prefix() {
+        return engine.searchPrefix("com.example.group4", rows);
+    }
+
+    @Benchmark
+    public List<DocsEntry> naive() {
+        return entries.stream()
+                .filter(entry -> entry.getId().contains("group123:artifact-7"))
+                .sorted(MvnConnector.DISPLAY_ORDER)
+                .limit(rows)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,72 @@
+package phasza.java.cucumber.example.benchmarks;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import phasza.java.cucumber.example.lib.response.MvnJsonConfiguration;
+import phasza.java.cucumber.example.lib.response.MvnResponse;
+import phasza.java.cucumber.example.lib.response.MvnResponseModule;
+import phasza.java.cucumber.example.lib.response.MvnResponseParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the deserialization of select responses with 10, 1k and 50k docs:
+ * - databind: binding the whole MvnResponse graph with the object mapper
+ * - streaming: MvnResponseParser, which is used by MvnConnector
+ * both with the default (reflection based) and the hand-written (MvnResponseModule) deserializers.
+ * The equivalence of the two bindings is tested by MvnResponseModuleTest.
+ */
+@SuppressWarnings("PMD")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeserializationBenchmark {
+
+    @Param({"10", "1000", "50000"})
+    public int docs;
+
+    @Param({"default", "handWritten"})
+    public String binding;
+
+    private JsonMapper mapper;
+    private MvnResponseParser parser;
+    private byte[] json;
+
+    @Setup
+    public void setup() throws IOException {
+        json = ResponseFixtures.json(docs, docs);
+        final var configuration = new MvnJsonConfiguration();
+        configuration.setHandWrittenDeserializers("handWritten".equals(binding));
+        mapper = new JsonMapper();
+        if (configuration.isHandWrittenDeserializers()) {
+            mapper.registerModule(new MvnResponseModule());
+        }
+        parser = new MvnResponseParser(new JsonMapper(), configuration);
+    }
+
+    @Benchmark
+    public MvnResponse databind() throws IOException {
+        return mapper.readValue(json, MvnResponse.class);
+    }
+
+    @Benchmark
+    public int streaming(final Blackhole blackhole) throws IOException {
+        return parser.parse(new ByteArrayInputStream(json), blackhole::consume);
+    }
+}
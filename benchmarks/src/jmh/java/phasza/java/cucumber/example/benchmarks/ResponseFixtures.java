@@ -0,0 +1,69 @@
+package phasza.java.cucumber.example.benchmarks;
+
+import phasza.java.cucumber.example.lib.response.DocsEntry;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates select API responses and artifacts of a given size for the benchmarks.
+ * The content is random, but seeded, so every run (and every commit) measures the same data.
+ */
+@SuppressWarnings("PMD")
+final class ResponseFixtures {
+
+    private static final long SEED = 20230401L;
+
+    private ResponseFixtures() {
+
+    }
+
+    /**
+     * @param count Number of artifacts
+     * @return Artifacts with random coordinates and versions, in random order
+     */
+    static List<DocsEntry> docs(final int count) {
+        final var random = new Random(SEED);
+        final var docs = new ArrayList<DocsEntry>(count);
+        for (int i = 0; i < count; i++) {
+            final var group = "com.example.group" + random.nextInt(Math.max(1, count / 10));
+            final var artifact = "artifact-" + Integer.toHexString(random.nextInt());
+            final var version = random.nextInt(10) + "." + random.nextInt(30) + "." + random.nextInt(100);
+            docs.add(new DocsEntry(group + ":" + artifact, group, artifact, version, 1 + random.nextInt(200)));
+        }
+        return docs;
+    }
+
+    /**
+     * @param count Number of artifacts in [response.docs]
+     * @param numFound Value of [response.numFound]
+     * @return JSON select response in the format of the server (with the ignored parts too)
+     */
+    static byte[] json(final int count, final int numFound) {
+        final var json = new StringBuilder(count * 256 + 256)
+                .append("{\"responseHeader\":{\"status\":0,\"QTime\":1,\"params\":{\"q\":\"example\",")
+                .append("\"core\":\"\",\"indent\":\"off\",\"spellcheck\":\"true\",\"fl\":\"id,g,a,latestVersion\",")
+                .append("\"wt\":\"json\",\"rows\":\"").append(count).append("\",\"version\":\"2.2\"}},")
+                .append("\"response\":{\"numFound\":").append(numFound).append(",\"start\":0,\"docs\":[");
+        final var docs = docs(count);
+        for (int i = 0; i < docs.size(); i++) {
+            final var entry = docs.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"").append(entry.getId())
+                    .append("\",\"g\":\"").append(entry.getGroup())
+                    .append("\",\"a\":\"").append(entry.getArtifact())
+                    .append("\",\"latestVersion\":\"").append(entry.getLatestVersion())
+                    .append("\",\"repositoryId\":\"central\",\"p\":\"jar\",\"timestamp\":1680000000000")
+                    .append(",\"versionCount\":").append(entry.getVersionCount())
+                    .append(",\"text\":[\"").append(entry.getGroup()).append("\",\"")
+                    .append(entry.getArtifact()).append("\",\"-sources.jar\",\".pom\",\".jar\"]")
+                    .append(",\"ec\":[\"-sources.jar\",\".pom\",\".jar\"]}");
+        }
+        json.append("]},\"spellcheck\":{\"suggestions\":[]}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,86 @@
+package phasza.java.cucumber.example.benchmarks;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micronaut.context.ApplicationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.helpers.NOPLogger;
+import phasza.java.cucumber.example.lib.MvnConnector;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full MvnConnector.runQuery path (URL building, pooled HTTP request, parsing, format and sort)
+ * against an in-process stub server on the loopback interface, which answers every page with a
+ * pre-generated response. The lines are logged to a no-operation logger.
+ */
+@SuppressWarnings("PMD")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RunQueryBenchmark {
+
+    /**
+     * Page size of the queries (see MvnQueryConfiguration)
+     */
+    private static final int PAGE_SIZE = 200;
+
+    @Param({"10", "1000"})
+    public int rows;
+
+    private HttpServer server;
+    private ApplicationContext context;
+    private MvnConnector connector;
+    private String repositoryURL;
+
+    @Setup
+    public void setup() throws IOException {
+        final var body = ResponseFixtures.json(Math.min(rows, PAGE_SIZE), rows);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.createContext("/solrsearch/select", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (var output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.start();
+        repositoryURL = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+        context = ApplicationContext.builder()
+                .properties(Map.of("mvn.query.page-size", PAGE_SIZE))
+                .singletons(NOPLogger.NOP_LOGGER, new JsonMapper())
+                .start();
+        connector = context.getBean(MvnConnector.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        server.stop(0);
+    }
+
+    @Benchmark
+    public void runQuery() {
+        connector.runQuery(repositoryURL, "example", rows);
+    }
+}
@@ -0,0 +1,63 @@
+package phasza.java.cucumber.example.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import phasza.java.cucumber.example.lib.MvnConnector;
+import phasza.java.cucumber.example.lib.response.DocsEntry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the map/format/sort pipeline of the search (see MvnConnector.search),
+ * which turns the parsed artifacts into the sorted lines to display, without any I/O:
+ * - formatAndSort: formats every artifact, then sorts the strings
+ * - sortAndFormat: sorts the artifacts by MvnConnector.DISPLAY_ORDER, then formats them (as the search does)
+ */
+@SuppressWarnings("PMD")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchPipelineBenchmark {
+
+    @Param({"10", "1000", "50000"})
+    public int docs;
+
+    private List<DocsEntry> entries;
+
+    @Setup
+    public void setup() {
+        entries = ResponseFixtures.docs(docs);
+    }
+
+    @Benchmark
+    public List<String> formatAndSort() {
+        final var result = new ArrayList<String>(entries.size());
+        entries.forEach(entry -> result.add(MvnConnector.format(entry)));
+        result.sort(Comparator.naturalOrder());
+        return result;
+    }
+
+    @Benchmark
+    public List<String> sortAndFormat() {
+        final var sorted = new ArrayList<>(entries);
+        sorted.sort(MvnConnector.DISPLAY_ORDER);
+        final var result = new ArrayList<String>(sorted.size());
+        sorted.forEach(entry -> result.add(MvnConnector.format(entry)));
+        return result;
+    }
+}
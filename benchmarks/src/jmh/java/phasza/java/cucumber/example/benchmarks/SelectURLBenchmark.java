@@ -0,0 +1,95 @@
+package phasza.java.cucumber.example.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import phasza.java.cucumber.example.lib.request.FieldListProperty;
+import phasza.java.cucumber.example.lib.request.MvnHttpUtils;
+import phasza.java.cucumber.example.lib.request.MvnURLProperty;
+import phasza.java.cucumber.example.lib.request.QueryProperty;
+import phasza.java.cucumber.example.lib.request.RowsProperty;
+import phasza.java.cucumber.example.lib.request.StartProperty;
+import phasza.java.cucumber.example.lib.request.WTProperty;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the building of the select URLs (MvnHttpUtils.select).
+ * Run with the gc profiler (the default of the jmh task) and compare gc.alloc.rate.norm
+ * (bytes allocated per URL) of the benchmarks:
+ * - select: a page of a running query, the query property is reused (see MvnConnector)
+ * - selectNewQuery: the first page of a new query, the pattern is encoded too
+ * - selectBaseline: the former String.format and stream based implementation
+ */
+@SuppressWarnings("PMD")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectURLBenchmark {
+
+    private static final String REPOSITORY_URL = "https://search.maven.org";
+    private static final String PATTERN = "g:com.google.inject AND a:guice";
+
+    private final QueryProperty query = new QueryProperty(PATTERN);
+
+    @Benchmark
+    public String select() {
+        return MvnHttpUtils.select(
+                REPOSITORY_URL,
+                query,
+                new StartProperty(200),
+                new RowsProperty(200),
+                FieldListProperty.COORDINATES,
+                WTProperty.json());
+    }
+
+    @Benchmark
+    public String selectNewQuery() {
+        return MvnHttpUtils.select(
+                REPOSITORY_URL,
+                new QueryProperty(PATTERN),
+                new StartProperty(0),
+                new RowsProperty(200),
+                FieldListProperty.COORDINATES,
+                WTProperty.json());
+    }
+
+    @Benchmark
+    public String selectBaseline() {
+        return baselineSelect(
+                REPOSITORY_URL,
+                () -> String.format("%s=%s", QueryProperty.NAME, URLEncoder.encode(PATTERN, StandardCharsets.UTF_8)),
+                () -> String.format("%s=%s", StartProperty.NAME, 200),
+                () -> String.format("%s=%s", RowsProperty.NAME, 200),
+                () -> String.format("%s=%s", FieldListProperty.NAME, URLEncoder.encode(
+                        String.join(",", FieldListProperty.COORDINATES.getFields()), StandardCharsets.UTF_8)),
+                () -> String.format("%s=%s", WTProperty.NAME, "json"));
+    }
+
+    /**
+     * The implementation of MvnHttpUtils.select before SelectURLBuilder
+     */
+    private static String baselineSelect(final String repositoryURL, final MvnURLProperty... properties) {
+        return String.format(
+                "%s/%s/%s?%s",
+                repositoryURL,
+                "solrsearch",
+                "select",
+                String.join("&", Arrays.stream(properties)
+                        .map(MvnURLProperty::get)
+                        .collect(Collectors.toList())));
+    }
+}
@@ -4,7 +4,9 @@ import jakarta.inject.Singleton;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import phasza.java.cucumber.example.app.Application;
+import phasza.java.cucumber.example.app.StandardOutput;
 import phasza.java.cucumber.example.app.Status;
+import phasza.java.cucumber.example.app.daemon.DaemonClient;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -34,10 +36,13 @@ public final class ApplicationContext {
     /**
      * Adds an extra option to the option list.
      * The extra options will be added to the end of the arguments.
+     * An option which was already added is not repeated (e.g. the --url of every run of a scenario).
      * @param option Extra option
      */
     public void addOption(final String option) {
-        options.add(option);
+        if (!options.contains(option)) {
+            options.add(option);
+        }
     }
 
     /**
@@ -48,7 +53,26 @@ public final class ApplicationContext {
         final var finalArgs = new ArrayList<String>();
         finalArgs.addAll(args);
         finalArgs.addAll(options);
-        status = new Application(logger).execute(finalArgs.toArray(new String[0]));
+        status = new Application(logger, new StandardOutput(
+                logger.getStandardOutputStream(),
+                logger.getStandardErrorStream())).execute(finalArgs.toArray(new String[0]));
+    }
+
+    /**
+     * Forwards a command to the running daemon, like the CLI does (see DaemonClient)
+     * @param args command to forward
+     * @return true if the command was forwarded, false if the CLI would execute it locally
+     */
+    public boolean forward(final List<String> args) {
+        final var finalArgs = new ArrayList<String>();
+        finalArgs.addAll(args);
+        finalArgs.addAll(options);
+        final var forwarded = DaemonClient.forward(
+                finalArgs,
+                logger.getStandardOutputStream(),
+                logger.getStandardErrorStream());
+        forwarded.ifPresent(i -> status = i);
+        return forwarded.isPresent();
     }
 
     /**
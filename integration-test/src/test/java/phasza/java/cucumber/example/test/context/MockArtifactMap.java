@@ -11,6 +11,7 @@ import com.github.tomakehurst.wiremock.http.ResponseDefinition;
 import jakarta.inject.Singleton;
 import lombok.AllArgsConstructor;
 import phasza.java.cucumber.example.lib.request.RowsProperty;
+import phasza.java.cucumber.example.lib.request.StartProperty;
 import phasza.java.cucumber.example.lib.response.MvnResponse;
 import phasza.java.cucumber.example.lib.response.Response;
 import phasza.java.cucumber.example.test.data.MockArtifact;
@@ -92,17 +93,23 @@ public final class MockArtifactMap extends ResponseDefinitionTransformer {
         }).collect(Collectors.toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
 
         //Select all matching artifacts for the received arguments
-        final var matchingArtifacts = data.entrySet().stream()
+        final var allMatchingArtifacts = data.entrySet().stream()
                 .filter(i -> i.getKey().contains(Optional.ofNullable(queryMap.get("q")).orElse(i.getKey())))
                 .sorted(Map.Entry.comparingByKey())
-                .limit(Optional.ofNullable(queryMap.get(RowsProperty.NAME)).map(Long::parseLong).orElse(0L))
                 .map(Map.Entry::getValue)
                 .map(MockArtifact::toDocsEntry)
                 .collect(Collectors.toList());
-        //Build a new response which contains the matching packages
-        return new ResponseDefinitionBuilder()
+        //Select the requested page of the matching artifacts
+        final var matchingArtifacts = allMatchingArtifacts.stream()
+                .skip(Optional.ofNullable(queryMap.get(StartProperty.NAME)).map(Long::parseLong).orElse(0L))
+                .limit(Optional.ofNullable(queryMap.get(RowsProperty.NAME)).map(Long::parseLong).orElse(0L))
+                .collect(Collectors.toList());
+        //Build a new response which contains the matching packages of the page
+        //and the number of all matching packages (as the real server does),
+        //keeping the rest of the stubbed response (e.g. its delay)
+        return ResponseDefinitionBuilder.like(responseDefinition).but()
                 .withStatus(200)
-                .withBody(toJson(new MvnResponse(new Response(matchingArtifacts.size(), matchingArtifacts))))
+                .withBody(toJson(new MvnResponse(new Response(allMatchingArtifacts.size(), matchingArtifacts))))
                 .build();
     }
 
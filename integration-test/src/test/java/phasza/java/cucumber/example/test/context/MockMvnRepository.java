@@ -1,11 +1,16 @@
 package phasza.java.cucumber.example.test.context;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
 import jakarta.inject.Singleton;
 import lombok.RequiredArgsConstructor;
 import phasza.java.cucumber.example.test.data.MockArtifact;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
@@ -18,10 +23,31 @@ import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options
 @RequiredArgsConstructor
 public final class MockMvnRepository implements AutoCloseable {
 
+    /**
+     * URL pattern of the select requests
+     */
+    private static final String SELECT_URL = "/solrsearch/select\\?.*";
+    /**
+     * Name of the wiremock scenario of the temporary failures
+     */
+    private static final String FAILURE_SCENARIO = "failure";
+    /**
+     * State of the failure scenario after the failures
+     */
+    private static final String RECOVERED = "recovered";
+
     /**
      * Instance of the stub transformer which holds configured artifacts
      */
     private final MockArtifactMap mockArtifactMap;
+    /**
+     * Injected JSON mapper, used by the transformers of the mirrors
+     */
+    private final ObjectMapper mapper;
+    /**
+     * Mirror servers, which answer from their own artifacts
+     */
+    private final List<WireMockServer> mirrors = new ArrayList<>();
     /**
      * Instance of the wiremock server
      */
@@ -45,6 +71,82 @@ public final class MockMvnRepository implements AutoCloseable {
         getServer().stubFor(any(anyUrl()).atPriority(1).willReturn(notFound()));
     }
 
+    /**
+     * All requests will be answered with the given status
+     * @param status HTTP status of the answers
+     */
+    public void fail(final int status) {
+        getServer().stubFor(any(anyUrl()).atPriority(1).willReturn(aResponse().withStatus(status)));
+    }
+
+    /**
+     * The select requests of the pages after the first one will be answered with the given status
+     * @param status HTTP status of the answers
+     */
+    public void failAfterFirstPage(final int status) {
+        getServer().stubFor(get(urlMatching(SELECT_URL)).atPriority(1)
+                .withQueryParam("start", notMatching("0"))
+                .willReturn(aResponse().withStatus(status)));
+    }
+
+    /**
+     * The first request will be answered with the given status, the following ones with the artifacts
+     * @param status HTTP status of the first answer
+     */
+    public void failOnce(final int status) {
+        failOnce(aResponse().withStatus(status));
+    }
+
+    /**
+     * The first request will be answered with 429 (Too Many Requests), the following ones with the artifacts
+     * @param retryAfter Seconds in the Retry-After header of the first answer
+     */
+    public void throttleOnce(final int retryAfter) {
+        failOnce(aResponse().withStatus(429).withHeader("Retry-After", String.valueOf(retryAfter)));
+    }
+
+    /**
+     * The select requests will be answered with the given ETag, and with 304 (Not Modified)
+     * when the request sends the same ETag in its If-None-Match header
+     * (the compressed answers carry the ETag with a suffix, e.g. v1--gzip, which the client sends back)
+     * @param eTag ETag of the answers
+     */
+    public void tagResponses(final String eTag) {
+        getServer().stubFor(get(urlMatching(SELECT_URL)).atPriority(2).willReturn(
+                aResponse().withStatus(200).withHeader("ETag", eTag).withTransformers(MockArtifactMap.class.getName())
+        ));
+        getServer().stubFor(get(urlMatching(SELECT_URL)).atPriority(1)
+                .withHeader("If-None-Match", containing(eTag))
+                .willReturn(aResponse().withStatus(304).withHeader("ETag", eTag)));
+    }
+
+    /**
+     * @return Number of the requests received by the server
+     */
+    public int getRequestCount() {
+        return getServer().getAllServeEvents().size();
+    }
+
+    /**
+     * @return Number of the requests answered with 304 (Not Modified)
+     */
+    public int getNotModifiedCount() {
+        return (int) getServer().getAllServeEvents().stream()
+                .filter(i -> i.getResponse().getStatus() == 304)
+                .count();
+    }
+
+    /**
+     * @return Time between the first and the last request received by the server
+     */
+    public Duration getRequestSpan() {
+        final var times = getServer().getAllServeEvents().stream()
+                .map(i -> i.getRequest().getLoggedDate().toInstant())
+                .sorted()
+                .collect(Collectors.toList());
+        return times.isEmpty() ? Duration.ZERO : Duration.between(times.get(0), times.get(times.size() - 1));
+    }
+
     /**
      * "uploads" a mocked artifact to the mock server
      * @param mockArtifact Data to upload
@@ -58,13 +160,40 @@ public final class MockMvnRepository implements AutoCloseable {
      * Should be called before starting the application under test.
      */
     public void finishStubbing() {
-        getServer().stubFor(get(urlMatching("/solrsearch/select\\?.*")).willReturn(
+        getServer().stubFor(get(urlMatching(SELECT_URL)).willReturn(
                 aResponse().withStatus(200).withTransformers(MockArtifactMap.class.getName())
         ));
     }
 
+    /**
+     * Starts a mirror repository, which answers the select requests from its own artifacts
+     * @param mockArtifacts Artifacts of the mirror
+     * @param delay Delay of every answer of the mirror in milliseconds
+     * @return Base URL of the mirror
+     */
+    public String startMirror(final List<MockArtifact> mockArtifacts, final int delay) {
+        final var mirrorArtifactMap = new MockArtifactMap(mapper);
+        mockArtifacts.forEach(i -> mirrorArtifactMap.put(i.getId(), i));
+        final var mirror = new WireMockServer(options().extensions(mirrorArtifactMap).dynamicPort());
+        mirrors.add(mirror);
+        mirror.start();
+        mirror.stubFor(get(urlMatching(SELECT_URL)).willReturn(
+                aResponse().withStatus(200).withFixedDelay(delay).withTransformers(MockArtifactMap.class.getName())
+        ));
+        return mirror.baseUrl();
+    }
+
+    private void failOnce(final ResponseDefinitionBuilder failure) {
+        getServer().stubFor(any(anyUrl()).atPriority(1)
+                .inScenario(FAILURE_SCENARIO)
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(failure)
+                .willSetStateTo(RECOVERED));
+    }
+
     @Override
     public void close() {
         Optional.ofNullable(server).ifPresent(WireMockServer::stop);
+        mirrors.forEach(WireMockServer::stop);
     }
 }
@@ -6,12 +6,14 @@ import org.slf4j.Marker;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
 
 /**
  * Mock logger used to redirect the log messages from the application
@@ -349,6 +351,36 @@ public class TestLogger implements Logger {
         }
     }
 
+    /**
+     * @return Stream which adds the flushed lines to the standard out (see StandardOutput)
+     */
+    public OutputStream getStandardOutputStream() {
+        return lineStream(this::info);
+    }
+
+    /**
+     * @return Stream which adds the flushed lines to the standard error (see StandardOutput)
+     */
+    public OutputStream getStandardErrorStream() {
+        return lineStream(this::error);
+    }
+
+    private static OutputStream lineStream(final Consumer<String> lines) {
+        return new ByteArrayOutputStream() {
+            @Override
+            public synchronized void flush() {
+                final var content = toString(StandardCharsets.UTF_8);
+                final int end = content.lastIndexOf('\n');
+                if (end >= 0) {
+                    lines.accept(content.substring(0, end).replace("\r", ""));
+                    final var rest = content.substring(end + 1).getBytes(StandardCharsets.UTF_8);
+                    reset();
+                    write(rest, 0, rest.length);
+                }
+            }
+        };
+    }
+
     /**
      * @return standard out collected so far
      */
@@ -0,0 +1,109 @@
+package phasza.java.cucumber.example.test.steps;
+
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import io.micronaut.context.ApplicationContext;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import phasza.java.cucumber.example.lib.MvnConnector;
+import phasza.java.cucumber.example.lib.MvnQueryException;
+import phasza.java.cucumber.example.test.context.MockMvnRepository;
+import phasza.java.cucumber.example.test.context.TestLogger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Container which implements the steps of the asynchronous query scenarios.
+ * The queries run on the MvnConnector of a new context (there is no command which runs them).
+ */
+@Singleton
+@RequiredArgsConstructor
+public class AsyncQuerySteps {
+
+    /**
+     * Time the asynchronous query has to complete
+     */
+    private static final long QUERY_TIMEOUT_SECONDS = 30;
+
+    /**
+     * Injected mock MVN repository
+     */
+    private final MockMvnRepository mockMvnRepository;
+    /**
+     * Injected logger of the application under test
+     */
+    private final TestLogger logger;
+    /**
+     * Page size of the queries (mvn.query.page-size), the default of the configuration if 0
+     */
+    private int pageSize;
+    /**
+     * Artifacts returned by the last query, formatted as they are displayed (see MvnConnector.format)
+     */
+    private List<String> result;
+    /**
+     * Failure of the last query, null if it succeeded
+     */
+    private Throwable failure;
+
+    /**
+     * @param size Number of the artifacts requested per page
+     */
+    @Given("the asynchronous queries are paged by {int} artifact(s)")
+    public void asynchronousQueriesArePagedBy(final int size) {
+        pageSize = size;
+    }
+
+    /**
+     * Runs an asynchronous query against the MVN server and waits for its result
+     * @param pattern Pattern of the query
+     * @param rows Limits the number of results
+     * @throws InterruptedException if the test is interrupted while the query runs
+     * @throws TimeoutException if the query does not complete in time
+     */
+    @When("I query {string} asynchronously with {int} rows")
+    public void queryAsynchronously(final String pattern, final int rows)
+            throws InterruptedException, TimeoutException {
+        final var builder = ApplicationContext.builder().singletons(logger);
+        if (pageSize > 0) {
+            builder.properties(Map.of("mvn.query.page-size", pageSize));
+        }
+        try (var context = builder.start()) {
+            result = context.getBean(MvnConnector.class)
+                    .queryAsync(mockMvnRepository.getServer().baseUrl(), pattern, rows)
+                    .thenApply(docs -> docs.stream().map(MvnConnector::format).collect(Collectors.toList()))
+                    .get(QUERY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            failure = null;
+        } catch (ExecutionException e) {
+            result = null;
+            failure = e.getCause();
+        }
+    }
+
+    /**
+     * @param expected Expected artifacts in the order of the server
+     */
+    @Then("the asynchronous query returns the following artifacts")
+    public void asynchronousQueryReturns(final List<String> expected) {
+        assertEquals(expected, result, "Unexpected result of the asynchronous query: " + failure);
+    }
+
+    /**
+     * @param message Expected message of the MvnQueryException of the query
+     */
+    @Then("the asynchronous query fails with {string}")
+    public void asynchronousQueryFails(final String message) {
+        assertNotNull(failure, "The asynchronous query did not fail");
+        assertEquals(MvnQueryException.class, failure.getClass(), "Unexpected failure: " + failure);
+        assertEquals(message, failure.getMessage(), "Unexpected message of the failure");
+    }
+}
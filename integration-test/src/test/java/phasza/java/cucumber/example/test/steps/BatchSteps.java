@@ -0,0 +1,37 @@
+package phasza.java.cucumber.example.test.steps;
+
+import io.cucumber.java.en.Given;
+import jakarta.inject.Singleton;
+import lombok.AllArgsConstructor;
+import phasza.java.cucumber.example.test.context.ApplicationContext;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Container which implements the steps of a "batch" feature scenario.
+ */
+@Singleton
+@AllArgsConstructor
+public class BatchSteps {
+
+    /**
+     * Current application context
+     */
+    private final ApplicationContext applicationContext;
+
+    /**
+     * Writes the patterns into a temporary file, which is passed to the command with the --file option
+     * @param patterns Lines of the pattern file
+     * @throws IOException if the file cannot be written
+     */
+    @Given("a pattern file with the following lines")
+    public void patternFileWithTheFollowingLines(final List<String> patterns) throws IOException {
+        final var file = Files.createTempFile("patterns", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, patterns, StandardCharsets.UTF_8);
+        applicationContext.addOption(String.format("--file=%s", file));
+    }
+}
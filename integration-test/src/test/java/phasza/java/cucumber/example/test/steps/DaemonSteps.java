@@ -0,0 +1,159 @@
+package phasza.java.cucumber.example.test.steps;
+
+import io.cucumber.java.After;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import phasza.java.cucumber.example.app.Application;
+import phasza.java.cucumber.example.app.StandardOutput;
+import phasza.java.cucumber.example.app.daemon.DaemonFile;
+import phasza.java.cucumber.example.test.context.ApplicationContext;
+import phasza.java.cucumber.example.test.context.MockMvnRepository;
+import phasza.java.cucumber.example.test.context.TestLogger;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Container which implements the steps of the daemon scenarios.
+ * The daemon runs the "serve" command of another application instance on a thread of the test.
+ */
+@Singleton
+@RequiredArgsConstructor
+public class DaemonSteps {
+
+    /**
+     * Time the daemon has to announce itself
+     */
+    private static final long STARTUP_TIMEOUT_MILLIS = 10_000;
+    /**
+     * Time the daemon has to stop
+     */
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+    /**
+     * Injected state of the application under test
+     */
+    private final ApplicationContext applicationContext;
+    /**
+     * Injected mock MVN repository
+     */
+    private final MockMvnRepository mockMvnRepository;
+    /**
+     * Configuration properties of the client, which are removed after the scenario
+     */
+    private final List<String> properties = new ArrayList<>();
+    /**
+     * Thread of the daemon, null if there is none
+     */
+    private Thread daemon;
+    /**
+     * Port of the daemon
+     */
+    private int port;
+    /**
+     * Whether the last command was forwarded to the daemon
+     */
+    private boolean forwarded;
+
+    /**
+     * Starts a daemon on any free port, which announces itself in a temporary daemon file
+     * @throws IOException if the directory cannot be created
+     * @throws InterruptedException if the test is interrupted while the daemon starts
+     */
+    @Given("a daemon is serving")
+    public void aDaemonIsServing() throws IOException, InterruptedException {
+        final var directory = Files.createTempDirectory("daemon");
+        directory.toFile().deleteOnExit();
+        final var file = directory.resolve("daemon");
+        file.toFile().deleteOnExit();
+        System.setProperty(DaemonFile.PATH_PROPERTY, file.toString());
+        final var logger = new TestLogger();
+        daemon = new Thread(() -> new Application(logger, new StandardOutput(
+                logger.getStandardOutputStream(),
+                logger.getStandardErrorStream())).execute("serve", "--port=0"));
+        daemon.setDaemon(true);
+        daemon.start();
+        final long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (DaemonFile.read().isEmpty()) {
+            if (System.currentTimeMillis() > deadline || !daemon.isAlive()) {
+                fail("The daemon has not started: " + String.join(System.lineSeparator(), logger.getStandardError()));
+            }
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        port = DaemonFile.read().orElseThrow().getPort();
+    }
+
+    /**
+     * @param name Configuration property of the client
+     * @param value Value of the property
+     */
+    @Given("the client is configured with {string} = {string}")
+    public void clientIsConfiguredWith(final String name, final String value) {
+        System.setProperty(name, value);
+        properties.add(name);
+    }
+
+    /**
+     * @param command Can start with "mvn-query" for better readability, but this can be ommitted
+     */
+    @When("I run {string} through the daemon")
+    public void whenRunCommandThroughDaemon(final String command) {
+        applicationContext.addOption(String.format("--url=%s", mockMvnRepository.getServer().baseUrl()));
+        final var args = Arrays.stream(command.split(" "))
+                .filter(i -> !i.isBlank())
+                .collect(Collectors.toList());
+        args.remove("mvn-query");
+        forwarded = applicationContext.forward(args);
+        if (!forwarded) {
+            applicationContext.run(args);
+        }
+    }
+
+    /**
+     * Asserts that the daemon executed the last command
+     */
+    @Then("the command is executed by the daemon")
+    public void commandIsExecutedByDaemon() {
+        assertTrue(forwarded, "The command was executed locally");
+    }
+
+    /**
+     * Asserts that the last command was executed locally
+     */
+    @Then("the command is executed locally")
+    public void commandIsExecutedLocally() {
+        assertFalse(forwarded, "The command was forwarded to the daemon");
+    }
+
+    /**
+     * Stops the daemon and removes the properties, so they do not leak into other scenarios
+     * @throws IOException if the daemon cannot be woken up
+     * @throws InterruptedException if the test is interrupted while the daemon stops
+     */
+    @After
+    public void afterScenario() throws IOException, InterruptedException {
+        if (daemon != null) {
+            daemon.interrupt();
+            //Wakes up the daemon waiting for a connection, so it notices the interrupt
+            try (var ignored = new Socket(InetAddress.getLoopbackAddress(), port)) { //NOPMD
+                daemon.join(SHUTDOWN_TIMEOUT_MILLIS);
+            }
+        }
+        System.clearProperty(DaemonFile.PATH_PROPERTY);
+        properties.forEach(System::clearProperty);
+    }
+}
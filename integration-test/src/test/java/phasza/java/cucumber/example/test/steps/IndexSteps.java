@@ -0,0 +1,57 @@
+package phasza.java.cucumber.example.test.steps;
+
+import io.cucumber.java.After;
+import io.cucumber.java.en.Given;
+import jakarta.inject.Singleton;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Container which implements the steps of an "index" feature scenario.
+ */
+@Singleton
+@NoArgsConstructor
+public class IndexSteps {
+
+    /**
+     * Configuration property of the index file
+     */
+    private static final String INDEX_FILE_PROPERTY = "mvn.index.file";
+    /**
+     * Configuration property which searches the index with the in-memory engine
+     */
+    private static final String IN_MEMORY_PROPERTY = "mvn.index.in-memory";
+
+    /**
+     * Points the application to an index file in a temporary directory
+     * (the application context reads the system properties)
+     * @throws IOException if the directory cannot be created
+     */
+    @Given("an empty local artifact index")
+    public void anEmptyLocalArtifactIndex() throws IOException {
+        final var directory = Files.createTempDirectory("index");
+        directory.toFile().deleteOnExit();
+        final var file = directory.resolve("artifacts.idx");
+        file.toFile().deleteOnExit();
+        System.setProperty(INDEX_FILE_PROPERTY, file.toString());
+    }
+
+    /**
+     * Searches the index with the in-memory engine instead of the mapped file
+     */
+    @Given("the local artifact index is searched in memory")
+    public void localArtifactIndexIsSearchedInMemory() {
+        System.setProperty(IN_MEMORY_PROPERTY, "true");
+    }
+
+    /**
+     * Removes the index properties, so they do not leak into other scenarios
+     */
+    @After
+    public void afterScenario() {
+        System.clearProperty(INDEX_FILE_PROPERTY);
+        System.clearProperty(IN_MEMORY_PROPERTY);
+    }
+}
@@ -0,0 +1,50 @@
+package phasza.java.cucumber.example.test.steps;
+
+import io.cucumber.java.After;
+import io.cucumber.java.en.Given;
+import jakarta.inject.Singleton;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Container which implements the steps of the negative cache scenarios.
+ */
+@Singleton
+@NoArgsConstructor
+public class NegativeCacheSteps {
+
+    /**
+     * Configuration property which turns the negative cache on
+     */
+    private static final String ENABLED_PROPERTY = "mvn.negative-cache.enabled";
+    /**
+     * Configuration property of the negative cache file
+     */
+    private static final String FILE_PROPERTY = "mvn.negative-cache.file";
+
+    /**
+     * Turns the negative cache on with a file in a temporary directory
+     * (the application context reads the system properties)
+     * @throws IOException if the directory cannot be created
+     */
+    @Given("an empty negative cache")
+    public void anEmptyNegativeCache() throws IOException {
+        final var directory = Files.createTempDirectory("negative");
+        directory.toFile().deleteOnExit();
+        final var file = directory.resolve("negative.bloom");
+        file.toFile().deleteOnExit();
+        System.setProperty(ENABLED_PROPERTY, "true");
+        System.setProperty(FILE_PROPERTY, file.toString());
+    }
+
+    /**
+     * Removes the negative cache properties, so they do not leak into other scenarios
+     */
+    @After
+    public void afterScenario() {
+        System.clearProperty(ENABLED_PROPERTY);
+        System.clearProperty(FILE_PROPERTY);
+    }
+}
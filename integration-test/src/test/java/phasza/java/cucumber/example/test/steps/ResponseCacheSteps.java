@@ -0,0 +1,120 @@
+package phasza.java.cucumber.example.test.steps;
+
+import io.cucumber.java.After;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import jakarta.inject.Singleton;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Container which implements the steps of the response cache scenarios.
+ */
+@Singleton
+@NoArgsConstructor
+public class ResponseCacheSteps {
+
+    /**
+     * Configuration property which turns the response cache on
+     */
+    private static final String ENABLED_PROPERTY = "mvn.cache.enabled";
+    /**
+     * Configuration property of the response cache directory
+     */
+    private static final String DIRECTORY_PROPERTY = "mvn.cache.directory";
+    /**
+     * Configuration property of the time to live of the cached responses
+     */
+    private static final String TIME_TO_LIVE_PROPERTY = "mvn.cache.time-to-live";
+    /**
+     * Configuration property of the size of the response cache
+     */
+    private static final String MAX_SIZE_PROPERTY = "mvn.cache.max-size";
+    /**
+     * Extension of the cache files (see ResponseCache)
+     */
+    private static final String EXTENSION = ".entry";
+
+    /**
+     * Directory of the response cache of the scenario
+     */
+    private Path directory;
+
+    /**
+     * Turns the response cache on with a temporary directory
+     * (the application context reads the system properties)
+     * @throws IOException if the directory cannot be created
+     */
+    @Given("an empty response cache")
+    public void anEmptyResponseCache() throws IOException {
+        directory = Files.createTempDirectory("cache");
+        directory.toFile().deleteOnExit();
+        System.setProperty(ENABLED_PROPERTY, "true");
+        System.setProperty(DIRECTORY_PROPERTY, directory.toString());
+    }
+
+    /**
+     * Turns the response cache on with a temporary directory and the given time to live
+     * @param timeToLive Time to live of the cached responses (e.g. 0s)
+     * @throws IOException if the directory cannot be created
+     */
+    @Given("an empty response cache with a time to live of {string}")
+    public void anEmptyResponseCacheWithTimeToLive(final String timeToLive) throws IOException {
+        anEmptyResponseCache();
+        System.setProperty(TIME_TO_LIVE_PROPERTY, timeToLive);
+    }
+
+    /**
+     * Limits the size of the response cache to the size of its current entries,
+     * so a new entry evicts the least recently used ones
+     * @throws IOException if the directory cannot be listed
+     */
+    @Given("the response cache is limited to its current size")
+    public void theResponseCacheIsLimitedToItsCurrentSize() throws IOException {
+        long size = 0;
+        for (final var entry : entries()) {
+            size += Files.size(entry);
+        }
+        System.setProperty(MAX_SIZE_PROPERTY, String.valueOf(size));
+    }
+
+    /**
+     * @param count Expected number of the entries in the response cache
+     * @throws IOException if the directory cannot be listed
+     */
+    @Then("the response cache holds {int} entry/entries")
+    public void theResponseCacheHoldsEntries(final int count) throws IOException {
+        assertEquals(count, entries().size(), "Unexpected number of cache entries");
+    }
+
+    /**
+     * Removes the response cache properties and entries, so they do not leak into other scenarios
+     * @throws IOException if an entry cannot be deleted
+     */
+    @After
+    public void afterScenario() throws IOException {
+        System.clearProperty(ENABLED_PROPERTY);
+        System.clearProperty(DIRECTORY_PROPERTY);
+        System.clearProperty(TIME_TO_LIVE_PROPERTY);
+        System.clearProperty(MAX_SIZE_PROPERTY);
+        if (directory != null) {
+            for (final var entry : entries()) {
+                Files.deleteIfExists(entry);
+            }
+            directory = null;
+        }
+    }
+
+    private List<Path> entries() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.filter(i -> i.getFileName().toString().endsWith(EXTENSION)).collect(Collectors.toList());
+        }
+    }
+}
@@ -13,12 +13,14 @@ import phasza.java.cucumber.example.test.context.MockMvnRepository;
 import phasza.java.cucumber.example.test.context.ApplicationContext;
 import phasza.java.cucumber.example.test.data.MockArtifact;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertLinesMatch;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Container which implements the steps of a "search" feature scenario.
@@ -27,6 +29,11 @@ import static org.junit.jupiter.api.Assertions.assertLinesMatch;
 @AllArgsConstructor
 public class SearchSteps {
 
+    /**
+     * Configuration property of the page size of the queries
+     */
+    private static final String PAGE_SIZE_PROPERTY = "mvn.query.page-size";
+
     /**
      * Current application context
      */
@@ -37,11 +44,12 @@ public class SearchSteps {
     private final MockMvnRepository mockMvnRepository;
 
     /**
-     * Print some helpful messages on failure
+     * Print some helpful messages on failure, and removes the page size of the scenario
      * @param scenario Scenario
      */
     @After
     public void afterScenario(final Scenario scenario) {
+        System.clearProperty(PAGE_SIZE_PROPERTY);
         if (scenario.isFailed()) {
             scenario.log(String.format("Test %s failed!", scenario.getId()));
             scenario.log("Standard Out:");
@@ -82,6 +90,55 @@ public class SearchSteps {
         mockMvnRepository.setServerDown();
     }
 
+    /**
+     * @param status HTTP status of every answer of the MVN server
+     */
+    @Given("the maven server fails with status {int}")
+    public void mavenServerFailsWithStatus(final int status) {
+        mockMvnRepository.fail(status);
+    }
+
+    /**
+     * @param status HTTP status of the answers of the MVN server to the pages after the first one
+     */
+    @Given("the maven server fails with status {int} after the first page")
+    public void mavenServerFailsAfterFirstPage(final int status) {
+        mockMvnRepository.failAfterFirstPage(status);
+    }
+
+    /**
+     * Pages the searches (the application context reads the system properties)
+     * @param size Number of the artifacts requested per page
+     */
+    @Given("the searches are paged by {int} artifact(s)")
+    public void searchesArePagedBy(final int size) {
+        System.setProperty(PAGE_SIZE_PROPERTY, String.valueOf(size));
+    }
+
+    /**
+     * @param status HTTP status of the first answer of the MVN server
+     */
+    @Given("the maven server fails once with status {int}")
+    public void mavenServerFailsOnceWithStatus(final int status) {
+        mockMvnRepository.failOnce(status);
+    }
+
+    /**
+     * @param retryAfter Seconds in the Retry-After header of the first answer of the MVN server
+     */
+    @Given("the maven server throttles once with a Retry-After of {int} second(s)")
+    public void mavenServerThrottlesOnce(final int retryAfter) {
+        mockMvnRepository.throttleOnce(retryAfter);
+    }
+
+    /**
+     * @param eTag ETag of the answers of the MVN server, which answers 304 (Not Modified) when it is sent back
+     */
+    @Given("the maven server tags its answers with the ETag {string}")
+    public void mavenServerTagsItsAnswers(final String eTag) {
+        mockMvnRepository.tagResponses(eTag);
+    }
+
     /**
      * @param data Must be in | group | artifact | latestVersion| format
      */
@@ -93,6 +150,25 @@ public class SearchSteps {
         mockMvnRepository.finishStubbing();
     }
 
+    /**
+     * Starts a mirror of the maven server, which is searched together with the maven server
+     * @param data Must be in | group | artifact | latestVersion| format
+     */
+    @Given("a mirror maven server with the following artifacts")
+    public void mirrorMavenServerWithTheFollowingArtifacts(final DataTable data) {
+        startMirror(data, 0);
+    }
+
+    /**
+     * Starts a slow mirror of the maven server, which is searched together with the maven server
+     * @param delay Delay of every answer of the mirror in milliseconds
+     * @param data Must be in | group | artifact | latestVersion| format
+     */
+    @Given("a mirror maven server answering after {int} ms with the following artifacts")
+    public void slowMirrorMavenServerWithTheFollowingArtifacts(final int delay, final DataTable data) {
+        startMirror(data, delay);
+    }
+
     /**
      * @param command Can start with "mvn-query" for better readability, but this can be ommitted
      */
@@ -143,4 +219,41 @@ public class SearchSteps {
     public void followingLinesAreIncludedInTheStandardError(final List<String> expected) {
         assertLinesMatch(expected, applicationContext.getStandardError());
     }
+
+    /**
+     * @param count Expected number of the requests received by the MVN server
+     */
+    @Then("the maven server received {int} request(s)")
+    public void mavenServerReceivedRequests(final int count) {
+        assertEquals(count, mockMvnRepository.getRequestCount(), "Unexpected number of requests");
+    }
+
+    /**
+     * @param count Expected number of the requests answered by the MVN server with 304 (Not Modified)
+     */
+    @Then("the maven server answered {int} request(s) with Not Modified")
+    public void mavenServerAnsweredNotModified(final int count) {
+        assertEquals(count, mockMvnRepository.getNotModifiedCount(), "Unexpected number of 304 answers");
+    }
+
+    /**
+     * @param seconds Expected minimal time between the first and the last request received by the MVN server
+     */
+    @Then("the maven server received the requests at least {int} second(s) apart")
+    public void mavenServerReceivedRequestsApart(final int seconds) {
+        final var span = mockMvnRepository.getRequestSpan();
+        assertTrue(span.compareTo(Duration.ofSeconds(seconds)) >= 0, "Requests were only " + span + " apart");
+    }
+
+    /**
+     * Starts a mirror and adds it to the repositories of the commands
+     * @param data Must be in | group | artifact | latestVersion| format
+     * @param delay Delay of every answer of the mirror in milliseconds
+     */
+    private void startMirror(final DataTable data, final int delay) {
+        final var url = mockMvnRepository.startMirror(data.asLists().stream()
+                .map(entry -> new MockArtifact(entry.get(0), entry.get(1), entry.get(2)))
+                .collect(Collectors.toList()), delay);
+        applicationContext.addOption(String.format("--url=%s", url));
+    }
 }
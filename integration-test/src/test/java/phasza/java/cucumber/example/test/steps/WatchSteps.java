@@ -0,0 +1,44 @@
+package phasza.java.cucumber.example.test.steps;
+
+import io.cucumber.java.After;
+import io.cucumber.java.en.Given;
+import jakarta.inject.Singleton;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Container which implements the steps of a "watch" feature scenario.
+ */
+@Singleton
+@NoArgsConstructor
+public class WatchSteps {
+
+    /**
+     * Configuration property of the watch state file
+     */
+    private static final String STATE_FILE_PROPERTY = "mvn.watch.state-file";
+
+    /**
+     * Points the application to a watch state file in a temporary directory
+     * (the application context reads the system properties)
+     * @throws IOException if the directory cannot be created
+     */
+    @Given("an empty watch state")
+    public void anEmptyWatchState() throws IOException {
+        final var directory = Files.createTempDirectory("watch");
+        directory.toFile().deleteOnExit();
+        final var file = directory.resolve("watch.state");
+        file.toFile().deleteOnExit();
+        System.setProperty(STATE_FILE_PROPERTY, file.toString());
+    }
+
+    /**
+     * Removes the watch state property, so it does not leak into other scenarios
+     */
+    @After
+    public void afterScenario() {
+        System.clearProperty(STATE_FILE_PROPERTY);
+    }
+}
@@ -0,0 +1,42 @@
+@async
+Feature: Asynchronous queries
+  The library is able to query the maven repository without blocking the calling thread
+
+  Background:
+    Given an installation of the application
+    And a maven server is available
+    And the following artifacts are uploaded to the maven server
+      | com.pot.java | gigen    | 1.2.3.4   |
+      | com.google   | guice    | 1.0-alpha |
+      | iron.rtf     | captain  | 1.0       |
+      | no.men       | est-omen | 6.0       |
+
+  Scenario: Querying the maven repository asynchronously
+    When I query "com" asynchronously with 10 rows
+    Then the asynchronous query returns the following artifacts
+      | com.google:guice:1.0-alpha |
+      | com.pot.java:gigen:1.2.3.4 |
+    And the maven server received 1 request
+
+  Scenario: The pages of an asynchronous query are requested concurrently
+    Given the asynchronous queries are paged by 1 artifact
+    When I query "o" asynchronously with 3 rows
+    Then the asynchronous query returns the following artifacts
+      | com.google:guice:1.0-alpha |
+      | com.pot.java:gigen:1.2.3.4 |
+      | iron.rtf:captain:1.0       |
+    And the maven server received 3 requests
+
+  @negative
+  Scenario: An unreachable repository fails the asynchronous query
+    Given the maven server fails with status 404
+    When I query "com" asynchronously with 10 rows
+    Then the asynchronous query fails with "Repository cannot be reached!"
+    And the maven server received 1 request
+
+  @negative
+  Scenario: A server error of an asynchronous query is not retried
+    Given the maven server fails once with status 503
+    When I query "com" asynchronously with 10 rows
+    Then the asynchronous query fails with "Repository cannot be reached!"
+    And the maven server received 1 request
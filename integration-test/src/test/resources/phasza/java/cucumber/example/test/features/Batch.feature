@@ -0,0 +1,42 @@
+@batch
+Feature: Batch command
+  The application is able to search many patterns on a maven repository in a single run
+
+  Background:
+    Given an installation of the application
+    And a maven server is available
+    And the following artifacts are uploaded to the maven server
+      | com.pot.java | gigen    | 1.2.3.4   |
+      | com.google   | guice    | 1.0-alpha |
+      | iron.rtf     | captain  | 1.0       |
+      | no.men       | est-omen | 6.0       |
+
+  Scenario: Searching many patterns on the maven repository
+    Given a pattern file with the following lines
+      | guice |
+      | rtf   |
+      | com   |
+    When I run "mvn-query batch --parallelism=2"
+    Then the command returns with success
+    And the following lines are included in the standard output
+      | # guice                    |
+      | com.google:guice:1.0-alpha |
+      | # rtf                      |
+      | iron.rtf:captain:1.0       |
+      | # com                      |
+      | com.google:guice:1.0-alpha |
+      | com.pot.java:gigen:1.2.3.4 |
+
+  @negative
+  Scenario: No matching packages for one of the patterns
+    Given a pattern file with the following lines
+      | guice        |
+      | not_existing |
+    When I run "mvn-query batch"
+    Then the command returns with error
+    And the following lines are included in the standard output
+      | # guice                    |
+      | com.google:guice:1.0-alpha |
+      | # not_existing             |
+    And the following lines are included in the standard error
+      | not_existing: No matching artifacts could be found! |
@@ -0,0 +1,39 @@
+@daemon
+Feature: Daemon
+  The searches are forwarded to a running daemon, which keeps the application warm
+
+  Background:
+    Given an installation of the application
+    And a maven server is available
+    And the following artifacts are uploaded to the maven server
+      | com.pot.java | gigen    | 1.2.3.4   |
+      | com.google   | guice    | 1.0-alpha |
+      | iron.rtf     | captain  | 1.0       |
+      | no.men       | est-omen | 6.0       |
+    And a daemon is serving
+
+  Scenario: A search is executed by the daemon
+    When I run "mvn-query search com" through the daemon
+    Then the command is executed by the daemon
+    And the command returns with success
+    And the following lines are included in the standard output
+      | com.google:guice:1.0-alpha |
+      | com.pot.java:gigen:1.2.3.4 |
+
+  @negative
+  Scenario: The errors of the daemon are sent back
+    Given the maven server fails with status 404
+    When I run "mvn-query search com" through the daemon
+    Then the command is executed by the daemon
+    And the command returns with error
+    And the following lines are included in the standard error
+      | Repository cannot be reached! |
+
+  Scenario: A client with its own configuration executes the search locally
+    Given the client is configured with "mvn.http.connect-timeout" = "5s"
+    When I run "mvn-query search com" through the daemon
+    Then the command is executed locally
+    And the command returns with success
+    And the following lines are included in the standard output
+      | com.google:guice:1.0-alpha |
+      | com.pot.java:gigen:1.2.3.4 |
@@ -0,0 +1,42 @@
+@index
+Feature: Index command
+  The application is able to search a local index of the artifacts without the maven repository
+
+  Background:
+    Given an installation of the application
+    And a maven server is available
+    And the following artifacts are uploaded to the maven server
+      | com.pot.java | gigen    | 1.2.3.4   |
+      | com.google   | guice    | 1.0-alpha |
+      | iron.rtf     | captain  | 1.0       |
+      | no.men       | est-omen | 6.0       |
+    And an empty local artifact index
+
+  Scenario: Searching the local index
+    When I run "mvn-query index com"
+    And I run "mvn-query search com --offline"
+    Then the command returns with success
+    And the following lines are included in the standard output
+      | Indexed 2 artifacts into .* |
+      | com.google:guice:1.0-alpha  |
+      | com.pot.java:gigen:1.2.3.4  |
+
+  Scenario: Searching the local index in memory
+    Given the local artifact index is searched in memory
+    When I run "mvn-query index com men"
+    And I run "mvn-query search om --offline"
+    And I run "mvn-query search omen --offline"
+    Then the command returns with success
+    And the following lines are included in the standard output
+      | Indexed 3 artifacts into .* |
+      | com.google:guice:1.0-alpha  |
+      | com.pot.java:gigen:1.2.3.4  |
+      | no.men:est-omen:6.0         |
+      | no.men:est-omen:6.0         |
+
+  @negative
+  Scenario: No local index
+    When I run "mvn-query search com --offline"
+    Then the command returns with error
+    And the following lines are included in the standard error
+      | Index cannot be read from .*, run the index command first! |
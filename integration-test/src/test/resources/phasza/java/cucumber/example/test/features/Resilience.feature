@@ -0,0 +1,66 @@
+@resilience
+Feature: Resilient requests
+  The application retries the temporary failures of the maven repository and stops calling a failing repository
+
+  Background:
+    Given an installation of the application
+    And a maven server is available
+    And the following artifacts are uploaded to the maven server
+      | com.pot.java | gigen    | 1.2.3.4   |
+      | com.google   | guice    | 1.0-alpha |
+      | iron.rtf     | captain  | 1.0       |
+      | no.men       | est-omen | 6.0       |
+
+  Scenario: A server error is retried
+    Given the maven server fails once with status 503
+    When I run "mvn-query search com"
+    Then the command returns with success
+    And the following lines are included in the standard output
+      | com.google:guice:1.0-alpha |
+      | com.pot.java:gigen:1.2.3.4 |
+    And the maven server received 2 requests
+
+  @negative
+  Scenario: A missing page is not retried
+    Given the maven server fails with status 404
+    When I run "mvn-query search com"
+    Then the command returns with error
+    And the following lines are included in the standard error
+      | Repository cannot be reached! |
+    And the maven server received 1 request
+
+  @negative
+  Scenario: The circuit breaker stops calling a failing repository
+    Given the maven server fails with status 503
+    And a pattern file with the following lines
+      | com   |
+      | guice |
+      | rtf   |
+      | men   |
+    When I run "mvn-query batch --parallelism=1"
+    Then the command returns with error
+    And the following lines are included in the standard error
+      | com: Repository cannot be reached!   |
+      | guice: Repository cannot be reached! |
+      | rtf: Repository cannot be reached!   |
+      | men: Repository cannot be reached!   |
+    And the maven server received 5 requests
+
+  Scenario: A throttled request waits for the Retry-After of the server
+    Given the maven server throttles once with a Retry-After of 1 second
+    When I run "mvn-query search com"
+    Then the command returns with success
+    And the following lines are included in the standard output
+      | com.google:guice:1.0-alpha |
+      | com.pot.java:gigen:1.2.3.4 |
+    And the maven server received 2 requests
+    And the maven server received the requests at least 1 second apart
+
+  @negative
+  Scenario: A request is not retried after a too long Retry-After
+    Given the maven server throttles once with a Retry-After of 120 seconds
+    When I run "mvn-query search com"
+    Then the command returns with error
+    And the following lines are included in the standard error
+      | Repository cannot be reached! |
+    And the maven server received 1 request
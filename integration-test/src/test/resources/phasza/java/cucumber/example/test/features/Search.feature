@@ -24,6 +24,122 @@ Feature: Search command
     And the following lines are included in the standard output
       | com.google:guice:1.0-alpha |
 
+  Scenario: Searching packages with newline delimited JSON output
+    When I run "mvn-query search com --output=ndjson"
+    Then the command returns with success
+    And the following lines are included in the standard output
+      | {"id":"com.google:guice","groupId":"com.google","artifactId":"guice","latestVersion":"1.0-alpha","versionCount":1}   |
+      | {"id":"com.pot.java:gigen","groupId":"com.pot.java","artifactId":"gigen","latestVersion":"1.2.3.4","versionCount":1} |
+
+  Scenario: Searching packages with CSV output
+    When I run "mvn-query search com --output=csv"
+    Then the command returns with success
+    And the following lines are included in the standard output
+      | id,groupId,artifactId,latestVersion,versionCount |
+      | com.google:guice,com.google,guice,1.0-alpha,1    |
+      | com.pot.java:gigen,com.pot.java,gigen,1.2.3.4,1  |
+
+  Scenario: Searching several repositories with JSON output
+    Given a mirror maven server with the following artifacts
+      | com.google | guice | 1.0 |
+      | com.mirror | only  | 2.0 |
+    When I run "mvn-query search com --output=json"
+    Then the command returns with success
+    And the following lines are included in the standard output
+      | [{"id":"com.google:guice","groupId":"com.google","artifactId":"guice","latestVersion":"1.0","versionCount":1},{"id":"com.mirror:only","groupId":"com.mirror","artifactId":"only","latestVersion":"2.0","versionCount":1},{"id":"com.pot.java:gigen","groupId":"com.pot.java","artifactId":"gigen","latestVersion":"1.2.3.4","versionCount":1}] |
+
+  Scenario: Searching several repositories with CSV output
+    Given a mirror maven server with the following artifacts
+      | com.google | guice | 1.0 |
+      | com.mirror | only  | 2.0 |
+    When I run "mvn-query search com --output=csv"
+    Then the command returns with success
+    And the following lines are included in the standard output
+      | id,groupId,artifactId,latestVersion,versionCount |
+      | com.google:guice,com.google,guice,1.0,1          |
+      | com.mirror:only,com.mirror,only,2.0,1            |
+      | com.pot.java:gigen,com.pot.java,gigen,1.2.3.4,1  |
+
+  Scenario: Searching several repositories keeps the newest version of an artifact
+    Given a mirror maven server with the following artifacts
+      | com.google   | guice | 1.0-sp        |
+      | com.pot.java | gigen | 1.2.3.4-jboss |
+      | com.mirror   | only  | 2.0           |
+    When I run "mvn-query search com"
+    Then the command returns with success
+    And the following lines are included in the standard output
+      | com.google:guice:1.0-sp          |
+      | com.mirror:only:2.0              |
+      | com.pot.java:gigen:1.2.3.4-jboss |
+
+  Scenario: Searching several repositories uses the first one to answer
+    Given a mirror maven server answering after 3000 ms with the following artifacts
+      | com.google | guice | 1.0 |
+      | com.mirror | only  | 2.0 |
+    When I run "mvn-query search com --first-wins"
+    Then the command returns with success
+    And the following lines are included in the standard output
+      | com.google:guice:1.0-alpha |
+      | com.pot.java:gigen:1.2.3.4 |
+
+  Scenario: Printing the time spent in the phases of the query
+    When I run "mvn-query search com --timings"
+    Then the command returns with success
+    And the following lines are included in the standard error
+      | Timings:                       |
+      | >> phases >>                   |
+      | [ ]+elapsed +[0-9.,]+ ms       |
+
+  Scenario: A cached search is answered without the maven repository
+    Given an empty response cache
+    When I run "mvn-query search com"
+    And the maven server is down
+    And I run "mvn-query search com"
+    Then the command returns with success
+    And the following lines are included in the standard output
+      | com.google:guice:1.0-alpha |
+      | com.pot.java:gigen:1.2.3.4 |
+      | com.google:guice:1.0-alpha |
+      | com.pot.java:gigen:1.2.3.4 |
+    And the maven server received 1 request
+
+  Scenario: An expired cached search is revalidated with the maven repository
+    Given an empty response cache with a time to live of "0s"
+    And the maven server tags its answers with the ETag "v1"
+    When I run "mvn-query search com"
+    And I run "mvn-query search com"
+    Then the command returns with success
+    And the following lines are included in the standard output
+      | com.google:guice:1.0-alpha |
+      | com.pot.java:gigen:1.2.3.4 |
+      | com.google:guice:1.0-alpha |
+      | com.pot.java:gigen:1.2.3.4 |
+    And the maven server received 2 requests
+    And the maven server answered 1 request with Not Modified
+
+  Scenario: The least recently used searches are evicted from the cache
+    Given an empty response cache
+    When I run "mvn-query search captain"
+    And I run "mvn-query search gigen"
+    And the response cache is limited to its current size
+    And I run "mvn-query search captain"
+    And I run "mvn-query search omen"
+    And the maven server is down
+    And I run "mvn-query search captain"
+    And I run "mvn-query search omen"
+    And I run "mvn-query search gigen"
+    Then the command returns with error
+    And the response cache holds 2 entries
+    And the following lines are included in the standard output
+      | iron.rtf:captain:1.0       |
+      | com.pot.java:gigen:1.2.3.4 |
+      | iron.rtf:captain:1.0       |
+      | no.men:est-omen:6.0        |
+      | iron.rtf:captain:1.0       |
+      | no.men:est-omen:6.0        |
+    And the following lines are included in the standard error
+      | Repository cannot be reached! |
+
   @negative
   Scenario: No matching packages for search term
     When I run "mvn-query search not_existing"
@@ -31,10 +147,33 @@ Feature: Search command
     And the following lines are included in the standard error
       | No matching artifacts could be found! |
 
+  @negative
+  Scenario: A known query without matches fails without the maven repository
+    Given an empty negative cache
+    When I run "mvn-query search not_existing"
+    And the maven server is down
+    And I run "mvn-query search not_existing"
+    Then the command returns with error
+    And the following lines are included in the standard error
+      | No matching artifacts could be found! |
+      | No matching artifacts could be found! |
+
   @negative
   Scenario: Cannot reach the maven repository
     Given the maven server is down
     When I run "mvn-query search com"
     Then the command returns with error
     And the following lines are included in the standard error
-      | Repository cannot be reached! |
\ No newline at end of file
+      | Repository cannot be reached! |
+
+  @negative
+  Scenario: The streamed artifacts are kept when a later page fails
+    Given the searches are paged by 1 artifact
+    And the maven server fails with status 400 after the first page
+    When I run "mvn-query search com --output=csv"
+    Then the command returns with error
+    And the following lines are included in the standard output
+      | id,groupId,artifactId,latestVersion,versionCount |
+      | com.google:guice,com.google,guice,1.0-alpha,1    |
+    And the following lines are included in the standard error
+      | Repository cannot be reached! |
@@ -0,0 +1,61 @@
+@watch
+Feature: Watch command
+  The application is able to report the changes of the artifacts matching the patterns since the last poll
+
+  Background:
+    Given an installation of the application
+    And a maven server is available
+    And the following artifacts are uploaded to the maven server
+      | com.pot.java | gigen    | 1.2.3.4   |
+      | com.google   | guice    | 1.0-alpha |
+      | iron.rtf     | captain  | 1.0       |
+      | no.men       | est-omen | 6.0       |
+    And an empty watch state
+
+  Scenario: First poll of a pattern
+    When I run "mvn-query watch com"
+    Then the command returns with success
+    And the following lines are included in the standard output
+      | + com.google:guice:1.0-alpha |
+      | + com.pot.java:gigen:1.2.3.4 |
+
+  Scenario: Only the changes are printed by the next poll
+    When I run "mvn-query watch com"
+    And the following artifacts are uploaded to the maven server
+      | com.google | guice | 1.0   |
+      | com.new    | fresh | 0.1.0 |
+    And I run "mvn-query watch com"
+    Then the command returns with success
+    And the following lines are included in the standard output
+      | + com.google:guice:1.0-alpha        |
+      | + com.pot.java:gigen:1.2.3.4        |
+      | ^ com.google:guice:1.0-alpha -> 1.0 |
+      | + com.new:fresh:0.1.0               |
+
+  Scenario: A version with an unknown qualifier is an upgrade
+    When I run "mvn-query watch guice"
+    And the following artifacts are uploaded to the maven server
+      | com.google | guice | 1.0-jboss |
+    And I run "mvn-query watch guice"
+    Then the command returns with success
+    And the following lines are included in the standard output
+      | + com.google:guice:1.0-alpha              |
+      | ^ com.google:guice:1.0-alpha -> 1.0-jboss |
+
+  Scenario: A pattern which has not changed is not downloaded again
+    Given the maven server tags its answers with the ETag "v1"
+    When I run "mvn-query watch com"
+    And I run "mvn-query watch com"
+    Then the command returns with success
+    And the following lines are included in the standard output
+      | + com.google:guice:1.0-alpha |
+      | + com.pot.java:gigen:1.2.3.4 |
+    And the maven server received 2 requests
+    And the maven server answered 1 request with Not Modified
+
+  @negative
+  Scenario: No patterns to watch
+    When I run "mvn-query watch"
+    Then the command returns with error
+    And the following lines are included in the standard error
+      | No patterns to watch! |
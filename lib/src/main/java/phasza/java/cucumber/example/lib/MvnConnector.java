@@ -1,21 +1,53 @@
 package phasza.java.cucumber.example.lib;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
 import lombok.AllArgsConstructor;
-import org.apache.http.client.methods.HttpGet;
-import org.apache.http.impl.client.HttpClients;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
 import org.slf4j.Logger;
+import phasza.java.cucumber.example.lib.cache.NegativeCache;
+import phasza.java.cucumber.example.lib.cache.ResponseCache;
+import phasza.java.cucumber.example.lib.events.ParseEvent;
+import phasza.java.cucumber.example.lib.events.QueryEvent;
+import phasza.java.cucumber.example.lib.events.SortEvent;
+import phasza.java.cucumber.example.lib.http.ContentCompression;
+import phasza.java.cucumber.example.lib.http.HttpStatusException;
+import phasza.java.cucumber.example.lib.http.MvnHttpConfiguration;
+import phasza.java.cucumber.example.lib.http.ResilientExecutor;
+import phasza.java.cucumber.example.lib.http.SingleFlight;
+import phasza.java.cucumber.example.lib.metrics.MetricsRegistry;
+import phasza.java.cucumber.example.lib.metrics.QueryPhase;
+import phasza.java.cucumber.example.lib.metrics.TimedInputStream;
+import phasza.java.cucumber.example.lib.request.FieldListProperty;
 import phasza.java.cucumber.example.lib.request.MvnHttpUtils;
 import phasza.java.cucumber.example.lib.request.QueryProperty;
 import phasza.java.cucumber.example.lib.request.RowsProperty;
+import phasza.java.cucumber.example.lib.request.StartProperty;
 import phasza.java.cucumber.example.lib.request.WTProperty;
-import phasza.java.cucumber.example.lib.response.MvnResponse;
+import phasza.java.cucumber.example.lib.response.DocsEntry;
+import phasza.java.cucumber.example.lib.response.MvnResponseParser;
 import phasza.java.cucumber.example.lib.response.Response;
+import phasza.java.cucumber.example.lib.response.VersionComparator;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.util.ArrayList;
-import java.util.Optional;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -27,13 +59,60 @@ import java.util.stream.Collectors;
 public final class MvnConnector {
 
     /**
-     * Injected object mapper for mapping JSON responses
+     * Order of the displayed artifacts: by ABC of their displayed format (see format),
+     * compared without creating the formatted strings
      */
-    private final ObjectMapper objectMapper;
+    public static final Comparator<DocsEntry> DISPLAY_ORDER = MvnConnector::compareDisplayed;
+
+    /**
+     * Injected response cache, which executes the requests on the pooled HTTP client (see MvnHttpClientFactory)
+     */
+    private final ResponseCache responseCache;
+    /**
+     * Injected cache of the queries without matches
+     */
+    private final NegativeCache negativeCache;
+    /**
+     * Injected executor of the retries, hedged requests and circuit breakers
+     */
+    private final ResilientExecutor resilientExecutor;
+    /**
+     * Injected non-blocking HTTP client for the asynchronous queries (see MvnHttpClientFactory),
+     * created only when an asynchronous query runs
+     */
+    private final Provider<HttpClient> asyncHttpClient;
+    /**
+     * Injected HTTP configuration
+     */
+    private final MvnHttpConfiguration httpConfiguration;
+    /**
+     * Injected negotiation and decompression of compressed responses
+     */
+    private final ContentCompression contentCompression;
+    /**
+     * Injected streaming parser for the JSON responses
+     */
+    private final MvnResponseParser responseParser;
+    /**
+     * Injected executor for the concurrent page requests
+     */
+    private final QueryExecutor queryExecutor;
+    /**
+     * Injected query configuration
+     */
+    private final MvnQueryConfiguration configuration;
+    /**
+     * Injected latencies of the query phases
+     */
+    private final MetricsRegistry metrics;
     /**
      * Injected logger
      */
     private final Logger logger;
+    /**
+     * Pages being requested, by request URL, so the concurrent identical queries share a single request
+     */
+    private final SingleFlight<String, Response> inFlight = new SingleFlight<>();
 
     /**
      * Runs a select query on the maven server and lists packages.
@@ -47,28 +126,435 @@ public final class MvnConnector {
      * @param rows Limits the number of results to display. (The default on the server side is 10)
      */
     public void runQuery(final String repositoryURL, final String pattern, final int rows) {
-        try (var client = HttpClients.createDefault()) {
-            //Create a request for the selection with the given query properties
-            final var request = new HttpGet(MvnHttpUtils.select(
-                    repositoryURL, new QueryProperty(pattern), new RowsProperty(rows), WTProperty.json()));
-            //Execute the HTTP request and translate the response into the MvnResponse object
-            final var response = client.execute(
-                    request,
-                    httpResponse -> objectMapper.readValue(httpResponse.getEntity().getContent(), MvnResponse.class));
-            //Map the response object to the format to display and sort by ABC
-            final var result = Optional.ofNullable(response.getResponse()).map(Response::getDocs)
-                    .orElse(new ArrayList<>())
-                    .stream()
-                    .map(i -> String.format("%s:%s", i.getId(), i.getLatestVersion()))
-                    .sorted()
-                    .collect(Collectors.toList());
-
-            if (result.isEmpty()) {
-                throw new MvnQueryException("No matching artifacts could be found!");
+        search(repositoryURL, pattern, rows).forEach(logger::info);
+    }
+
+    /**
+     * Runs a select query on the maven server and returns the packages in the format to display
+     * ([groupID]:[artifactID]:[latestVersion]), sorted by ABC.
+     * @param repositoryURL URL of the maven server to connect (see runQuery)
+     * @param pattern Pattern for finding packages (see runQuery)
+     * @param rows Limits the number of results
+     * @return Sorted list of matching packages, never empty
+     * @throws MvnQueryException if the server cannot be reached or there are no matching packages
+     */
+    public List<String> search(final String repositoryURL, final String pattern, final int rows) {
+        return search(List.of(repositoryURL), pattern, rows, false);
+    }
+
+    /**
+     * Runs a select query on every given maven server and returns the packages in the format to display
+     * ([groupID]:[artifactID]:[latestVersion]), sorted by ABC (see queryAll).
+     * @param repositoryURLs URLs of the maven servers to connect
+     * @param pattern Pattern for finding packages (see runQuery)
+     * @param rows Limits the number of results
+     * @param firstWins Only the first repository to answer is used
+     * @return Sorted list of matching packages, never empty
+     * @throws MvnQueryException if no server can be reached or there are no matching packages
+     */
+    public List<String> search(
+            final List<String> repositoryURLs,
+            final String pattern,
+            final int rows,
+            final boolean firstWins) {
+        final var entries = searchEntries(repositoryURLs, pattern, rows, firstWins, FieldListProperty.COORDINATES);
+        final var result = new ArrayList<String>(entries.size());
+        entries.forEach(entry -> result.add(format(entry)));
+        return result;
+    }
+
+    /**
+     * Runs a select query on every given maven server and returns the matching artifacts
+     * in the order of their displayed format (see DISPLAY_ORDER and queryAll).
+     * @param repositoryURLs URLs of the maven servers to connect
+     * @param pattern Pattern for finding packages (see runQuery)
+     * @param rows Limits the number of results
+     * @param firstWins Only the first repository to answer is used
+     * @param fields Fields of the artifacts to request, the rest of the DocsEntry fields are left empty
+     * @return Sorted list of matching artifacts, never empty
+     * @throws MvnQueryException if no server can be reached or there are no matching packages
+     */
+    public List<DocsEntry> searchEntries(
+            final List<String> repositoryURLs,
+            final String pattern,
+            final int rows,
+            final boolean firstWins,
+            final FieldListProperty fields) {
+        final List<DocsEntry> result;
+        if (repositoryURLs.size() == 1) {
+            result = new ArrayList<>();
+            query(repositoryURLs.get(0), pattern, rows, fields, result::add);
+        } else {
+            result = new ArrayList<>(queryAll(repositoryURLs, pattern, rows, firstWins, fields));
+        }
+
+        if (result.isEmpty()) {
+            throw new MvnQueryException("No matching artifacts could be found!");
+        }
+        //Sort by ABC in place
+        final var sortEvent = new SortEvent();
+        sortEvent.begin();
+        final long sortStart = System.nanoTime();
+        result.sort(DISPLAY_ORDER);
+        metrics.record(QueryPhase.SORT, System.nanoTime() - sortStart);
+        sortEvent.end();
+        if (sortEvent.shouldCommit()) {
+            sortEvent.setDocs(result.size());
+            sortEvent.commit();
+        }
+        return result.size() > rows ? result.subList(0, Math.max(0, rows)) : result;
+    }
+
+    /**
+     * Runs a select query on every given maven server (mirror) in parallel.
+     * - by default every repository is waited for, the results are merged and de-duplicated by id,
+     *   keeping the entry with the highest latestVersion (see VersionComparator).
+     *   Repositories which cannot be reached are skipped, as long as at least one answers.
+     * - with firstWins, the result of the first repository which answers with a match is returned
+     *   and the rest of the queries are cancelled, so a slow mirror does not slow down the lookup
+     * @param repositoryURLs URLs of the maven servers to connect
+     * @param pattern Pattern for finding packages (see runQuery)
+     * @param rows Limits the number of results per repository
+     * @param firstWins Only the first repository to answer is used
+     * @param fields Fields of the artifacts to request, the rest of the DocsEntry fields are left empty
+     * @return Matching artifacts, possibly empty
+     * @throws MvnQueryException if none of the servers can be reached
+     */
+    public Collection<DocsEntry> queryAll(
+            final List<String> repositoryURLs,
+            final String pattern,
+            final int rows,
+            final boolean firstWins,
+            final FieldListProperty fields) {
+        final var completion = new ExecutorCompletionService<List<DocsEntry>>(queryExecutor.getQueryExecutorService());
+        final var queries = new ArrayList<Future<List<DocsEntry>>>(repositoryURLs.size());
+        for (final var repositoryURL : repositoryURLs) {
+            queries.add(completion.submit(() -> {
+                final var docs = new ArrayList<DocsEntry>();
+                query(repositoryURL, pattern, rows, fields, docs::add);
+                return docs;
+            }));
+        }
+        final Map<String, DocsEntry> merged = new LinkedHashMap<>();
+        MvnQueryException failure = null;
+        boolean answered = false;
+        try {
+            for (int i = 0; i < queries.size(); i++) {
+                try {
+                    final var docs = completion.take().get();
+                    answered = true;
+                    docs.forEach(entry -> merged.merge(entry.getId(), entry, MvnConnector::newer));
+                    if (firstWins && !docs.isEmpty()) {
+                        break;
+                    }
+                } catch (ExecutionException e) {
+                    final var cause = e.getCause();
+                    failure = cause instanceof MvnQueryException
+                            ? (MvnQueryException) cause
+                            : new MvnQueryException("Repository cannot be reached!", cause);
+                    logger.debug("A repository failed: {}", failure.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MvnQueryException("Query has been interrupted!", e);
+        } finally {
+            queries.forEach(query -> query.cancel(true));
+        }
+        if (!answered && failure != null) {
+            throw failure;
+        }
+        return merged.values();
+    }
+
+    /**
+     * Runs a select query on the maven server and streams the matching artifacts in the order of the server.
+     * Queries with more rows than the configured page size are split into pages (see StartProperty).
+     * The first page is requested alone, its [numFound] decides how many more pages are needed,
+     * then the rest of the pages are requested concurrently and handed to the consumer in order.
+     * Every page is parsed completely before it is handed over, so a retried or hedged request
+     * (see ResilientExecutor) never delivers an entry twice.
+     * A query which recently had no matches (see NegativeCache) delivers nothing without contacting the server.
+     * @param repositoryURL URL of the maven server to connect (e.g https://search.maven.org)
+     * @param pattern Pattern for finding packages (see runQuery)
+     * @param rows Limits the number of results
+     * @param fields Fields of the artifacts to request, the rest of the DocsEntry fields are left empty
+     * @param consumer Receives the matching artifacts, always on the calling thread
+     */
+    public void query(
+            final String repositoryURL,
+            final String pattern,
+            final int rows,
+            final FieldListProperty fields,
+            final Consumer<DocsEntry> consumer) {
+        final var event = new QueryEvent();
+        event.begin();
+        final int[] docs = new int[1];
+        final Consumer<DocsEntry> counting = entry -> {
+            docs[0]++;
+            consumer.accept(entry);
+        };
+        boolean failed = true;
+        final int pageSize = Math.max(1, configuration.getPageSize());
+        //The pattern is encoded once, and reused for every page
+        final var query = new QueryProperty(pattern);
+        try {
+            if (negativeCache.isKnownMiss(repositoryURL, pattern)) {
+                logger.debug("Known query without matches: {} at {}", pattern, repositoryURL);
+                failed = false;
+                return;
+            }
+            final var firstPage = fetchPage(repositoryURL, query, 0, Math.min(rows, pageSize), fields);
+            if (firstPage.getNumFound() == 0) {
+                negativeCache.recordMiss(repositoryURL, pattern);
+            }
+            firstPage.getDocs().forEach(counting);
+            final int limit = Math.min(rows, firstPage.getNumFound());
+            if (limit > pageSize) {
+                fetchPages(repositoryURL, query, pageSize, limit, fields, counting);
             }
-            result.forEach(logger::info);
+            failed = false;
         } catch (IOException e) {
             throw new MvnQueryException("Repository cannot be reached!", e);
+        } finally {
+            commit(event, repositoryURL, pattern, rows, docs[0], failed);
+        }
+    }
+
+    /**
+     * Runs a select query on the maven server without blocking the calling thread.
+     * The requests are sent on the non-blocking HTTP client, so many queries can be in flight
+     * without a thread per request. Large queries are split into pages the same way as in query(...),
+     * the pages after the first are requested concurrently.
+     * The asynchronous queries do not use the (blocking) on-disk response cache, but a query which recently
+     * had no matches (see NegativeCache) completes without a request.
+     * @param repositoryURL URL of the maven server to connect (e.g https://search.maven.org)
+     * @param pattern Pattern for finding packages (see runQuery)
+     * @param rows Limits the number of results
+     * @return Future of the matching artifacts in the order of the server, which completes exceptionally
+     *         with MvnQueryException if the server cannot be reached
+     */
+    public CompletableFuture<List<DocsEntry>> queryAsync(
+            final String repositoryURL,
+            final String pattern,
+            final int rows) {
+        final var event = new QueryEvent();
+        event.begin();
+        if (negativeCache.isKnownMiss(repositoryURL, pattern)) {
+            commit(event, repositoryURL, pattern, rows, 0, false);
+            return CompletableFuture.completedFuture(List.of());
+        }
+        final int pageSize = Math.max(1, configuration.getPageSize());
+        final var query = new QueryProperty(pattern);
+        return fetchPageAsync(repositoryURL, query, 0, Math.min(rows, pageSize)).thenCompose(firstPage -> {
+            if (firstPage.getNumFound() == 0) {
+                negativeCache.recordMiss(repositoryURL, pattern);
+            }
+            final int limit = Math.min(rows, firstPage.getNumFound());
+            final List<CompletableFuture<Response>> pages = new ArrayList<>();
+            pages.add(CompletableFuture.completedFuture(firstPage));
+            for (int start = pageSize; start < limit; start += pageSize) {
+                pages.add(fetchPageAsync(repositoryURL, query, start, Math.min(pageSize, limit - start)));
+            }
+            return CompletableFuture.allOf(pages.toArray(new CompletableFuture<?>[0]))
+                    .thenApply(ignored -> pages.stream()
+                            .flatMap(page -> page.join().getDocs().stream())
+                            .collect(Collectors.toList()));
+        }).whenComplete((docs, error) ->
+                commit(event, repositoryURL, pattern, rows, docs == null ? 0 : docs.size(), error != null));
+    }
+
+    /**
+     * Commits the flight recorder event of a query, if it is recorded
+     */
+    private static void commit(
+            final QueryEvent event,
+            final String repositoryURL,
+            final String pattern,
+            final int rows,
+            final int docs,
+            final boolean failed) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.setRepositoryURL(repositoryURL);
+            event.setPattern(pattern);
+            event.setRows(rows);
+            event.setDocs(docs);
+            event.setFailed(failed);
+            event.commit();
+        }
+    }
+
+    private CompletableFuture<Response> fetchPageAsync(
+            final String repositoryURL,
+            final QueryProperty query,
+            final int start,
+            final int rows) {
+        final var url = selectURL(repositoryURL, query, start, rows, FieldListProperty.DOCS_ENTRY);
+        return inFlight.executeAsync(url, () -> {
+            final var requestBuilder = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(httpConfiguration.getSocketTimeout())
+                    .GET();
+            if (contentCompression.isEnabled()) {
+                requestBuilder.header(HttpHeaders.ACCEPT_ENCODING, ContentCompression.ACCEPT_ENCODING);
+            }
+            final var request = requestBuilder.build();
+            return resilientExecutor.executeAsync(repositoryURL, () -> asyncHttpClient.get()
+                            .sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                            .thenApply(response -> {
+                                if (response.statusCode() != HttpStatus.SC_OK) {
+                                    throw new CompletionException(new HttpStatusException(response.statusCode(),
+                                            response.headers().firstValue(HttpHeaders.RETRY_AFTER).orElse(null)));
+                                }
+                                return response;
+                            }))
+                    .handle((response, error) -> {
+                        try {
+                            if (error != null) {
+                                throw toIOException(error instanceof CompletionException ? error.getCause() : error);
+                            }
+                            return readPage(contentCompression.decode(
+                                    url,
+                                    response.body(),
+                                    response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)), rows);
+                        } catch (IOException e) {
+                            throw new CompletionException(new MvnQueryException("Repository cannot be reached!", e));
+                        }
+                    });
+        });
+    }
+
+    private void fetchPages(
+            final String repositoryURL,
+            final QueryProperty query,
+            final int pageSize,
+            final int limit,
+            final FieldListProperty fields,
+            final Consumer<DocsEntry> consumer) throws IOException {
+        final List<Future<Response>> pages = new ArrayList<>();
+        for (int start = pageSize; start < limit; start += pageSize) {
+            final int pageStart = start;
+            final int pageRows = Math.min(pageSize, limit - start);
+            pages.add(queryExecutor.submit(() -> fetchPage(repositoryURL, query, pageStart, pageRows, fields)));
+        }
+        try {
+            for (final var page : pages) {
+                page.get().getDocs().forEach(consumer);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MvnQueryException("Query has been interrupted!", e);
+        } catch (ExecutionException e) {
+            throw toIOException(e.getCause());
+        } finally {
+            pages.forEach(page -> page.cancel(true));
+        }
+    }
+
+    private Response fetchPage(
+            final String repositoryURL,
+            final QueryProperty query,
+            final int start,
+            final int rows,
+            final FieldListProperty fields) throws IOException {
+        final var url = selectURL(repositoryURL, query, start, rows, fields);
+        //Execute the HTTP request (or read it from the cache) with retries and parse the docs of the page,
+        //or wait for the identical request in flight
+        return inFlight.execute(url, () -> resilientExecutor.execute(
+                repositoryURL, () -> responseCache.fetch(url, body -> readPage(body, rows))));
+    }
+
+    /**
+     * Parses a page, the time of the parser is recorded apart from the time of waiting for the body
+     */
+    private Response readPage(final InputStream body, final int rows) throws IOException {
+        final var event = new ParseEvent();
+        event.begin();
+        final long start = System.nanoTime();
+        final var timedBody = new TimedInputStream(body);
+        final var docs = new ArrayList<DocsEntry>(rows);
+        final int numFound = responseParser.parse(timedBody, docs::add);
+        metrics.record(QueryPhase.TRANSFER, timedBody.getNanos());
+        metrics.record(QueryPhase.PARSE, System.nanoTime() - start - timedBody.getNanos());
+        event.end();
+        if (event.shouldCommit()) {
+            event.setDocs(docs.size());
+            event.setBytes(timedBody.getBytes());
+            event.setTransferNanos(timedBody.getNanos());
+            event.commit();
+        }
+        return new Response(numFound, docs);
+    }
+
+    /**
+     * @return Request URL for the selection with the given query properties
+     */
+    private static String selectURL(
+            final String repositoryURL,
+            final QueryProperty query,
+            final int start,
+            final int rows,
+            final FieldListProperty fields) {
+        return MvnHttpUtils.select(
+                repositoryURL,
+                query,
+                new StartProperty(start),
+                new RowsProperty(rows),
+                fields,
+                WTProperty.json());
+    }
+
+    /**
+     * @param entry Matching artifact
+     * @return The artifact in the format to display ([groupID]:[artifactID]:[latestVersion])
+     */
+    public static String format(final DocsEntry entry) {
+        return String.format("%s:%s", entry.getId(), entry.getLatestVersion());
+    }
+
+    /**
+     * Compares two artifacts the same way as their formatted strings would be compared
+     */
+    private static int compareDisplayed(final DocsEntry first, final DocsEntry second) {
+        final var firstId = String.valueOf(first.getId());
+        final var firstVersion = String.valueOf(first.getLatestVersion());
+        final var secondId = String.valueOf(second.getId());
+        final var secondVersion = String.valueOf(second.getLatestVersion());
+        final int firstLength = firstId.length() + 1 + firstVersion.length();
+        final int secondLength = secondId.length() + 1 + secondVersion.length();
+        for (int i = 0; i < Math.min(firstLength, secondLength); i++) {
+            final char firstChar = displayedChar(firstId, firstVersion, i);
+            final char secondChar = displayedChar(secondId, secondVersion, i);
+            if (firstChar != secondChar) {
+                return firstChar - secondChar;
+            }
+        }
+        return firstLength - secondLength;
+    }
+
+    /**
+     * @return The character at the index of the formatted "[id]:[version]" string
+     */
+    private static char displayedChar(final String id, final String version, final int index) {
+        if (index < id.length()) {
+            return id.charAt(index);
+        }
+        return index == id.length() ? ':' : version.charAt(index - id.length() - 1);
+    }
+
+    private static DocsEntry newer(final DocsEntry first, final DocsEntry second) {
+        return VersionComparator.INSTANCE.compare(first.getLatestVersion(), second.getLatestVersion()) >= 0
+                ? first
+                : second;
+    }
+
+    private static IOException toIOException(final Throwable cause) {
+        if (cause instanceof MvnQueryException) {
+            throw (MvnQueryException) cause;
+        }
+        if (cause instanceof IOException) {
+            return (IOException) cause;
         }
+        return new IOException(cause);
     }
 }
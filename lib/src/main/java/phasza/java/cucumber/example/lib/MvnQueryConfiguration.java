@@ -0,0 +1,27 @@
+package phasza.java.cucumber.example.lib;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Configuration of how queries are executed against the maven server.
+ * Every value can be overridden through the micronaut configuration under the "mvn.query" prefix.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties("mvn.query")
+public class MvnQueryConfiguration {
+
+    /**
+     * Maximum number of rows requested in a single HTTP request.
+     * Larger queries are split into pages of this size.
+     */
+    private int pageSize = 200;
+    /**
+     * Maximum number of page requests which are in flight at the same time
+     */
+    private int parallelism = 4;
+}
@@ -0,0 +1,88 @@
+package phasza.java.cucumber.example.lib;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes the concurrent HTTP requests of the queries (e.g. the pages of a large query).
+ * The number of page requests in flight is bounded by the configured parallelism.
+ * Whole queries (e.g. one per repository of a fan-out search) run on a separate, unbounded pool,
+ * because they wait for their own page requests and must not starve the page pool.
+ * Threads are daemons and are only created on demand, so small queries do not pay for them.
+ */
+@Singleton
+public final class QueryExecutor implements AutoCloseable {
+
+    /**
+     * Thread pool of the page requests
+     */
+    private final ExecutorService executorService;
+    /**
+     * Thread pool of the whole queries
+     */
+    private final ExecutorService queryExecutorService;
+
+    /**
+     * New executor
+     * @param configuration Query configuration, which defines the parallelism
+     */
+    public QueryExecutor(final MvnQueryConfiguration configuration) {
+        this.executorService = Executors.newFixedThreadPool( //NOPMD
+                Math.max(1, configuration.getParallelism()),
+                daemonThreads("mvn-page-"));
+        this.queryExecutorService = Executors.newCachedThreadPool(daemonThreads("mvn-query-")); //NOPMD
+    }
+
+    /**
+     * Submits a page request to the executor
+     * @param task Task to execute
+     * @param <T> Type of the result
+     * @return Future result of the task
+     */
+    public <T> Future<T> submit(final Callable<T> task) {
+        return executorService.submit(task);
+    }
+
+    /**
+     * Submits a whole query to the executor
+     * @param task Task to execute, it may submit page requests itself
+     * @param <T> Type of the result
+     * @return Future result of the task
+     */
+    public <T> Future<T> submitQuery(final Callable<T> task) {
+        return queryExecutorService.submit(task);
+    }
+
+    /**
+     * @return The executor of the whole queries
+     */
+    ExecutorService getQueryExecutorService() {
+        return queryExecutorService;
+    }
+
+    /**
+     * Stops the running tasks when the application context is closed
+     */
+    @PreDestroy
+    @Override
+    public void close() {
+        executorService.shutdownNow();
+        queryExecutorService.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads(final String prefix) {
+        final var counter = new AtomicInteger();
+        return runnable -> {
+            final var thread = new Thread(runnable, prefix + counter.incrementAndGet()); //NOPMD
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
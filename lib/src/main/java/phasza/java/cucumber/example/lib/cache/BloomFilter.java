@@ -0,0 +1,147 @@
+package phasza.java.cucumber.example.lib.cache;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact membership filter of strings: it never forgets an added string, but it may claim
+ * (with the probability it was sized for) that a string was added, when it was not.
+ * The bit positions are derived from two 64 bit hashes of the UTF-8 bytes (Kirsch-Mitzenmacher),
+ * so they are the same in every JVM, and the filter can be persisted.
+ */
+final class BloomFilter {
+
+    /**
+     * FNV-1a offset basis
+     */
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    /**
+     * FNV-1a prime
+     */
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Bits of the filter
+     */
+    private final long[] bits;
+    /**
+     * Number of the bits set per string
+     */
+    private final int hashes;
+
+    private BloomFilter(final long[] bits, final int hashes) {
+        this.bits = bits;
+        this.hashes = hashes;
+    }
+
+    /**
+     * @param expectedEntries Number of the strings to add
+     * @param falsePositiveRate Probability of a false positive with the expected number of strings
+     * @return New, empty filter with the optimal number of bits and hashes
+     */
+    static BloomFilter create(final int expectedEntries, final double falsePositiveRate) {
+        final int entries = Math.max(1, expectedEntries);
+        final double rate = Math.min(0.5, Math.max(Double.MIN_NORMAL, falsePositiveRate));
+        final long size = (long) Math.ceil(-entries * Math.log(rate) / (Math.log(2) * Math.log(2)));
+        final int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (size + 63) / 64));
+        final int hashes = Math.max(1, (int) Math.round((double) words * 64 / entries * Math.log(2)));
+        return new BloomFilter(new long[words], hashes);
+    }
+
+    /**
+     * @param value String to add
+     */
+    void add(final String value) {
+        final long first = hash(value);
+        final long second = mix(first) | 1L;
+        final long size = (long) bits.length * 64;
+        for (int i = 0; i < hashes; i++) {
+            final long bit = Math.floorMod(first + i * second, size);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * @param value String to look up
+     * @return false if the string was surely not added, true if it was probably added
+     */
+    boolean mightContain(final String value) {
+        final long first = hash(value);
+        final long second = mix(first) | 1L;
+        final long size = (long) bits.length * 64;
+        for (int i = 0; i < hashes; i++) {
+            final long bit = Math.floorMod(first + i * second, size);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the strings of another filter with the same size to this filter
+     * @param other Other filter
+     * @return false if the filters are not compatible (nothing was added)
+     */
+    boolean merge(final BloomFilter other) {
+        if (other.bits.length != bits.length || other.hashes != hashes) {
+            return false;
+        }
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] |= other.bits[i];
+        }
+        return true;
+    }
+
+    /**
+     * @param output Output of the filter (number of hashes, number of words, then the words)
+     * @throws IOException if the output cannot be written
+     */
+    void write(final DataOutput output) throws IOException {
+        output.writeInt(hashes);
+        output.writeInt(bits.length);
+        for (final long word : bits) {
+            output.writeLong(word);
+        }
+    }
+
+    /**
+     * @param input Input of a filter written by write(...)
+     * @return The filter
+     * @throws IOException if the input cannot be read
+     */
+    static BloomFilter read(final DataInput input) throws IOException {
+        final int hashes = input.readInt();
+        final int words = input.readInt();
+        if (hashes <= 0 || words <= 0) {
+            throw new IOException("Corrupt filter");
+        }
+        final var bits = new long[words];
+        for (int i = 0; i < words; i++) {
+            bits[i] = input.readLong();
+        }
+        return new BloomFilter(bits, hashes);
+    }
+
+    private static long hash(final String value) {
+        long hash = FNV_OFFSET;
+        for (final byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * SplitMix64 finalizer, spreads the bits of the hash (the second hash is made odd, so the
+     * positions of a string never collapse into one)
+     */
+    private static long mix(final long value) {
+        long result = value + 0x9e3779b97f4a7c15L;
+        result = (result ^ (result >>> 30)) * 0xbf58476d1ce4e5b9L;
+        result = (result ^ (result >>> 27)) * 0x94d049bb133111ebL;
+        return result ^ (result >>> 31);
+    }
+}
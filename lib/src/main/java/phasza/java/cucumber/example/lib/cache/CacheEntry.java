@@ -0,0 +1,103 @@
+package phasza.java.cucumber.example.lib.cache;
+
+import lombok.Value;
+import phasza.java.cucumber.example.lib.http.Validators;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Header of a cached response, which is stored in front of the response body in the cache file.
+ * It holds everything needed to decide on freshness and to revalidate the response with the server.
+ */
+@Value
+class CacheEntry {
+
+    /**
+     * Marks the format of the cache files, files with other formats are ignored
+     * (the strings are length-prefixed UTF-8, unlike writeUTF they are not limited to 64 KB)
+     */
+    private static final int FORMAT = 0x4d_51_43_02;
+    /**
+     * Longest string of a header, a longer length means a corrupt file
+     */
+    private static final int MAX_STRING_LENGTH = 16 * 1024 * 1024;
+
+    /**
+     * URL of the cached response (guards against hash collisions of the file names)
+     */
+    String url;
+    /**
+     * Epoch millis when the response was downloaded or last revalidated
+     */
+    long storedAt;
+    /**
+     * Validators of the response, which revalidate it with the server
+     */
+    Validators validators;
+
+    /**
+     * @param timeToLive Time to live of the entries
+     * @param now Current epoch millis
+     * @return true if the entry can be used without asking the server
+     */
+    boolean isFresh(final Duration timeToLive, final long now) {
+        return now - storedAt < timeToLive.toMillis();
+    }
+
+    /**
+     * @param now Epoch millis of the revalidation
+     * @return The same entry, revalidated at the given time
+     */
+    CacheEntry revalidated(final long now) {
+        return new CacheEntry(url, now, validators);
+    }
+
+    /**
+     * Writes the header
+     * @param output Output to write to
+     * @throws IOException on write error
+     */
+    void write(final DataOutput output) throws IOException {
+        output.writeInt(FORMAT);
+        writeString(output, url);
+        output.writeLong(storedAt);
+        writeString(output, validators.getETag());
+        writeString(output, validators.getLastModified());
+    }
+
+    /**
+     * Reads a header
+     * @param input Input to read from, positioned at the start of the cache file
+     * @return The header, the input is positioned at the start of the body
+     * @throws IOException on read error, or if the file is not a cache file
+     */
+    static CacheEntry read(final DataInput input) throws IOException {
+        if (input.readInt() != FORMAT) {
+            throw new IOException("Not a cache file!");
+        }
+        return new CacheEntry(
+                readString(input),
+                input.readLong(),
+                new Validators(readString(input), readString(input)));
+    }
+
+    private static void writeString(final DataOutput output, final String value) throws IOException {
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(final DataInput input) throws IOException {
+        final int length = input.readInt();
+        if (length < 0 || length > MAX_STRING_LENGTH) {
+            throw new IOException("Corrupt cache file!");
+        }
+        final var bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,266 @@
+package phasza.java.cucumber.example.lib.cache;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Persistent cache of the queries which had no matching artifact (numFound == 0), so a known miss
+ * fails fast without contacting the repository.
+ * The queries ([repository URL] + [pattern]) are kept in two generations of Bloom filters, each generation
+ * covers the half of the time to live. When the current generation gets older than that, the previous one
+ * is dropped, so a miss is remembered for at least the half of the time to live and at most for all of it.
+ * The filters are loaded on first use, and written back when the context is closed (merged with the
+ * generations which were recorded or rotated by concurrent invocations meanwhile).
+ * A Bloom filter may answer a query with matches as a miss, with the configured (small) probability.
+ */
+@Singleton
+public final class NegativeCache implements AutoCloseable {
+
+    /**
+     * Magic number at the start of the file ("MVNB")
+     */
+    private static final int MAGIC = 0x4D564E42;
+    /**
+     * Version of the layout
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Injected configuration
+     */
+    private final NegativeCacheConfiguration configuration;
+    /**
+     * Injected logger
+     */
+    private final Logger logger;
+    /**
+     * Current generation, null until the cache is loaded
+     */
+    private Generation current;
+    /**
+     * Previous generation, null if there is none
+     */
+    private Generation previous;
+    /**
+     * Whether misses were recorded since the cache was loaded
+     */
+    private boolean dirty;
+
+    /**
+     * New cache
+     * @param configuration Negative cache configuration
+     * @param logger Logger
+     */
+    public NegativeCache(final NegativeCacheConfiguration configuration, final Logger logger) {
+        this.configuration = configuration;
+        this.logger = logger;
+    }
+
+    /**
+     * @return Whether the cache is turned on
+     */
+    public boolean isEnabled() {
+        return configuration.isEnabled();
+    }
+
+    /**
+     * @param repositoryURL URL of the repository
+     * @param pattern Searched pattern
+     * @return true if the query had no matches recently (or rarely, if it is a false positive)
+     */
+    public synchronized boolean isKnownMiss(final String repositoryURL, final String pattern) {
+        if (!isEnabled()) {
+            return false;
+        }
+        rotate();
+        final var key = key(repositoryURL, pattern);
+        return current.filter.mightContain(key) || previous != null && previous.filter.mightContain(key);
+    }
+
+    /**
+     * Remembers a query without matches
+     * @param repositoryURL URL of the repository
+     * @param pattern Searched pattern
+     */
+    public synchronized void recordMiss(final String repositoryURL, final String pattern) {
+        if (!isEnabled()) {
+            return;
+        }
+        rotate();
+        current.filter.add(key(repositoryURL, pattern));
+        dirty = true;
+    }
+
+    /**
+     * Writes the recorded misses to the file when the application context is closed
+     */
+    @PreDestroy
+    @Override
+    public synchronized void close() {
+        if (!dirty) {
+            return;
+        }
+        final var file = Paths.get(configuration.getFile());
+        try {
+            read(file).ifPresent(this::merge);
+            write(file);
+            dirty = false;
+        } catch (IOException e) {
+            logger.debug("Negative cache cannot be written to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Loads the filters on first use, and starts a new generation when the current one is too old
+     */
+    private void rotate() {
+        if (current == null) {
+            final var file = Paths.get(configuration.getFile());
+            try {
+                read(file).ifPresent(stored -> {
+                    current = stored.current;
+                    previous = stored.previous;
+                });
+            } catch (IOException e) {
+                logger.debug("Negative cache cannot be read from {}: {}", file, e.getMessage());
+            }
+        }
+        final long now = System.currentTimeMillis();
+        final long generationLength = configuration.getTimeToLive().toMillis() / 2;
+        if (current == null || now - current.createdAt >= 2 * generationLength) {
+            previous = null;
+            current = newGeneration(now);
+        } else if (now - current.createdAt >= generationLength) {
+            previous = current;
+            current = newGeneration(now);
+        }
+        if (previous != null && now - previous.createdAt >= 2 * generationLength) {
+            previous = null;
+        }
+    }
+
+    private Generation newGeneration(final long createdAt) {
+        return new Generation(createdAt, BloomFilter.create(
+                configuration.getExpectedEntries(), configuration.getFalsePositiveRate()));
+    }
+
+    /**
+     * Merges the stored generations by their creation time: the misses of the same generation are combined,
+     * and the two newest generations are kept. So the generations, which a concurrent invocation rotated
+     * meanwhile, are not overwritten with older ones (an older generation is dropped, it is only forgotten early).
+     */
+    private void merge(final Generations stored) {
+        final var generations = new TreeMap<Long, Generation>();
+        for (final var generation : Arrays.asList(current, previous, stored.current, stored.previous)) {
+            if (generation != null) {
+                generations.merge(generation.createdAt, generation, (mine, other) -> {
+                    mine.filter.merge(other.filter);
+                    return mine;
+                });
+            }
+        }
+        current = generations.pollLastEntry().getValue();
+        previous = Optional.ofNullable(generations.pollLastEntry()).map(Map.Entry::getValue).orElse(null);
+    }
+
+    private Optional<Generations> read(final Path file) throws IOException {
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                throw new IOException("Unknown file format");
+            }
+            final var current = new Generation(input.readLong(), BloomFilter.read(input));
+            final var previous = input.readBoolean()
+                    ? new Generation(input.readLong(), BloomFilter.read(input))
+                    : null;
+            return Optional.of(new Generations(current, previous));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the filters to a temporary file first, then moves it to its place, so the concurrent
+     * invocations never read a half written file
+     */
+    private void write(final Path file) throws IOException {
+        final var directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        final var temp = Files.createTempFile(directory, "negative", ".tmp");
+        try {
+            try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeLong(current.createdAt);
+                current.filter.write(output);
+                output.writeBoolean(previous != null);
+                if (previous != null) {
+                    output.writeLong(previous.createdAt);
+                    previous.filter.write(output);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String key(final String repositoryURL, final String pattern) {
+        return repositoryURL + '\n' + pattern;
+    }
+
+    /**
+     * Filter of the misses recorded since its creation
+     */
+    private static final class Generation {
+
+        /**
+         * Creation time (epoch millis)
+         */
+        private final long createdAt;
+        /**
+         * Recorded misses
+         */
+        private final BloomFilter filter;
+
+        private Generation(final long createdAt, final BloomFilter filter) {
+            this.createdAt = createdAt;
+            this.filter = filter;
+        }
+    }
+
+    /**
+     * Generations read from the file
+     */
+    private static final class Generations {
+
+        /**
+         * Current generation
+         */
+        private final Generation current;
+        /**
+         * Previous generation, or null
+         */
+        private final Generation previous;
+
+        private Generations(final Generation current, final Generation previous) {
+            this.current = current;
+            this.previous = previous;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package phasza.java.cucumber.example.lib.cache;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Configuration of the negative cache, which remembers the queries without any matching artifact.
+ * Every value can be overridden through the micronaut configuration under the "mvn.negative-cache" prefix,
+ * e.g. the cache can be turned on with the MVN_NEGATIVE_CACHE_ENABLED=true environment variable.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties("mvn.negative-cache")
+public class NegativeCacheConfiguration {
+
+    /**
+     * Whether the queries without matches are remembered
+     */
+    private boolean enabled;
+    /**
+     * File of the cache, shared by every invocation of the application
+     */
+    private String file = Paths.get(System.getProperty("user.home"), ".mvn-query", "negative.bloom").toString();
+    /**
+     * A query without matches is answered from the cache for at least the half of this, at most for this long
+     */
+    private Duration timeToLive = Duration.ofHours(1);
+    /**
+     * Number of the remembered queries per half of the time to live, which keeps the false positive rate
+     */
+    private int expectedEntries = 100_000;
+    /**
+     * Probability that a query with matches is answered as a miss (it grows above the expected entries)
+     */
+    private double falsePositiveRate = 0.000_001;
+}
@@ -0,0 +1,344 @@
+package phasza.java.cucumber.example.lib.cache;
+
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.slf4j.Logger;
+import phasza.java.cucumber.example.lib.http.ContentCompression;
+import phasza.java.cucumber.example.lib.http.HttpStatusException;
+import phasza.java.cucumber.example.lib.http.ResponseBodyReader;
+import phasza.java.cucumber.example.lib.http.Validators;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Persistent on-disk cache of the responses of the maven server, keyed by the request URL
+ * (see MvnHttpUtils.select), shared by every invocation of the application.
+ * - responses younger than the time to live are read from the disk without contacting the server
+ * - older responses are revalidated with If-None-Match / If-Modified-Since (see Validators),
+ *   and a 304 (Not Modified) answer is served from the disk without downloading the body again
+ * - above the configured size the least recently used entries are evicted
+ * Bodies are stored decompressed. Every entry is a single file (header + body), which is written
+ * to a temporary file first and moved in place atomically, so concurrent invocations never see
+ * a half written entry.
+ * If the cache is disabled the requests are simply executed.
+ */
+@Singleton
+@RequiredArgsConstructor
+public final class ResponseCache {
+
+    /**
+     * Extension of the cache files
+     */
+    private static final String EXTENSION = ".entry";
+
+    /**
+     * Injected, pooled HTTP client
+     */
+    private final CloseableHttpClient httpClient;
+    /**
+     * Injected negotiation and decompression of compressed responses
+     */
+    private final ContentCompression contentCompression;
+    /**
+     * Injected cache configuration
+     */
+    private final ResponseCacheConfiguration configuration;
+    /**
+     * Injected logger
+     */
+    private final Logger logger;
+
+    /**
+     * Gets the response of the URL from the cache or from the server, and reads its body
+     * @param url URL of the request
+     * @param reader Reads the body of the response
+     * @param <T> Type of the result
+     * @return Result of the reader
+     * @throws IOException on network or cache error
+     */
+    public <T> T fetch(final String url, final ResponseBodyReader<T> reader) throws IOException {
+        if (!configuration.isEnabled()) {
+            return httpClient.execute(newRequest(url), response -> reader.read(content(url, response)));
+        }
+        final var file = entryFile(url);
+        final var entry = readEntry(file, url);
+        if (entry.isPresent() && entry.get().isFresh(configuration.getTimeToLive(), System.currentTimeMillis())) {
+            logger.debug("Cache hit: {}", url);
+            try {
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                return readBody(file, reader);
+            } catch (NoSuchFileException e) {
+                logger.debug("Cache entry was evicted by another invocation: {}", url);
+                return download(file, url, Optional.empty(), reader);
+            }
+        }
+        try {
+            return download(file, url, entry, reader);
+        } catch (NoSuchFileException e) {
+            if (entry.isEmpty()) {
+                throw e;
+            }
+            //The 304 (Not Modified) answer has no body to serve
+            logger.debug("Cache entry was evicted by another invocation: {}", url);
+            return download(file, url, Optional.empty(), reader);
+        }
+    }
+
+    /**
+     * Downloads the response, or revalidates the cached entry with a conditional request
+     * @param entry Cached entry to revalidate, empty to download unconditionally
+     * @throws NoSuchFileException if the revalidated entry was evicted in the meantime
+     */
+    private <T> T download(
+            final Path file,
+            final String url,
+            final Optional<CacheEntry> entry,
+            final ResponseBodyReader<T> reader) throws IOException {
+        final var request = newRequest(url);
+        entry.ifPresent(i -> i.getValidators().addTo(request));
+        return httpClient.execute(request, response -> {
+            if (Validators.isNotModified(response) && entry.isPresent()) {
+                logger.debug("Cache revalidated: {}", url);
+                rewrite(file, entry.get().revalidated(System.currentTimeMillis()));
+                return readBody(file, reader);
+            }
+            return store(file, url, response, reader);
+        });
+    }
+
+    private <T> T store(
+            final Path file,
+            final String url,
+            final HttpResponse response,
+            final ResponseBodyReader<T> reader) throws IOException {
+        final var entry = new CacheEntry(url, System.currentTimeMillis(), Validators.of(response));
+        Files.createDirectories(file.getParent());
+        final var temp = Files.createTempFile(file.getParent(), "entry", ".tmp");
+        try {
+            final T result;
+            try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                entry.write(output);
+                //The reader consumes the body from the network while it is copied to the cache file
+                try (var body = new TeeInputStream(content(url, response), output)) {
+                    result = reader.read(body);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            evict(file.getParent());
+            return result;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void rewrite(final Path file, final CacheEntry entry) throws IOException {
+        final var temp = Files.createTempFile(file.getParent(), "entry", ".tmp");
+        try {
+            try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+                 var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                CacheEntry.read(input);
+                entry.write(output);
+                input.transferTo(output);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Deletes the least recently used entries until the cache fits into the configured size
+     * @param directory Cache directory
+     * @throws IOException if the directory cannot be listed
+     */
+    private void evict(final Path directory) throws IOException {
+        final var entries = new ArrayList<Map.Entry<Path, BasicFileAttributes>>();
+        long totalSize = 0;
+        try (var files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (final var path : files) {
+                try {
+                    final var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    entries.add(Map.entry(path, attributes));
+                    totalSize += attributes.size();
+                } catch (NoSuchFileException e) { //NOPMD
+                    //Evicted by a concurrent invocation
+                }
+            }
+        }
+        if (totalSize <= configuration.getMaxSize()) {
+            return;
+        }
+        entries.sort(Comparator.comparing(i -> i.getValue().lastModifiedTime()));
+        for (final var entry : entries) {
+            if (totalSize <= configuration.getMaxSize()) {
+                break;
+            }
+            logger.debug("Cache eviction: {}", entry.getKey());
+            Files.deleteIfExists(entry.getKey());
+            totalSize -= entry.getValue().size();
+        }
+    }
+
+    private Path entryFile(final String url) {
+        return Paths.get(configuration.getDirectory()).resolve(sha256(url) + EXTENSION);
+    }
+
+    private Optional<CacheEntry> readEntry(final Path file, final String url) {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return Optional.of(CacheEntry.read(input)).filter(i -> url.equals(i.getUrl()));
+        } catch (IOException e) {
+            logger.debug("Unreadable cache entry is ignored: {}", file);
+            return Optional.empty();
+        }
+    }
+
+    private static <T> T readBody(final Path file, final ResponseBodyReader<T> reader) throws IOException {
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            CacheEntry.read(input);
+            return reader.read(input);
+        }
+    }
+
+    private HttpGet newRequest(final String url) {
+        final var request = new HttpGet(url);
+        contentCompression.negotiate(request);
+        return request;
+    }
+
+    /**
+     * @param url URL of the request
+     * @param response Response of the server
+     * @return Decompressed body of the response
+     * @throws HttpStatusException if the response is not 200 (OK)
+     * @throws IOException if the body cannot be read
+     */
+    private InputStream content(final String url, final HttpResponse response) throws IOException {
+        final int status = response.getStatusLine().getStatusCode();
+        if (status != HttpStatus.SC_OK) {
+            throw new HttpStatusException(status, headerValue(response, HttpHeaders.RETRY_AFTER));
+        }
+        return contentCompression.decode(url, response);
+    }
+
+    private static String headerValue(final HttpResponse response, final String name) {
+        return Optional.ofNullable(response.getFirstHeader(name)).map(Header::getValue).orElse("");
+    }
+
+    private static String sha256(final String value) {
+        try {
+            final var hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            final var result = new StringBuilder(hash.length * 2);
+            for (final byte b : hash) {
+                result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return result.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported!", e);
+        }
+    }
+
+    /**
+     * Input stream which copies everything read from it into an output.
+     * When closed, the rest of the input (which the reader did not need) is copied as well,
+     * so the cache file always contains the complete body.
+     */
+    private static final class TeeInputStream extends FilterInputStream {
+
+        /**
+         * Receives a copy of the bytes read
+         */
+        private final OutputStream copy;
+        /**
+         * Whether the stream was closed
+         */
+        private boolean closed;
+
+        /**
+         * @param input Input to read
+         * @param copy Output to copy to
+         */
+        TeeInputStream(final InputStream input, final OutputStream copy) {
+            super(input);
+            this.copy = copy;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int value = super.read();
+            if (value >= 0) {
+                copy.write(value);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            final int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                copy.write(buffer, offset, count);
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(final long count) throws IOException {
+            long skipped = 0;
+            while (skipped < count && read() >= 0) {
+                skipped++;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        /**
+         * Copies the rest of the input on the first call only, the reader may have closed the stream already
+         * (e.g. the JSON parser closes its source)
+         */
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                in.transferTo(copy);
+            } finally {
+                super.close();
+            }
+        }
+    }
+}
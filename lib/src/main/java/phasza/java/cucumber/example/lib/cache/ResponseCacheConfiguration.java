@@ -0,0 +1,39 @@
+package phasza.java.cucumber.example.lib.cache;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Configuration of the on-disk response cache.
+ * Every value can be overridden through the micronaut configuration under the "mvn.cache" prefix,
+ * e.g. the cache can be turned on with the MVN_CACHE_ENABLED=true environment variable.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties("mvn.cache")
+public class ResponseCacheConfiguration {
+
+    /**
+     * Whether the responses are cached on disk
+     */
+    private boolean enabled;
+    /**
+     * Directory of the cache, shared by every invocation of the application
+     */
+    private String directory = Paths.get(System.getProperty("user.home"), ".mvn-query", "cache").toString();
+    /**
+     * Cached responses younger than this are used without contacting the server,
+     * older ones are revalidated with a conditional request
+     */
+    private Duration timeToLive = Duration.ofMinutes(10);
+    /**
+     * Maximum size of the cache in bytes, least recently used entries are evicted above this
+     */
+    private long maxSize = 64L * 1_024 * 1_024;
+}
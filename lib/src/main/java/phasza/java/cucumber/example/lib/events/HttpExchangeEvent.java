@@ -0,0 +1,31 @@
+package phasza.java.cucumber.example.lib.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/**
+ * Flight recorder event of an HTTP exchange on an established connection,
+ * from sending the request until the head of the response is received
+ */
+@Name("mvnquery.HttpExchange")
+@Label("Maven HTTP Exchange")
+@Category("mvn-query")
+@Description("Request towards a repository until the head of its response")
+@Setter
+public final class HttpExchangeEvent extends Event {
+
+    /**
+     * Request line
+     */
+    @Label("Request")
+    private String request;
+    /**
+     * Status code of the response
+     */
+    @Label("Status")
+    private int status;
+}
@@ -0,0 +1,30 @@
+package phasza.java.cucumber.example.lib.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/**
+ * Flight recorder event of writing the results of a search, from the first artifact until the output is flushed
+ */
+@Name("mvnquery.Output")
+@Label("Maven Result Output")
+@Category("mvn-query")
+@Description("Writing the matching artifacts to the output")
+@Setter
+public final class OutputEvent extends Event {
+
+    /**
+     * Output format
+     */
+    @Label("Format")
+    private String format;
+    /**
+     * Number of the written artifacts
+     */
+    @Label("Documents")
+    private int docs;
+}
@@ -0,0 +1,37 @@
+package phasza.java.cucumber.example.lib.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/**
+ * Flight recorder event of reading and parsing a page of a response (from the network or from the cache)
+ */
+@Name("mvnquery.Parse")
+@Label("Maven Response Parse")
+@Category("mvn-query")
+@Description("Reading and parsing the JSON body of a page")
+@Setter
+public final class ParseEvent extends Event {
+
+    /**
+     * Number of the parsed artifacts
+     */
+    @Label("Documents")
+    private int docs;
+    /**
+     * Number of the (decompressed) bytes read
+     */
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+    /**
+     * Time spent waiting for the body in nanoseconds, the rest is the time of the parser
+     */
+    @Label("Transfer Nanos")
+    private long transferNanos;
+}
@@ -0,0 +1,46 @@
+package phasza.java.cucumber.example.lib.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/**
+ * Flight recorder event of a query towards a repository, from the first request until the last page is parsed
+ * (see MvnConnector.query and queryAsync)
+ */
+@Name("mvnquery.Query")
+@Label("Maven Query")
+@Category("mvn-query")
+@Description("Query of the matching artifacts towards a repository")
+@Setter
+public final class QueryEvent extends Event {
+
+    /**
+     * URL of the repository
+     */
+    @Label("Repository URL")
+    private String repositoryURL;
+    /**
+     * Searched pattern
+     */
+    @Label("Pattern")
+    private String pattern;
+    /**
+     * Requested number of rows
+     */
+    @Label("Rows")
+    private int rows;
+    /**
+     * Number of the matching artifacts received
+     */
+    @Label("Documents")
+    private int docs;
+    /**
+     * Whether the query failed
+     */
+    @Label("Failed")
+    private boolean failed;
+}
@@ -0,0 +1,25 @@
+package phasza.java.cucumber.example.lib.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/**
+ * Flight recorder event of sorting the results of a search into the display order
+ */
+@Name("mvnquery.Sort")
+@Label("Maven Result Sort")
+@Category("mvn-query")
+@Description("Sorting the matching artifacts into the display order")
+@Setter
+public final class SortEvent extends Event {
+
+    /**
+     * Number of the sorted artifacts
+     */
+    @Label("Documents")
+    private int docs;
+}
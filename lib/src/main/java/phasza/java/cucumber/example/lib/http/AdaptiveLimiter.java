@@ -0,0 +1,167 @@
+package phasza.java.cucumber.example.lib.http;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Limits the concurrent requests towards a repository, and adapts the limit (AIMD):
+ * - while the smoothed latency stays within the tolerance of the lowest latency, the limit grows
+ *   by one per "round" of requests (limit += 1 / limit per answer)
+ * - when the latency rises above the tolerance (the server starts queueing) it shrinks slowly
+ * - when the server throttles (429, 503) or times out, it is halved
+ * The lowest latency is re-measured from time to time, so a permanent change of the network is followed.
+ * If the adaptive concurrency is turned off, every permit is granted at once.
+ * The permits are granted in order through futures, so blocking and asynchronous callers can share a limit.
+ */
+final class AdaptiveLimiter {
+
+    /**
+     * Weight of a new latency in the smoothed latency
+     */
+    private static final double SMOOTHING = 0.1;
+    /**
+     * Shrinking of the limit, when the latency is above the tolerance
+     */
+    private static final double LATENCY_BACKOFF = 0.95;
+    /**
+     * Shrinking of the limit, when the server throttles
+     */
+    private static final double THROTTLE_BACKOFF = 0.5;
+    /**
+     * Number of answers after which the lowest latency is re-measured
+     */
+    private static final int PROBE_INTERVAL = 1_000;
+
+    /**
+     * Lower bound of the limit
+     */
+    private final int min;
+    /**
+     * Upper bound of the limit
+     */
+    private final int max;
+    /**
+     * The limit grows while the latency is below this multiple of the lowest latency
+     */
+    private final double tolerance;
+    /**
+     * Whether the limit adapts, otherwise the requests are not limited
+     */
+    private final boolean adaptive;
+    /**
+     * Callers waiting for a permit, in order
+     */
+    private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    /**
+     * Current limit
+     */
+    private double limit;
+    /**
+     * Number of the granted permits
+     */
+    private int inFlight;
+    /**
+     * Smoothed latency in nanoseconds, 0 before the first answer
+     */
+    private double smoothed;
+    /**
+     * Lowest latency in nanoseconds since the last probe
+     */
+    private long lowest = Long.MAX_VALUE;
+    /**
+     * Number of answers since the last probe
+     */
+    private int samples;
+
+    /**
+     * @param configuration Configuration of the limits
+     */
+    AdaptiveLimiter(final RateLimitConfiguration configuration) {
+        this.min = Math.max(1, configuration.getMinConcurrency());
+        this.max = Math.max(min, configuration.getMaxConcurrency());
+        this.tolerance = Math.max(1, configuration.getLatencyTolerance());
+        this.adaptive = configuration.isAdaptiveConcurrency();
+        this.limit = adaptive
+                ? Math.min(max, Math.max(min, configuration.getInitialConcurrency()))
+                : Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return Future, which completes when the permit is granted. A cancelled future gives up the waiting.
+     */
+    synchronized CompletableFuture<Void> acquire() {
+        if (waiters.isEmpty() && inFlight < (int) limit) {
+            inFlight++;
+            return CompletableFuture.completedFuture(null);
+        }
+        final var waiter = new CompletableFuture<Void>();
+        waiters.add(waiter);
+        return waiter;
+    }
+
+    /**
+     * Gives back a permit after an answer
+     * @param latencyNanos Latency of the answer
+     */
+    void onSuccess(final long latencyNanos) {
+        release(() -> {
+            if (samples++ >= PROBE_INTERVAL) {
+                samples = 0;
+                lowest = Long.MAX_VALUE;
+            }
+            lowest = Math.min(lowest, latencyNanos);
+            smoothed = smoothed == 0 ? latencyNanos : smoothed + SMOOTHING * (latencyNanos - smoothed);
+            limit = smoothed <= lowest * tolerance
+                    ? Math.min(max, limit + 1 / limit)
+                    : Math.max(min, limit * LATENCY_BACKOFF);
+        });
+    }
+
+    /**
+     * Gives back a permit after the server throttled the request (or timed out)
+     */
+    void onThrottled() {
+        release(() -> limit = Math.max(min, limit * THROTTLE_BACKOFF));
+    }
+
+    /**
+     * Gives back a permit without information about the load of the server (e.g. a cancelled request)
+     */
+    void onIgnored() {
+        release(() -> { });
+    }
+
+    /**
+     * @return Current limit
+     */
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    private void release(final Runnable adapt) {
+        final List<CompletableFuture<Void>> granted = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            if (adaptive) {
+                adapt.run();
+            }
+            while (inFlight < (int) limit && !waiters.isEmpty()) {
+                final var waiter = waiters.poll();
+                if (!waiter.isDone()) {
+                    inFlight++;
+                    granted.add(waiter);
+                }
+            }
+        }
+        //Completed outside of the lock, the dependent actions of the waiters may run on this thread
+        for (final var waiter : granted) {
+            if (!waiter.complete(null)) {
+                //Cancelled in the meantime
+                onIgnored();
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package phasza.java.cucumber.example.lib.http;
+
+/**
+ * Circuit breaker of a single repository.
+ * - CLOSED: requests are sent, consecutive failures are counted
+ * - OPEN: after too many consecutive failures requests fail fast for the configured duration
+ * - HALF_OPEN: after the open duration a single trial request is let through,
+ *   its success closes, its failure re-opens the circuit breaker
+ */
+final class CircuitBreaker {
+
+    /**
+     * Configuration of the circuit breaker
+     */
+    private final CircuitBreakerConfiguration configuration;
+    /**
+     * Guards the state
+     */
+    private final Object lock = new Object();
+    /**
+     * Current state
+     */
+    private State state = State.CLOSED;
+    /**
+     * Number of consecutive failures
+     */
+    private int failures;
+    /**
+     * Epoch millis of the last opening
+     */
+    private long openedAt;
+    /**
+     * Whether the trial request of the half open state is in flight
+     */
+    private boolean trialInFlight;
+
+    /**
+     * @param configuration Configuration of the circuit breaker
+     */
+    CircuitBreaker(final CircuitBreakerConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Asks for permission to send a request
+     * @param repositoryURL URL of the repository (for the message)
+     * @throws CircuitBreakerOpenException if the request must not be sent
+     */
+    void acquirePermission(final String repositoryURL) throws CircuitBreakerOpenException {
+        if (!configuration.isEnabled()) {
+            return;
+        }
+        synchronized (lock) {
+            if (state == State.OPEN) {
+                if (System.currentTimeMillis() - openedAt < configuration.getOpenDuration().toMillis()) {
+                    throw new CircuitBreakerOpenException(repositoryURL);
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = false;
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialInFlight) {
+                    throw new CircuitBreakerOpenException(repositoryURL);
+                }
+                trialInFlight = true;
+            }
+        }
+    }
+
+    /**
+     * Records that the repository answered
+     */
+    void onSuccess() {
+        synchronized (lock) {
+            state = State.CLOSED;
+            failures = 0;
+            trialInFlight = false;
+        }
+    }
+
+    /**
+     * Records that the repository could not be reached or answered with a server error
+     */
+    void onFailure() {
+        synchronized (lock) {
+            failures++;
+            trialInFlight = false;
+            if (state == State.HALF_OPEN || failures >= configuration.getFailureThreshold()) {
+                state = State.OPEN;
+                openedAt = System.currentTimeMillis();
+            }
+        }
+    }
+
+    /**
+     * State of the circuit breaker
+     */
+    private enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+}
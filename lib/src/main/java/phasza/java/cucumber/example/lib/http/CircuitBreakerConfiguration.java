@@ -0,0 +1,33 @@
+package phasza.java.cucumber.example.lib.http;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the per-repository circuit breakers.
+ * Every value can be overridden through the micronaut configuration under the "mvn.circuit-breaker" prefix.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties("mvn.circuit-breaker")
+public class CircuitBreakerConfiguration {
+
+    /**
+     * Whether the circuit breakers are used
+     */
+    private boolean enabled = true;
+    /**
+     * Number of consecutive failed requests, which opens the circuit breaker of a repository
+     */
+    private int failureThreshold = 5;
+    /**
+     * Requests fail fast for this long after the circuit breaker opened,
+     * then a single trial request decides whether it closes again
+     */
+    private Duration openDuration = Duration.ofSeconds(30);
+}
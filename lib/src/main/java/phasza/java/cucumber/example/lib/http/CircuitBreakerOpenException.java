@@ -0,0 +1,22 @@
+package phasza.java.cucumber.example.lib.http;
+
+import java.io.IOException;
+
+/**
+ * The request was not sent, because the circuit breaker of the repository is open
+ */
+public final class CircuitBreakerOpenException extends IOException {
+
+    /**
+     * serial version UID
+     */
+    private static final long serialVersionUID = -1922517093364046372L;
+
+    /**
+     * New exception for the repository
+     * @param repositoryURL URL of the repository
+     */
+    public CircuitBreakerOpenException(final String repositoryURL) {
+        super(String.format("Circuit breaker is open for %s", repositoryURL));
+    }
+}
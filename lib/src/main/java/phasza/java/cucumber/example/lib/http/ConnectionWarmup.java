@@ -0,0 +1,185 @@
+package phasza.java.cucumber.example.lib.http;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves and connects to the repositories of a command before the application context is started
+ * (see Application.main), so the DNS lookup and the TCP and TLS handshakes overlap with the startup.
+ * It is registered as a singleton of the context, and the pooled HTTP client (see MvnHttpClientFactory)
+ * adopts the warmed-up connections through InstrumentedSocketFactory instead of opening new ones.
+ * A connection is adopted at most once, the ones which are not adopted are closed with the warm-up.
+ */
+public final class ConnectionWarmup implements AutoCloseable {
+
+    /**
+     * Warmed-up connections are not adopted after this, because the server may have closed them
+     */
+    private static final Duration TIME_TO_LIVE = Duration.ofSeconds(10);
+
+    /**
+     * Timeout of the connection and of the TLS handshake
+     */
+    private final Duration connectTimeout;
+    /**
+     * Connections being warmed up, by scheme, host and port (see key)
+     */
+    private final Map<String, CompletableFuture<WarmedUpSocket>> sockets = new ConcurrentHashMap<>();
+
+    /**
+     * New warm-up
+     * @param connectTimeout Timeout of the connection and of the TLS handshake
+     */
+    public ConnectionWarmup(final Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     * Starts connecting to the repositories in the background, invalid URLs are ignored
+     * (the command reports them)
+     * @param repositoryURLs URLs of the repositories
+     */
+    public void start(final Collection<String> repositoryURLs) {
+        for (final var url : repositoryURLs) {
+            final URI uri;
+            try {
+                uri = URI.create(url);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            final var scheme = Optional.ofNullable(uri.getScheme()).orElse("").toLowerCase(Locale.ROOT);
+            if (uri.getHost() == null || !"http".equals(scheme) && !"https".equals(scheme)) {
+                continue;
+            }
+            final int port = uri.getPort() > 0 ? uri.getPort() : ("https".equals(scheme) ? 443 : 80);
+            final var future = new CompletableFuture<WarmedUpSocket>();
+            if (sockets.putIfAbsent(key(scheme, uri.getHost(), port), future) == null) {
+                final var thread = new Thread(() -> connect(future, scheme, uri.getHost(), port), //NOPMD
+                        "mvn-warmup-" + uri.getHost());
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+    }
+
+    /**
+     * Takes the warmed-up connection towards the server, if it is already connected.
+     * A connection which failed or is still connecting is not waited for: the caller connects again at once,
+     * so the connect timeout is never spent twice (the late connection is closed when it completes).
+     * @param scheme Scheme of the server (http or https)
+     * @param host Host name of the server
+     * @param port Port of the server
+     * @return Connected socket (with finished TLS handshake), or empty if there is no usable one
+     */
+    Optional<Socket> take(final String scheme, final String host, final int port) {
+        final var future = sockets.remove(key(scheme.toLowerCase(Locale.ROOT), host, port));
+        if (future == null) {
+            return Optional.empty();
+        }
+        if (!future.isDone() || future.isCompletedExceptionally()) {
+            future.thenAccept(i -> closeQuietly(i.socket));
+            return Optional.empty();
+        }
+        final var warmedUp = future.join();
+        if (warmedUp.isUsable()) {
+            return Optional.of(warmedUp.socket);
+        }
+        closeQuietly(warmedUp.socket);
+        return Optional.empty();
+    }
+
+    /**
+     * Closes the connections which were not adopted
+     */
+    @Override
+    public void close() {
+        sockets.values().forEach(future -> future.thenAccept(i -> closeQuietly(i.socket)));
+        sockets.clear();
+    }
+
+    private void connect(
+            final CompletableFuture<WarmedUpSocket> future,
+            final String scheme,
+            final String host,
+            final int port) {
+        Socket socket = null;
+        try {
+            final var address = InetAddress.getByName(host);
+            socket = new Socket(); //NOPMD
+            socket.connect(new InetSocketAddress(address, port), (int) connectTimeout.toMillis());
+            if ("https".equals(scheme)) {
+                socket = handshake(socket, host, port);
+            }
+            future.complete(new WarmedUpSocket(socket, System.nanoTime()));
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
+            if (socket != null) {
+                closeQuietly(socket);
+            }
+            future.completeExceptionally(e);
+        }
+    }
+
+    private Socket handshake(final Socket socket, final String host, final int port)
+            throws IOException, NoSuchAlgorithmException {
+        final var sslSocket = (SSLSocket) SSLContext.getDefault().getSocketFactory()
+                .createSocket(socket, host, port, true);
+        final var parameters = sslSocket.getSSLParameters();
+        //The JDK verifies the host name of the certificate, as the client does
+        parameters.setEndpointIdentificationAlgorithm("HTTPS");
+        sslSocket.setSSLParameters(parameters);
+        sslSocket.setSoTimeout((int) connectTimeout.toMillis());
+        sslSocket.startHandshake();
+        sslSocket.setSoTimeout(0);
+        return sslSocket;
+    }
+
+    private static String key(final String scheme, final String host, final int port) {
+        return scheme + "://" + host.toLowerCase(Locale.ROOT) + ":" + port;
+    }
+
+    private static void closeQuietly(final Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) { //NOPMD
+            //Nothing to do with a connection which was not used
+        }
+    }
+
+    /**
+     * Connected socket and the time of its connection
+     */
+    private static final class WarmedUpSocket {
+
+        /**
+         * Connected socket
+         */
+        private final Socket socket;
+        /**
+         * Value of System.nanoTime when it was connected
+         */
+        private final long connectedAt;
+
+        private WarmedUpSocket(final Socket socket, final long connectedAt) {
+            this.socket = socket;
+            this.connectedAt = connectedAt;
+        }
+
+        private boolean isUsable() {
+            return socket.isConnected() && !socket.isClosed()
+                    && System.nanoTime() - connectedAt < TIME_TO_LIVE.toNanos();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package phasza.java.cucumber.example.lib.http;
+
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpMessage;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.entity.DeflateInputStream;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Negotiates compressed (gzip or deflate) responses with the maven server, and decompresses them
+ * on the fly, while the JSON parser reads the body, so the uncompressed body is never buffered.
+ * The bytes on the wire and the decompressed bytes are counted per request (logged on debug level)
+ * and in total.
+ */
+@Singleton
+@RequiredArgsConstructor
+public final class ContentCompression {
+
+    /**
+     * Value of the Accept-Encoding header
+     */
+    public static final String ACCEPT_ENCODING = "gzip, deflate";
+    /**
+     * gzip content coding
+     */
+    private static final String GZIP = "gzip";
+    /**
+     * deflate content coding
+     */
+    private static final String DEFLATE = "deflate";
+
+    /**
+     * Injected HTTP configuration
+     */
+    private final MvnHttpConfiguration configuration;
+    /**
+     * Injected logger
+     */
+    private final Logger logger;
+    /**
+     * Bytes received on the wire in total
+     */
+    private final LongAdder wireBytes = new LongAdder();
+    /**
+     * Bytes after decompression in total
+     */
+    private final LongAdder decodedBytes = new LongAdder();
+
+    /**
+     * @return true if compressed responses are requested
+     */
+    public boolean isEnabled() {
+        return configuration.isCompression();
+    }
+
+    /**
+     * Adds the Accept-Encoding header to the request, if compression is enabled
+     * @param request Request to send
+     */
+    public void negotiate(final HttpMessage request) {
+        if (isEnabled()) {
+            request.setHeader(HttpHeaders.ACCEPT_ENCODING, ACCEPT_ENCODING);
+        }
+    }
+
+    /**
+     * @param url URL of the request (for the debug log)
+     * @param response Response of the server
+     * @return Decompressed, counted body of the response
+     * @throws IOException if the body cannot be read
+     */
+    public InputStream decode(final String url, final HttpResponse response) throws IOException {
+        return decode(
+                url,
+                response.getEntity().getContent(),
+                Optional.ofNullable(response.getEntity().getContentEncoding()).map(Header::getValue));
+    }
+
+    /**
+     * @param url URL of the request (for the debug log)
+     * @param body Complete (possibly compressed) body of the response
+     * @param contentEncoding Content-Encoding header of the response
+     * @return Decompressed, counted body of the response
+     * @throws IOException if the body cannot be read
+     */
+    public InputStream decode(final String url, final byte[] body, final Optional<String> contentEncoding)
+            throws IOException {
+        return decode(url, new ByteArrayInputStream(body), contentEncoding);
+    }
+
+    /**
+     * @return Bytes received on the wire in total
+     */
+    public long getWireBytes() {
+        return wireBytes.sum();
+    }
+
+    /**
+     * @return Bytes after decompression in total
+     */
+    public long getDecodedBytes() {
+        return decodedBytes.sum();
+    }
+
+    private InputStream decode(final String url, final InputStream raw, final Optional<String> contentEncoding)
+            throws IOException {
+        final var wire = new CountingInputStream(raw, wireBytes::add);
+        final var encoding = contentEncoding.map(i -> i.trim().toLowerCase(Locale.ROOT)).orElse("");
+        final InputStream decompressed;
+        if (GZIP.equals(encoding) || "x-gzip".equals(encoding)) {
+            decompressed = new GZIPInputStream(wire, 8 * 1_024);
+        } else if (DEFLATE.equals(encoding)) {
+            decompressed = new DeflateInputStream(wire);
+        } else {
+            decompressed = wire;
+        }
+        return new CountingInputStream(decompressed, count -> {
+            decodedBytes.add(count);
+            logger.debug("{}: {} bytes on the wire ({}), {} bytes decompressed",
+                    url, wire.getCount(), encoding.isEmpty() ? "identity" : encoding, count);
+        });
+    }
+}
@@ -0,0 +1,83 @@
+package phasza.java.cucumber.example.lib.http;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.LongConsumer;
+
+/**
+ * Input stream which counts the bytes read through it, and reports the count once, when it is closed
+ */
+final class CountingInputStream extends FilterInputStream {
+
+    /**
+     * Receives the number of bytes read, when the stream is closed
+     */
+    private final LongConsumer onClose;
+    /**
+     * Number of bytes read so far
+     */
+    private long count;
+    /**
+     * Whether the count has been reported
+     */
+    private boolean closed;
+
+    /**
+     * @param input Input to count
+     * @param onClose Receives the number of bytes read, when the stream is closed
+     */
+    CountingInputStream(final InputStream input, final LongConsumer onClose) {
+        super(input);
+        this.onClose = onClose;
+    }
+
+    /**
+     * @return Number of bytes read so far
+     */
+    long getCount() {
+        return count;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int value = super.read();
+        if (value >= 0) {
+            count++;
+        }
+        return value;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        final int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            count += read;
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(final long length) throws IOException {
+        final long skipped = super.skip(length);
+        count += skipped;
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            if (!closed) {
+                closed = true;
+                onClose.accept(count);
+            }
+        }
+    }
+}
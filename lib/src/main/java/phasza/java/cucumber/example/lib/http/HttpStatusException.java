@@ -0,0 +1,90 @@
+package phasza.java.cucumber.example.lib.http;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * The maven server answered with an unexpected HTTP status
+ */
+public final class HttpStatusException extends IOException {
+
+    /**
+     * serial version UID
+     */
+    private static final long serialVersionUID = 3129441520466419203L;
+
+    /**
+     * HTTP status code of the response
+     */
+    @Getter
+    private final int statusCode;
+    /**
+     * Delay requested by the Retry-After header of the response, null if there was none
+     */
+    private final Duration retryAfter;
+
+    /**
+     * New exception with the status code
+     * @param statusCode HTTP status code of the response
+     */
+    public HttpStatusException(final int statusCode) {
+        this(statusCode, null);
+    }
+
+    /**
+     * New exception with the status code and the Retry-After header
+     * @param statusCode HTTP status code of the response
+     * @param retryAfter Value of the Retry-After header (delay in seconds or HTTP date), or null
+     */
+    public HttpStatusException(final int statusCode, final String retryAfter) {
+        super(String.format("Unexpected HTTP status: %d", statusCode));
+        this.statusCode = statusCode;
+        this.retryAfter = parseRetryAfter(retryAfter);
+    }
+
+    /**
+     * @return Delay requested by the server before the next request, if it sent a Retry-After header
+     */
+    public Optional<Duration> getRetryAfter() {
+        return Optional.ofNullable(retryAfter);
+    }
+
+    /**
+     * @return true if the status is temporary (429 Too Many Requests or a server error),
+     *         so the request is worth retrying
+     */
+    public boolean isTransient() {
+        return statusCode == 429 || statusCode >= 500;
+    }
+
+    /**
+     * @return true if the server asks for fewer requests (429 Too Many Requests or 503 Service Unavailable)
+     */
+    public boolean isThrottled() {
+        return statusCode == 429 || statusCode == 503;
+    }
+
+    private static Duration parseRetryAfter(final String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                final var date = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                final var delay = Duration.between(Instant.now(), date.toInstant());
+                return delay.isNegative() ? Duration.ZERO : delay;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+}
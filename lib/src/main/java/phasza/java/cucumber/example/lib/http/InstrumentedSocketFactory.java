@@ -0,0 +1,88 @@
+package phasza.java.cucumber.example.lib.http;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.protocol.HttpContext;
+import phasza.java.cucumber.example.lib.metrics.MetricsRegistry;
+import phasza.java.cucumber.example.lib.metrics.QueryPhase;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Optional;
+
+/**
+ * Socket factory of the pooled HTTP client, which
+ * - adopts the connection of the ConnectionWarmup when there is one towards the server
+ * - otherwise connects, and layers TLS on the connection for https, while measuring the TCP connection
+ *   and the TLS handshake separately (see MetricsRegistry)
+ */
+@RequiredArgsConstructor
+final class InstrumentedSocketFactory implements LayeredConnectionSocketFactory {
+
+    /**
+     * Factory of the TLS layer, null for plain http
+     */
+    private final LayeredConnectionSocketFactory tls;
+    /**
+     * Warmed-up connections, null if there was no warm-up
+     */
+    private final ConnectionWarmup warmup;
+    /**
+     * Latencies of the phases
+     */
+    private final MetricsRegistry metrics;
+
+    @Override
+    public Socket createSocket(final HttpContext context) throws IOException {
+        return PlainConnectionSocketFactory.getSocketFactory().createSocket(context);
+    }
+
+    @Override
+    public Socket connectSocket(
+            final int connectTimeout,
+            final Socket socket,
+            final HttpHost host,
+            final InetSocketAddress remoteAddress,
+            final InetSocketAddress localAddress,
+            final HttpContext context) throws IOException {
+        final var warmedUp = warmup == null
+                ? Optional.<Socket>empty()
+                : warmup.take(host.getSchemeName(), host.getHostName(), remoteAddress.getPort());
+        if (warmedUp.isPresent()) {
+            //The created socket is configured by the connection manager, but it is not connected
+            final var adopted = warmedUp.get();
+            adopted.setSoTimeout(socket.getSoTimeout());
+            adopted.setTcpNoDelay(socket.getTcpNoDelay());
+            adopted.setKeepAlive(socket.getKeepAlive());
+            socket.close();
+            return adopted;
+        }
+        final long start = System.nanoTime();
+        final var connected = PlainConnectionSocketFactory.getSocketFactory()
+                .connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+        metrics.record(QueryPhase.CONNECT, System.nanoTime() - start);
+        return tls == null
+                ? connected
+                : createLayeredSocket(connected, host.getHostName(), remoteAddress.getPort(), context);
+    }
+
+    @Override
+    public Socket createLayeredSocket(
+            final Socket socket,
+            final String target,
+            final int port,
+            final HttpContext context) throws IOException {
+        if (tls == null) {
+            throw new IOException(String.format("TLS is not supported towards %s:%d", target, port));
+        }
+        final long start = System.nanoTime();
+        try {
+            return tls.createLayeredSocket(socket, target, port, context);
+        } finally {
+            metrics.record(QueryPhase.TLS, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package phasza.java.cucumber.example.lib.http;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Keeps the latencies of the most recent requests towards a repository to estimate percentiles
+ */
+final class LatencyTracker {
+
+    /**
+     * Ring buffer of the latencies in nanos
+     */
+    private final long[] samples;
+    /**
+     * Number of samples recorded so far
+     */
+    private long count;
+
+    /**
+     * @param size Number of the most recent samples kept
+     */
+    LatencyTracker(final int size) {
+        this.samples = new long[size];
+    }
+
+    /**
+     * @param nanos Latency of a request
+     */
+    synchronized void record(final long nanos) { //NOPMD
+        samples[(int) (count % samples.length)] = nanos;
+        count++;
+    }
+
+    /**
+     * @param percentile Percentile to estimate, between 0 and 1
+     * @param minSamples Minimum number of samples needed for a meaningful estimate
+     * @return Estimate of the percentile of the recent latencies, empty if there are not enough samples
+     */
+    Optional<Duration> percentile(final double percentile, final int minSamples) {
+        final long[] copy;
+        synchronized (this) {
+            if (count < minSamples) {
+                return Optional.empty();
+            }
+            copy = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+        }
+        Arrays.sort(copy);
+        final int index = (int) Math.min(copy.length - 1, Math.ceil(percentile * copy.length) - 1);
+        return Optional.of(Duration.ofNanos(copy[Math.max(0, index)]));
+    }
+}
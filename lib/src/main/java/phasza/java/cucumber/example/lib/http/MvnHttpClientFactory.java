@@ -0,0 +1,121 @@
+package phasza.java.cucumber.example.lib.http;
+
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Singleton;
+import lombok.NoArgsConstructor;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import phasza.java.cucumber.example.lib.metrics.MetricsRegistry;
+import phasza.java.cucumber.example.lib.metrics.QueryPhase;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the long-lived, pooled HTTP clients shared by every query of the application context.
+ * Connections are kept alive between the queries, so only the first request towards a repository
+ * pays for the TCP and TLS handshakes.
+ * The client (and its connection pool) is closed together with the application context.
+ */
+@Factory
+@NoArgsConstructor
+public class MvnHttpClientFactory {
+
+    /**
+     * @param configuration HTTP configuration
+     * @param warmup Connections warmed up during the startup, which are adopted by the pool (if registered)
+     * @param metrics Latencies of the DNS, connection, TLS and time to first byte phases
+     * @return Pooled HTTP client with keep-alive and idle connection eviction
+     */
+    @Singleton
+    @Bean(preDestroy = "close")
+    public CloseableHttpClient httpClient(
+            final MvnHttpConfiguration configuration,
+            @Nullable final ConnectionWarmup warmup,
+            final MetricsRegistry metrics) {
+        final var connectionManager = new PoolingHttpClientConnectionManager(
+                RegistryBuilder.<ConnectionSocketFactory>create()
+                        .register("http", new InstrumentedSocketFactory(null, warmup, metrics))
+                        .register("https", new InstrumentedSocketFactory(
+                                SSLConnectionSocketFactory.getSocketFactory(), warmup, metrics))
+                        .build(),
+                null,
+                null,
+                timedDnsResolver(metrics),
+                configuration.getTimeToLive().toMillis(),
+                TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(configuration.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(configuration.getMaxConnectionsPerRoute());
+        connectionManager.setValidateAfterInactivity(toIntMillis(configuration.getValidateAfterInactivity()));
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setRequestExecutor(new TimedRequestExecutor(metrics))
+                .setKeepAliveStrategy(keepAliveStrategy(configuration.getKeepAlive()))
+                //Responses are decompressed and counted by ContentCompression
+                .disableContentCompression()
+                .evictExpiredConnections()
+                .evictIdleConnections(configuration.getMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(toIntMillis(configuration.getConnectTimeout()))
+                        .setSocketTimeout(toIntMillis(configuration.getSocketTimeout()))
+                        .setConnectionRequestTimeout(toIntMillis(configuration.getConnectionRequestTimeout()))
+                        .build())
+                .build();
+    }
+
+    /**
+     * The JDK client does non-blocking I/O on a single selector thread, so the asynchronous queries
+     * do not occupy a thread per request while they are in flight.
+     * @param configuration HTTP configuration
+     * @return Non-blocking HTTP client used by the asynchronous queries
+     */
+    @Singleton
+    public HttpClient asyncHttpClient(final MvnHttpConfiguration configuration) {
+        return HttpClient.newBuilder()
+                .connectTimeout(configuration.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * Honors the Keep-Alive header of the server, and falls back to the configured value
+     * when the server does not send one (instead of keeping the connection forever).
+     * @param fallback Keep-alive to use without a Keep-Alive header
+     * @return keep-alive strategy
+     */
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(final Duration fallback) {
+        return (response, context) -> {
+            final long serverValue = DefaultConnectionKeepAliveStrategy.INSTANCE
+                    .getKeepAliveDuration(response, context);
+            return serverValue > 0 ? serverValue : fallback.toMillis();
+        };
+    }
+
+    private static DnsResolver timedDnsResolver(final MetricsRegistry metrics) {
+        return host -> {
+            final long start = System.nanoTime();
+            try {
+                return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+            } finally {
+                metrics.record(QueryPhase.DNS, System.nanoTime() - start);
+            }
+        };
+    }
+
+    private static int toIntMillis(final Duration duration) {
+        return (int) Math.min(Integer.MAX_VALUE, duration.toMillis());
+    }
+}
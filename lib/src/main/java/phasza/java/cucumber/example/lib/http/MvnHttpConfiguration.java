@@ -0,0 +1,61 @@
+package phasza.java.cucumber.example.lib.http;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the HTTP client, which is shared by all the queries towards the maven server.
+ * Every value can be overridden through the micronaut configuration under the "mvn.http" prefix,
+ * e.g. with the MVN_HTTP_MAX_CONNECTIONS_PER_ROUTE environment variable.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties("mvn.http")
+public class MvnHttpConfiguration {
+
+    /**
+     * Maximum number of connections kept in the pool in total
+     */
+    private int maxConnections = 64;
+    /**
+     * Maximum number of connections kept in the pool for a single repository (route)
+     */
+    private int maxConnectionsPerRoute = 16;
+    /**
+     * Timeout of establishing a new connection
+     */
+    private Duration connectTimeout = Duration.ofSeconds(10);
+    /**
+     * Timeout of waiting for data on an open connection
+     */
+    private Duration socketTimeout = Duration.ofSeconds(30);
+    /**
+     * Timeout of leasing a connection from the pool
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(10);
+    /**
+     * Keep-alive duration used, when the server does not send a Keep-Alive header
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+    /**
+     * Connections which were idle longer than this are evicted from the pool
+     */
+    private Duration maxIdleTime = Duration.ofMinutes(1);
+    /**
+     * Pooled connections which were inactive longer than this are re-validated before they are leased
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    /**
+     * Total time to live of a pooled connection, regardless of keep-alive
+     */
+    private Duration timeToLive = Duration.ofMinutes(5);
+    /**
+     * Whether compressed (gzip or deflate) responses are requested
+     */
+    private boolean compression = true;
+}
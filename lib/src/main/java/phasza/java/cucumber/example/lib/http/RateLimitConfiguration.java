@@ -0,0 +1,54 @@
+package phasza.java.cucumber.example.lib.http;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * Configuration of pacing the requests towards a repository (see RepositoryThrottle).
+ * Every value can be overridden through the micronaut configuration under the "mvn.rate-limit" prefix,
+ * e.g. with the MVN_RATE_LIMIT_REQUESTS_PER_SECOND environment variable.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties("mvn.rate-limit")
+public class RateLimitConfiguration {
+
+    /**
+     * Maximum average number of requests per second towards a repository, 0 means unlimited
+     */
+    private double requestsPerSecond;
+    /**
+     * Number of requests which can be sent at once above the average rate
+     */
+    private int burst = 10;
+    /**
+     * Whether the number of the concurrent requests towards a repository is limited, and the limit adapts
+     * to its latency and errors. Without it the concurrency is only bounded by the connection pool.
+     */
+    private boolean adaptiveConcurrency;
+    /**
+     * Limit of the concurrent requests towards a repository before it adapts
+     */
+    private int initialConcurrency = 16;
+    /**
+     * Lower bound of the adaptive limit
+     */
+    private int minConcurrency = 1;
+    /**
+     * Upper bound of the adaptive limit
+     */
+    private int maxConcurrency = 64;
+    /**
+     * The limit grows while the latency stays below this multiple of the lowest latency, and shrinks above it
+     */
+    private double latencyTolerance = 2.0;
+    /**
+     * Longest Retry-After which is waited for before a retry, the request fails on a longer one
+     */
+    private Duration maxRetryAfter = Duration.ofSeconds(30);
+}
@@ -0,0 +1,16 @@
+package phasza.java.cucumber.example.lib.http;
+
+import java.io.IOException;
+
+/**
+ * A single call towards a repository, which can be retried or hedged by the ResilientExecutor
+ * @param <T> Type of the result
+ */
+@FunctionalInterface
+public interface RepositoryCall<T> {
+    /**
+     * @return Result of the call
+     * @throws IOException on network error
+     */
+    T call() throws IOException;
+}
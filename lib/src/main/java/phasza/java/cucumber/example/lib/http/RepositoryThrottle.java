@@ -0,0 +1,110 @@
+package phasza.java.cucumber.example.lib.http;
+
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces the requests towards a repository: a token bucket limits their rate, an adaptive limit
+ * their concurrency (see AdaptiveLimiter), and a Retry-After of the server holds back every request.
+ * Every acquired permit must be released with the outcome of the request.
+ */
+final class RepositoryThrottle {
+
+    /**
+     * Rate of the requests
+     */
+    private final TokenBucket tokenBucket;
+    /**
+     * Concurrency of the requests
+     */
+    private final AdaptiveLimiter limiter;
+    /**
+     * Longest pause of a Retry-After
+     */
+    private final Duration maxRetryAfter;
+
+    /**
+     * @param configuration Configuration of the rate and the concurrency
+     */
+    RepositoryThrottle(final RateLimitConfiguration configuration) {
+        this.maxRetryAfter = configuration.getMaxRetryAfter();
+        this.tokenBucket = new TokenBucket(configuration.getRequestsPerSecond(), configuration.getBurst());
+        this.limiter = new AdaptiveLimiter(configuration);
+    }
+
+    /**
+     * Waits until a request can be sent
+     * @throws InterruptedIOException if the thread is interrupted while waiting
+     */
+    void acquire() throws InterruptedIOException {
+        try {
+            final long wait = tokenBucket.reserve();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw (InterruptedIOException) new InterruptedIOException("Interrupted while pacing").initCause(e);
+        }
+        final var permit = limiter.acquire();
+        try {
+            permit.get();
+        } catch (InterruptedException e) {
+            if (!permit.cancel(false)) {
+                limiter.onIgnored();
+            }
+            Thread.currentThread().interrupt();
+            throw (InterruptedIOException) new InterruptedIOException("Interrupted while pacing").initCause(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return Future, which completes when a request can be sent, without blocking the calling thread
+     */
+    CompletableFuture<Void> acquireAsync() {
+        final long wait = tokenBucket.reserve();
+        final var paced = wait > 0
+                ? CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS))
+                : CompletableFuture.<Void>completedFuture(null);
+        return paced.thenCompose(ignored -> limiter.acquire());
+    }
+
+    /**
+     * Releases the permit of a request
+     * @param latencyNanos Latency of the request
+     * @param error Failure of the request, or null
+     */
+    void release(final long latencyNanos, final Throwable error) {
+        final var cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+        if (cause == null || cause instanceof HttpStatusException && !((HttpStatusException) cause).isThrottled()) {
+            //Any answer of the server is a latency sample
+            limiter.onSuccess(latencyNanos);
+        } else if (cause instanceof HttpStatusException || cause instanceof SocketTimeoutException) {
+            limiter.onThrottled();
+        } else {
+            limiter.onIgnored();
+        }
+        if (cause instanceof HttpStatusException) {
+            ((HttpStatusException) cause).getRetryAfter()
+                    .map(i -> i.compareTo(maxRetryAfter) > 0 ? maxRetryAfter : i)
+                    .map(Duration::toNanos)
+                    .ifPresent(tokenBucket::pause);
+        }
+    }
+
+    /**
+     * @return Current limit of the concurrent requests
+     */
+    int getConcurrencyLimit() {
+        return limiter.getLimit();
+    }
+}
@@ -0,0 +1,339 @@
+package phasza.java.cucumber.example.lib.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executes the calls towards the repositories with
+ * - retries of the transient failures (network errors, 429 and 5xx) with exponential, jittered backoff
+ * - optional hedging: a second, identical call is started if the first one is slower than the
+ *   95th percentile of the recent calls, and the first successful answer wins
+ * - a circuit breaker per repository, which fails fast while the repository is known to be down,
+ *   so a dead mirror is not hammered with retries
+ * - pacing per repository (see RepositoryThrottle): a rate limit, an adaptive concurrency limit and the
+ *   Retry-After of the server, so the repository is not driven into throttling the requests
+ * Non-transient failures (e.g. 404 or an unparsable answer) are not retried.
+ */
+@Singleton
+public final class ResilientExecutor implements AutoCloseable {
+
+    /**
+     * Number of recent latencies kept per repository
+     */
+    private static final int LATENCY_SAMPLES = 128;
+    /**
+     * Minimum number of latencies before hedging starts
+     */
+    private static final int MIN_LATENCY_SAMPLES = 20;
+    /**
+     * Percentile of the latencies after which a call is hedged
+     */
+    private static final double HEDGE_PERCENTILE = 0.95;
+
+    /**
+     * Injected retry configuration
+     */
+    private final RetryConfiguration retryConfiguration;
+    /**
+     * Injected circuit breaker configuration
+     */
+    private final CircuitBreakerConfiguration circuitBreakerConfiguration;
+    /**
+     * Injected rate limit configuration
+     */
+    private final RateLimitConfiguration rateLimitConfiguration;
+    /**
+     * Injected logger
+     */
+    private final Logger logger;
+    /**
+     * Circuit breakers per repository URL
+     */
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    /**
+     * Recent latencies per repository URL
+     */
+    private final Map<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+    /**
+     * Pacing of the calls per repository URL
+     */
+    private final Map<String, RepositoryThrottle> throttles = new ConcurrentHashMap<>();
+    /**
+     * Runs the calls while hedging
+     */
+    private final ExecutorService hedgeExecutor;
+
+    /**
+     * New executor
+     * @param retryConfiguration Retry configuration
+     * @param circuitBreakerConfiguration Circuit breaker configuration
+     * @param rateLimitConfiguration Rate limit configuration
+     * @param logger Logger
+     */
+    public ResilientExecutor(
+            final RetryConfiguration retryConfiguration,
+            final CircuitBreakerConfiguration circuitBreakerConfiguration,
+            final RateLimitConfiguration rateLimitConfiguration,
+            final Logger logger) {
+        this.retryConfiguration = retryConfiguration;
+        this.circuitBreakerConfiguration = circuitBreakerConfiguration;
+        this.rateLimitConfiguration = rateLimitConfiguration;
+        this.logger = logger;
+        final var counter = new AtomicInteger();
+        this.hedgeExecutor = Executors.newCachedThreadPool(runnable -> { //NOPMD
+            final var thread = new Thread(runnable, "mvn-hedge-" + counter.incrementAndGet()); //NOPMD
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Executes a call towards the repository, with retries, hedging and the circuit breaker
+     * @param repositoryURL URL of the repository
+     * @param call Call to execute, it may be executed more than once (even concurrently when hedging)
+     * @param <T> Type of the result
+     * @return Result of the first successful call
+     * @throws IOException the failure of the last attempt, or CircuitBreakerOpenException
+     */
+    public <T> T execute(final String repositoryURL, final RepositoryCall<T> call) throws IOException {
+        final var circuitBreaker = circuitBreaker(repositoryURL);
+        final var latency = latencies.computeIfAbsent(repositoryURL, i -> new LatencyTracker(LATENCY_SAMPLES));
+        final var throttle = throttle(repositoryURL);
+        final int maxAttempts = Math.max(1, retryConfiguration.getMaxAttempts());
+        for (int attempt = 1; ; attempt++) {
+            circuitBreaker.acquirePermission(repositoryURL);
+            try {
+                final T result = hedged(call, latency, throttle);
+                circuitBreaker.onSuccess();
+                return result;
+            } catch (IOException e) {
+                if (!isTransient(e)) {
+                    //The repository did answer
+                    circuitBreaker.onSuccess();
+                    throw e;
+                }
+                circuitBreaker.onFailure();
+                if (attempt >= maxAttempts || isRetryAfterTooLong(e)) {
+                    throw e;
+                }
+                final var backoff = backoff(attempt);
+                logger.debug("Attempt {} towards {} failed ({}), retrying in {} ms",
+                        attempt, repositoryURL, e.getMessage(), backoff.toMillis());
+                sleep(backoff);
+            } catch (RuntimeException e) {
+                //Releases the trial of the half open state, it would block the repository forever
+                circuitBreaker.onFailure();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Guards an asynchronous call with the circuit breaker of the repository (asynchronous calls are not retried)
+     * @param repositoryURL URL of the repository
+     * @param call Starts the asynchronous call
+     * @param <T> Type of the result
+     * @return Future of the call, or a failed future if the circuit breaker is open
+     */
+    public <T> CompletableFuture<T> executeAsync(
+            final String repositoryURL,
+            final Supplier<CompletableFuture<T>> call) {
+        final var circuitBreaker = circuitBreaker(repositoryURL);
+        try {
+            circuitBreaker.acquirePermission(repositoryURL);
+        } catch (CircuitBreakerOpenException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        final var throttle = throttle(repositoryURL);
+        return throttle.acquireAsync().thenCompose(ignored -> {
+            final long start = System.nanoTime();
+            final CompletableFuture<T> result;
+            try {
+                result = call.get();
+            } catch (RuntimeException e) {
+                throttle.release(System.nanoTime() - start, e);
+                throw e;
+            }
+            return result.whenComplete((value, error) -> throttle.release(System.nanoTime() - start, error));
+        }).whenComplete((result, error) -> {
+            if (error == null || !isTransient(error)) {
+                circuitBreaker.onSuccess();
+            } else {
+                circuitBreaker.onFailure();
+            }
+        });
+    }
+
+    /**
+     * Stops the hedged calls when the application context is closed
+     */
+    @PreDestroy
+    @Override
+    public void close() {
+        hedgeExecutor.shutdownNow();
+    }
+
+    /**
+     * @param repositoryURL URL of the repository
+     * @return Current limit of the concurrent calls towards the repository (see RepositoryThrottle)
+     */
+    public int getConcurrencyLimit(final String repositoryURL) {
+        return throttle(repositoryURL).getConcurrencyLimit();
+    }
+
+    private CircuitBreaker circuitBreaker(final String repositoryURL) {
+        return circuitBreakers.computeIfAbsent(repositoryURL, i -> new CircuitBreaker(circuitBreakerConfiguration));
+    }
+
+    private RepositoryThrottle throttle(final String repositoryURL) {
+        return throttles.computeIfAbsent(repositoryURL, i -> new RepositoryThrottle(rateLimitConfiguration));
+    }
+
+    private <T> T hedged(
+            final RepositoryCall<T> call,
+            final LatencyTracker latency,
+            final RepositoryThrottle throttle) throws IOException {
+        final var hedgeDelay = hedgeDelay(latency);
+        if (hedgeDelay.isEmpty()) {
+            return timed(call, latency, throttle);
+        }
+        final var completion = new ExecutorCompletionService<T>(hedgeExecutor);
+        final var attempts = new ArrayList<Future<T>>(2);
+        attempts.add(completion.submit(() -> timed(call, latency, throttle)));
+        try {
+            var done = completion.poll(hedgeDelay.get().toNanos(), TimeUnit.NANOSECONDS);
+            if (done == null) {
+                logger.debug("Hedging a call slower than {} ms", hedgeDelay.get().toMillis());
+                attempts.add(completion.submit(() -> timed(call, latency, throttle)));
+                done = completion.take();
+            }
+            try {
+                return done.get();
+            } catch (ExecutionException e) {
+                if (attempts.size() == 1) {
+                    throw e;
+                }
+                //The first finished call failed, the other one may still succeed
+                return completion.take().get();
+            }
+        } catch (ExecutionException e) {
+            throw toIOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw (InterruptedIOException) new InterruptedIOException("Interrupted while waiting for the repository")
+                    .initCause(e);
+        } finally {
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+    }
+
+    /**
+     * Executes a single call, paced by the throttle of the repository
+     */
+    private static <T> T timed(
+            final RepositoryCall<T> call,
+            final LatencyTracker latency,
+            final RepositoryThrottle throttle) throws IOException {
+        throttle.acquire();
+        final long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            final T result = call.call();
+            latency.record(System.nanoTime() - start);
+            return result;
+        } catch (IOException | RuntimeException | Error e) { //NOPMD
+            failure = e;
+            throw e;
+        } finally {
+            throttle.release(System.nanoTime() - start, failure);
+        }
+    }
+
+    /**
+     * @param e Failure of a call
+     * @return true if the server asked for a longer pause than the request is allowed to wait
+     */
+    private boolean isRetryAfterTooLong(final IOException e) {
+        return e instanceof HttpStatusException && ((HttpStatusException) e).getRetryAfter()
+                .filter(i -> i.compareTo(rateLimitConfiguration.getMaxRetryAfter()) > 0)
+                .isPresent();
+    }
+
+    private Optional<Duration> hedgeDelay(final LatencyTracker latency) {
+        if (!retryConfiguration.isHedging()) {
+            return Optional.empty();
+        }
+        return latency.percentile(HEDGE_PERCENTILE, MIN_LATENCY_SAMPLES)
+                .map(i -> i.compareTo(retryConfiguration.getMinHedgeDelay()) < 0
+                        ? retryConfiguration.getMinHedgeDelay()
+                        : i);
+    }
+
+    /**
+     * @param attempt Number of the failed attempt (starting from 1)
+     * @return Random backoff ("full jitter") below the exponentially growing bound
+     */
+    private Duration backoff(final int attempt) {
+        final double bound = Math.min(
+                retryConfiguration.getMaxBackoff().toMillis(),
+                retryConfiguration.getInitialBackoff().toMillis()
+                        * Math.pow(retryConfiguration.getBackoffMultiplier(), attempt - 1));
+        return Duration.ofMillis((long) (ThreadLocalRandom.current().nextDouble() * bound));
+    }
+
+    private static void sleep(final Duration duration) throws InterruptedIOException {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw (InterruptedIOException) new InterruptedIOException("Interrupted during backoff").initCause(e);
+        }
+    }
+
+    /**
+     * @param error Failure of a call
+     * @return true if the failure is worth retrying and counts against the circuit breaker
+     */
+    private static boolean isTransient(final Throwable error) {
+        final var cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+        if (cause instanceof HttpStatusException) {
+            return ((HttpStatusException) cause).isTransient();
+        }
+        return cause instanceof IOException
+                && !(cause instanceof JsonProcessingException)
+                && !(cause instanceof CircuitBreakerOpenException);
+    }
+
+    private static IOException toIOException(final Throwable cause) {
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        return new IOException(cause);
+    }
+}
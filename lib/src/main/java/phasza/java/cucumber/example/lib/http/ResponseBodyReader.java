@@ -0,0 +1,18 @@
+package phasza.java.cucumber.example.lib.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads (e.g. parses) the body of a response, regardless of whether it comes from the network or from a cache
+ * @param <T> Type of the result
+ */
+@FunctionalInterface
+public interface ResponseBodyReader<T> {
+    /**
+     * @param body Stream of the response body
+     * @return Result of reading the body
+     * @throws IOException if the body cannot be read
+     */
+    T read(InputStream body) throws IOException;
+}
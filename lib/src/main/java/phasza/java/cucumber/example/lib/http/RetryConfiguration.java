@@ -0,0 +1,45 @@
+package phasza.java.cucumber.example.lib.http;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * Configuration of retrying and hedging the requests towards the maven server.
+ * Every value can be overridden through the micronaut configuration under the "mvn.retry" prefix.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties("mvn.retry")
+public class RetryConfiguration {
+
+    /**
+     * Maximum number of attempts of a request (1 means no retries)
+     */
+    private int maxAttempts = 3;
+    /**
+     * Upper bound of the backoff before the first retry, the actual backoff is a random value below it
+     */
+    private Duration initialBackoff = Duration.ofMillis(100);
+    /**
+     * Upper bound of the backoff before any retry
+     */
+    private Duration maxBackoff = Duration.ofSeconds(2);
+    /**
+     * Growth of the backoff bound after every attempt
+     */
+    private double backoffMultiplier = 2.0;
+    /**
+     * Whether a second, identical request is sent when the first one is slower than
+     * the 95th percentile of the recent requests towards the repository
+     */
+    private boolean hedging;
+    /**
+     * Lower bound of the delay before a hedged request
+     */
+    private Duration minHedgeDelay = Duration.ofMillis(50);
+}
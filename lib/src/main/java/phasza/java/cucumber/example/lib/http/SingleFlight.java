@@ -0,0 +1,108 @@
+package phasza.java.cucumber.example.lib.http;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses the concurrent, identical calls (e.g. the same page requested by many queries at once) into
+ * a single call, whose result is shared by every caller. Only the calls in flight are shared, a call which
+ * starts after the previous one finished is executed again (caching is the job of the ResponseCache).
+ * The shared results must not be modified by the callers.
+ * @param <K> Type of the key of the identical calls (e.g. the request URL)
+ * @param <V> Type of the result
+ */
+public final class SingleFlight<K, V> {
+
+    /**
+     * Results of the calls in flight
+     */
+    private final Map<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+
+    /**
+     * Executes the call, or waits for the identical call in flight
+     * @param key Key of the call
+     * @param call Call to execute
+     * @return Result of the call
+     * @throws IOException the failure of the call
+     */
+    public V execute(final K key, final RepositoryCall<V> call) throws IOException {
+        final var own = new CompletableFuture<V>();
+        final var inFlight = calls.putIfAbsent(key, own);
+        if (inFlight != null) {
+            return await(inFlight, key, call);
+        }
+        try {
+            final V result = call.call();
+            own.complete(result);
+            return result;
+        } catch (IOException | RuntimeException | Error e) { //NOPMD
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, own);
+        }
+    }
+
+    /**
+     * Starts the asynchronous call, or joins the identical call in flight
+     * @param key Key of the call
+     * @param call Starts the asynchronous call
+     * @return Future of the result, which can be cancelled without affecting the other callers
+     */
+    public CompletableFuture<V> executeAsync(final K key, final Supplier<CompletableFuture<V>> call) {
+        final var own = new CompletableFuture<V>();
+        final var inFlight = calls.putIfAbsent(key, own);
+        if (inFlight != null) {
+            return inFlight.copy();
+        }
+        try {
+            call.get().whenComplete((result, error) -> {
+                calls.remove(key, own);
+                if (error == null) {
+                    own.complete(result);
+                } else {
+                    own.completeExceptionally(error);
+                }
+            });
+        } catch (RuntimeException e) {
+            calls.remove(key, own);
+            own.completeExceptionally(e);
+        }
+        return own.copy();
+    }
+
+    private V await(final CompletableFuture<V> inFlight, final K key, final RepositoryCall<V> call)
+            throws IOException {
+        try {
+            return inFlight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw (InterruptedIOException) new InterruptedIOException("Interrupted while waiting for the call")
+                    .initCause(e);
+        } catch (ExecutionException e) {
+            final var cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause()
+                    : e.getCause();
+            if (cause instanceof InterruptedIOException) {
+                //The call was cancelled by its own caller (e.g. a cancelled page), it is not a failure of this one
+                return execute(key, call);
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
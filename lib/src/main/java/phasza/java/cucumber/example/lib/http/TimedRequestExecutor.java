@@ -0,0 +1,80 @@
+package phasza.java.cucumber.example.lib.http;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+import phasza.java.cucumber.example.lib.events.HttpExchangeEvent;
+import phasza.java.cucumber.example.lib.metrics.MetricsRegistry;
+import phasza.java.cucumber.example.lib.metrics.QueryPhase;
+
+import java.io.IOException;
+
+/**
+ * Executes the requests on an established connection, and measures the time from sending the request
+ * to receiving the head of the response (time to first byte, see MetricsRegistry and HttpExchangeEvent)
+ */
+final class TimedRequestExecutor extends HttpRequestExecutor {
+
+    /**
+     * Attribute of the context, which holds the start of the request
+     */
+    private static final String SENT_AT = TimedRequestExecutor.class.getName() + ".sentAt";
+    /**
+     * Attribute of the context, which holds the flight recorder event of the exchange
+     */
+    private static final String EVENT = TimedRequestExecutor.class.getName() + ".event";
+
+    /**
+     * Latencies of the phases
+     */
+    private final MetricsRegistry metrics;
+
+    /**
+     * @param metrics Latencies of the phases
+     */
+    TimedRequestExecutor(final MetricsRegistry metrics) {
+        super();
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected HttpResponse doSendRequest(
+            final HttpRequest request,
+            final HttpClientConnection connection,
+            final HttpContext context) throws IOException, HttpException {
+        final var event = new HttpExchangeEvent();
+        event.begin();
+        context.setAttribute(EVENT, event);
+        context.setAttribute(SENT_AT, System.nanoTime());
+        return super.doSendRequest(request, connection, context);
+    }
+
+    @Override
+    protected HttpResponse doReceiveResponse(
+            final HttpRequest request,
+            final HttpClientConnection connection,
+            final HttpContext context) throws HttpException, IOException {
+        final var response = super.doReceiveResponse(request, connection, context);
+        final var sentAt = context.getAttribute(SENT_AT);
+        if (sentAt instanceof Long) {
+            metrics.record(QueryPhase.TTFB, System.nanoTime() - (Long) sentAt);
+        }
+        final var event = context.getAttribute(EVENT);
+        if (event instanceof HttpExchangeEvent) {
+            commit((HttpExchangeEvent) event, request, response);
+        }
+        return response;
+    }
+
+    private static void commit(final HttpExchangeEvent event, final HttpRequest request, final HttpResponse response) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.setRequest(request.getRequestLine().toString());
+            event.setStatus(response.getStatusLine().getStatusCode());
+            event.commit();
+        }
+    }
+}
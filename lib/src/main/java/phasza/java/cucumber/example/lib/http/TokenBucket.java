@@ -0,0 +1,70 @@
+package phasza.java.cucumber.example.lib.http;
+
+/**
+ * Token bucket, which paces the requests towards a repository to an average rate with bursts.
+ * The requests reserve their token ahead (the bucket may go into debt), so the waiting callers
+ * are spread evenly instead of waking up at once. The bucket can also be paused (see Retry-After).
+ */
+final class TokenBucket {
+
+    /**
+     * Nanoseconds in a second
+     */
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /**
+     * Tokens added per nanosecond, 0 means unlimited
+     */
+    private final double tokensPerNano;
+    /**
+     * Maximum number of tokens
+     */
+    private final double capacity;
+    /**
+     * Available tokens, negative if reserved ahead
+     */
+    private double tokens;
+    /**
+     * Value of System.nanoTime of the last refill
+     */
+    private long refilledAt = System.nanoTime();
+    /**
+     * Value of System.nanoTime until the bucket is paused
+     */
+    private long pausedUntil = refilledAt;
+
+    /**
+     * @param requestsPerSecond Average rate, 0 means unlimited
+     * @param burst Number of requests which can be sent at once
+     */
+    TokenBucket(final double requestsPerSecond, final int burst) {
+        this.tokensPerNano = Math.max(0, requestsPerSecond) / NANOS_PER_SECOND;
+        this.capacity = Math.max(1, burst);
+        this.tokens = capacity;
+    }
+
+    /**
+     * Takes a token
+     * @return Nanoseconds to wait before the request can be sent
+     */
+    synchronized long reserve() {
+        final long now = System.nanoTime();
+        final long pause = Math.max(0, pausedUntil - now);
+        if (tokensPerNano <= 0) {
+            return pause;
+        }
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        tokens -= 1;
+        final long wait = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+        return Math.max(wait, pause);
+    }
+
+    /**
+     * Holds back every request for the given time
+     * @param nanos Length of the pause
+     */
+    synchronized void pause(final long nanos) {
+        pausedUntil = Math.max(pausedUntil, System.nanoTime() + nanos);
+    }
+}
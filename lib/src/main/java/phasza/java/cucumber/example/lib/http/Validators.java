@@ -0,0 +1,63 @@
+package phasza.java.cucumber.example.lib.http;
+
+import lombok.Value;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+
+import java.util.Optional;
+
+/**
+ * ETag / Last-Modified validators of a response, which make the next request of the same URL conditional
+ * (If-None-Match / If-Modified-Since): the server answers 304 (Not Modified) without a body
+ * if the response has not changed. Used by the response cache and by the watch command.
+ */
+@Value
+public class Validators {
+
+    /**
+     * ETag header of the response, empty if the server did not send one
+     */
+    String eTag;
+    /**
+     * Last-Modified header of the response, empty if the server did not send one
+     */
+    String lastModified;
+
+    /**
+     * @param response Response of the server
+     * @return Validators of the response
+     */
+    public static Validators of(final HttpResponse response) {
+        return new Validators(
+                headerValue(response, HttpHeaders.ETAG),
+                headerValue(response, HttpHeaders.LAST_MODIFIED));
+    }
+
+    /**
+     * @param response Response of a conditional request
+     * @return true if the server answered 304 (Not Modified), so the stored response is still valid
+     */
+    public static boolean isNotModified(final HttpResponse response) {
+        return response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED;
+    }
+
+    /**
+     * Makes the request conditional with the validators which are present
+     * @param request Request of the same URL
+     */
+    public void addTo(final HttpRequest request) {
+        if (!eTag.isEmpty()) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+        }
+        if (!lastModified.isEmpty()) {
+            request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+    }
+
+    private static String headerValue(final HttpResponse response, final String name) {
+        return Optional.ofNullable(response.getFirstHeader(name)).map(Header::getValue).orElse("");
+    }
+}
@@ -0,0 +1,173 @@
+package phasza.java.cucumber.example.lib.index;
+
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import phasza.java.cucumber.example.lib.MvnConnector;
+import phasza.java.cucumber.example.lib.MvnQueryException;
+import phasza.java.cucumber.example.lib.request.FieldListProperty;
+import phasza.java.cucumber.example.lib.response.DocsEntry;
+import phasza.java.cucumber.example.lib.response.VersionComparator;
+import phasza.java.cucumber.example.lib.search.ArtifactSearchEngine;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local index of artifact coordinates, which answers searches without the network.
+ * The index is built by pulling the matches of some patterns from a repository (page by page, see
+ * MvnConnector.query) into a compact file (see ArtifactIndexFormat), which is memory-mapped for the searches.
+ */
+@Singleton
+public final class ArtifactIndex {
+
+    /**
+     * Injected connector
+     */
+    private final MvnConnector mvnConnector;
+    /**
+     * Injected configuration
+     */
+    private final ArtifactIndexConfiguration configuration;
+    /**
+     * Injected logger
+     */
+    private final Logger logger;
+    /**
+     * Mapped index, reopened when the file changes
+     */
+    private ArtifactIndexReader reader;
+    /**
+     * Modification time of the mapped file
+     */
+    private FileTime readerModified;
+    /**
+     * In-memory engine of the mapped index, if it is enabled
+     */
+    private ArtifactSearchEngine engine;
+    /**
+     * The mapped index, which the engine was built from
+     */
+    private ArtifactIndexReader engineReader;
+
+    /**
+     * New index
+     * @param mvnConnector Connector to fetch the artifacts
+     * @param configuration Index configuration
+     * @param logger Logger
+     */
+    public ArtifactIndex(
+            final MvnConnector mvnConnector,
+            final ArtifactIndexConfiguration configuration,
+            final Logger logger) {
+        this.mvnConnector = mvnConnector;
+        this.configuration = configuration;
+        this.logger = logger;
+    }
+
+    /**
+     * Builds (or refreshes) the index from the matches of the patterns in the repository.
+     * With refresh, the patterns of the existing index are fetched again too, and the artifacts are merged
+     * into the existing ones (keeping the newer latestVersion), so artifacts which are not returned
+     * anymore stay in the index.
+     * @param repositoryURL URL of the maven server to connect (e.g https://search.maven.org)
+     * @param patterns Patterns to index (see MvnConnector.runQuery)
+     * @param refresh Whether the existing index is refreshed instead of being replaced
+     * @return Number of artifacts in the index
+     * @throws MvnQueryException if the server cannot be reached or the index cannot be written
+     */
+    public int build(final String repositoryURL, final Collection<String> patterns, final boolean refresh) {
+        final var allPatterns = new LinkedHashSet<String>();
+        final Map<String, DocsEntry> entries = new HashMap<>();
+        if (refresh && Files.exists(path())) {
+            final var existing = open();
+            allPatterns.addAll(existing.getPatterns());
+            existing.forEach(entry -> entries.put(entry.getId(), entry));
+        }
+        allPatterns.addAll(patterns);
+        if (allPatterns.isEmpty()) {
+            throw new MvnQueryException("No patterns to index!");
+        }
+        for (final var pattern : allPatterns) {
+            final int before = entries.size();
+            mvnConnector.query(repositoryURL, pattern, configuration.getMaxRows(), FieldListProperty.DOCS_ENTRY,
+                    entry -> entries.merge(entry.getId(), entry, ArtifactIndex::newer));
+            logger.debug("Pattern {} added {} artifacts", pattern, entries.size() - before);
+        }
+        try {
+            ArtifactIndexFormat.write(path(), allPatterns, entries.values());
+        } catch (IOException e) {
+            throw new MvnQueryException(String.format("Index cannot be written to %s!", path()), e);
+        }
+        return entries.size();
+    }
+
+    /**
+     * Finds the artifacts whose id contains the pattern in the index
+     * @param pattern Pattern for finding packages, matched as a substring of the [groupID]:[artifactID]
+     * @param rows Limits the number of results
+     * @return Matching artifacts in the order of MvnConnector.DISPLAY_ORDER, never empty
+     * @throws MvnQueryException if there is no index, or there are no matching packages
+     */
+    public List<DocsEntry> search(final String pattern, final int rows) {
+        final var result = configuration.isInMemory()
+                ? engine().search(pattern, Math.max(0, rows))
+                : open().search(pattern, Math.max(0, rows));
+        if (result.isEmpty()) {
+            throw new MvnQueryException("No matching artifacts could be found!");
+        }
+        return result;
+    }
+
+    /**
+     * @return Path of the index file
+     */
+    public Path path() {
+        return Paths.get(configuration.getFile());
+    }
+
+    /**
+     * @return The mapped index, which is reopened if the file has been rewritten since it was mapped
+     */
+    private synchronized ArtifactIndexReader open() {
+        try {
+            final var modified = Files.getLastModifiedTime(path());
+            if (reader == null || !modified.equals(readerModified)) {
+                reader = ArtifactIndexReader.open(path());
+                readerModified = modified;
+            }
+            return reader;
+        } catch (IOException e) {
+            throw new MvnQueryException(String.format(
+                    "Index cannot be read from %s, run the index command first!", path()), e);
+        }
+    }
+
+    /**
+     * @return The in-memory engine of the index, which is rebuilt if the file has been rewritten
+     */
+    private synchronized ArtifactSearchEngine engine() {
+        final var current = open();
+        if (engine == null || engineReader != current) {
+            final var entries = new ArrayList<DocsEntry>(current.size());
+            current.forEach(entries::add);
+            engine = new ArtifactSearchEngine(entries);
+            engineReader = current;
+        }
+        return engine;
+    }
+
+    private static DocsEntry newer(final DocsEntry first, final DocsEntry second) {
+        return VersionComparator.INSTANCE.compare(first.getLatestVersion(), second.getLatestVersion()) >= 0
+                ? first
+                : second;
+    }
+}
@@ -0,0 +1,33 @@
+package phasza.java.cucumber.example.lib.index;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.nio.file.Paths;
+
+/**
+ * Configuration of the local (offline) artifact index.
+ * Every value can be overridden through the micronaut configuration under the "mvn.index" prefix.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties("mvn.index")
+public class ArtifactIndexConfiguration {
+
+    /**
+     * Path of the index file
+     */
+    private String file = Paths.get(System.getProperty("user.home"), ".mvn-query", "artifacts.idx").toString();
+    /**
+     * Maximum number of artifacts fetched into the index per pattern
+     */
+    private int maxRows = 100_000;
+    /**
+     * Whether the index is loaded into an in-memory search engine (see ArtifactSearchEngine), which answers
+     * in sub-millisecond, instead of scanning the mapped file for every search. Worth it for long-running processes.
+     */
+    private boolean inMemory;
+}
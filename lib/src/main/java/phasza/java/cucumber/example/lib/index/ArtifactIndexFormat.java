@@ -0,0 +1,112 @@
+package phasza.java.cucumber.example.lib.index;
+
+import phasza.java.cucumber.example.lib.MvnConnector;
+import phasza.java.cucumber.example.lib.response.DocsEntry;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Layout of the index file (big endian):
+ * - header: magic, format version, creation time (epoch millis), the patterns which were indexed
+ *   (count, then length prefixed UTF-8 strings) and the number of artifacts
+ * - offset table: the offset of every record from the start of the records, in the order of the records
+ * - records: length prefixed UTF-8 id, a presence flag of the latest version (1 byte), the length prefixed UTF-8
+ *   latest version (only if present) and the version count
+ *   The records are sorted by MvnConnector.DISPLAY_ORDER, so a scan finds the matches already sorted.
+ * The lengths are unsigned shorts, so a string of more than MAX_STRING_LENGTH bytes cannot be stored.
+ * Group and artifact IDs are not stored, they are the two parts of the id.
+ */
+final class ArtifactIndexFormat {
+
+    /**
+     * Magic number at the start of the file ("MVNI")
+     */
+    static final int MAGIC = 0x4D564E49;
+    /**
+     * Version of the layout
+     */
+    static final int VERSION = 2;
+    /**
+     * Maximum length of a string in UTF-8 bytes (its length is stored as an unsigned short)
+     */
+    static final int MAX_STRING_LENGTH = 0xFFFF;
+
+    private ArtifactIndexFormat() {
+
+    }
+
+    /**
+     * Writes the index to a temporary file first, then moves it to its place, so the readers
+     * (which map the file) always see a complete index
+     * @param file Index file
+     * @param patterns Patterns which were indexed
+     * @param entries Artifacts of the index, in any order
+     * @throws IOException if the file cannot be written
+     */
+    static void write(final Path file, final Collection<String> patterns, final Collection<DocsEntry> entries)
+            throws IOException {
+        final List<DocsEntry> sorted = new ArrayList<>(entries);
+        sorted.sort(MvnConnector.DISPLAY_ORDER);
+        final var directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        final var temp = Files.createTempFile(directory, "index", ".tmp");
+        try {
+            try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeLong(System.currentTimeMillis());
+                output.writeInt(patterns.size());
+                for (final var pattern : patterns) {
+                    writeString(output, pattern);
+                }
+                output.writeInt(sorted.size());
+                int offset = 0;
+                for (final var entry : sorted) {
+                    output.writeInt(offset);
+                    offset += recordSize(entry);
+                }
+                for (final var entry : sorted) {
+                    writeString(output, entry.getId());
+                    output.writeBoolean(entry.getLatestVersion() != null);
+                    if (entry.getLatestVersion() != null) {
+                        writeString(output, entry.getLatestVersion());
+                    }
+                    output.writeInt(entry.getVersionCount());
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static int recordSize(final DocsEntry entry) {
+        return Short.BYTES + utf8(entry.getId()).length
+                + Byte.BYTES
+                + (entry.getLatestVersion() == null ? 0 : Short.BYTES + utf8(entry.getLatestVersion()).length)
+                + Integer.BYTES;
+    }
+
+    private static void writeString(final DataOutputStream output, final String value) throws IOException {
+        final var bytes = utf8(value);
+        if (bytes.length > MAX_STRING_LENGTH) {
+            throw new IOException(String.format("Value of %d bytes is too long for the index: %.40s...",
+                    bytes.length, value));
+        }
+        output.writeShort(bytes.length);
+        output.write(bytes);
+    }
+
+    private static byte[] utf8(final String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,193 @@
+package phasza.java.cucumber.example.lib.index;
+
+import phasza.java.cucumber.example.lib.response.DocsEntry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Read-only view of an index file (see ArtifactIndexFormat), which is memory-mapped,
+ * so only the pages which are touched by a search are read from the disk, and nothing is
+ * decoded but the matching records.
+ * The view is immutable and thread-safe (it only uses absolute reads of the buffer).
+ */
+public final class ArtifactIndexReader {
+
+    /**
+     * Mapped content of the file
+     */
+    private final ByteBuffer buffer;
+    /**
+     * Creation time of the index (epoch millis)
+     */
+    private final long createdAt;
+    /**
+     * Patterns which were indexed
+     */
+    private final List<String> patterns;
+    /**
+     * Number of artifacts in the index
+     */
+    private final int size;
+    /**
+     * Position of the offset table
+     */
+    private final int offsetsStart;
+    /**
+     * Position of the first record
+     */
+    private final int recordsStart;
+
+    private ArtifactIndexReader(final ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.limit() < Integer.BYTES * 2 || buffer.getInt(0) != ArtifactIndexFormat.MAGIC) {
+            throw new IOException("Not an artifact index file!");
+        }
+        if (buffer.getInt(Integer.BYTES) != ArtifactIndexFormat.VERSION) {
+            throw new IOException("Unsupported artifact index version, rebuild the index!");
+        }
+        this.createdAt = buffer.getLong(Integer.BYTES * 2);
+        int position = Integer.BYTES * 2 + Long.BYTES;
+        final int patternCount = buffer.getInt(position);
+        position += Integer.BYTES;
+        final var readPatterns = new ArrayList<String>(patternCount);
+        for (int i = 0; i < patternCount; i++) {
+            final int length = Short.toUnsignedInt(buffer.getShort(position));
+            readPatterns.add(string(position + Short.BYTES, length));
+            position += Short.BYTES + length;
+        }
+        this.patterns = Collections.unmodifiableList(readPatterns);
+        this.size = buffer.getInt(position);
+        this.offsetsStart = position + Integer.BYTES;
+        this.recordsStart = offsetsStart + size * Integer.BYTES;
+    }
+
+    /**
+     * Maps an index file
+     * @param file Index file
+     * @return Read-only view of the index
+     * @throws IOException if the file cannot be read or it is not an index
+     */
+    public static ArtifactIndexReader open(final Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            //The mapping stays valid after the channel is closed
+            return new ArtifactIndexReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * @return Creation time of the index (epoch millis)
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * @return Patterns which were indexed
+     */
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    /**
+     * @return Number of artifacts in the index
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the artifacts whose id contains the pattern
+     * @param pattern Substring of the id to find (e.g. "guice" or "com.google:")
+     * @param rows Limits the number of results
+     * @return Matching artifacts in the order of MvnConnector.DISPLAY_ORDER
+     */
+    public List<DocsEntry> search(final String pattern, final int rows) {
+        final var needle = pattern.getBytes(StandardCharsets.UTF_8);
+        final var result = new ArrayList<DocsEntry>();
+        //The records are sorted, so the scan can stop at the first [rows] matches
+        for (int i = 0; i < size && result.size() < rows; i++) {
+            final int record = record(i);
+            if (contains(record + Short.BYTES, Short.toUnsignedInt(buffer.getShort(record)), needle)) {
+                result.add(entry(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Hands every artifact of the index to the consumer, in order
+     * @param consumer Receives the artifacts
+     */
+    public void forEach(final Consumer<DocsEntry> consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(entry(i));
+        }
+    }
+
+    /**
+     * @param index Index of the record
+     * @return Position of the record
+     */
+    int record(final int index) {
+        return recordsStart + buffer.getInt(offsetsStart + index * Integer.BYTES);
+    }
+
+    /**
+     * Decodes a record
+     * @param index Index of the record
+     * @return Artifact of the record
+     */
+    DocsEntry entry(final int index) {
+        int position = record(index);
+        final int idLength = Short.toUnsignedInt(buffer.getShort(position));
+        final var id = string(position + Short.BYTES, idLength);
+        position += Short.BYTES + idLength;
+        final boolean hasVersion = buffer.get(position) != 0;
+        position += Byte.BYTES;
+        String version = null;
+        if (hasVersion) {
+            final int versionLength = Short.toUnsignedInt(buffer.getShort(position));
+            version = string(position + Short.BYTES, versionLength);
+            position += Short.BYTES + versionLength;
+        }
+        final int separator = id.indexOf(':');
+        return new DocsEntry(
+                id,
+                separator < 0 ? null : id.substring(0, separator),
+                separator < 0 ? null : id.substring(separator + 1),
+                version,
+                buffer.getInt(position));
+    }
+
+    /**
+     * Substring search on the UTF-8 bytes (a match of the bytes is a match of the characters in UTF-8)
+     */
+    private boolean contains(final int start, final int length, final byte[] needle) {
+        for (int i = 0; i <= length - needle.length; i++) {
+            int j = 0;
+            while (j < needle.length && buffer.get(start + i + j) == needle[j]) {
+                j++;
+            }
+            if (j == needle.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String string(final int position, final int length) {
+        final var bytes = new byte[length];
+        //Relative read on a duplicate, so the position of the shared buffer is untouched
+        buffer.duplicate().position(position).get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
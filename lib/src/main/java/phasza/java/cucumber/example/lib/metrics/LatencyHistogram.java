@@ -0,0 +1,158 @@
+package phasza.java.cucumber.example.lib.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies with exponential buckets (100 µs, 200 µs, 400 µs ... ~105 s, and +Inf).
+ * Recording is lock-free and cheap enough for the hot path, the percentiles of a snapshot are
+ * approximated by the upper bound of their bucket.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Upper bound of the first bucket in nanoseconds
+     */
+    private static final long FIRST_BOUND = 100_000L;
+    /**
+     * Number of the bounded buckets, the last bucket is unbounded
+     */
+    private static final int BOUNDED_BUCKETS = 21;
+
+    /**
+     * Number of the latencies in the buckets
+     */
+    private final LongAdder[] buckets = new LongAdder[BOUNDED_BUCKETS + 1];
+    /**
+     * Sum of the latencies in nanoseconds
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * New, empty histogram
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a latency
+     * @param nanos Latency in nanoseconds
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        buckets[bucket(value)].increment();
+        sum.add(value);
+    }
+
+    /**
+     * @return Copy of the current state
+     */
+    public Snapshot snapshot() {
+        final var counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return new Snapshot(counts, sum.sum());
+    }
+
+    /**
+     * @param index Index of a bucket
+     * @return Upper bound of the bucket in nanoseconds, Long.MAX_VALUE for the last one
+     */
+    public static long upperBound(final int index) {
+        return index < BOUNDED_BUCKETS ? FIRST_BOUND << index : Long.MAX_VALUE;
+    }
+
+    private static int bucket(final long nanos) {
+        if (nanos <= FIRST_BOUND) {
+            return 0;
+        }
+        //Index of the first bound, which is not below the value
+        final int index = 64 - Long.numberOfLeadingZeros((nanos - 1) / FIRST_BOUND);
+        return Math.min(index, BOUNDED_BUCKETS);
+    }
+
+    /**
+     * State of a histogram at a point of time
+     */
+    public static final class Snapshot {
+
+        /**
+         * Number of the latencies per bucket
+         */
+        private final long[] counts;
+        /**
+         * Sum of the latencies in nanoseconds
+         */
+        private final long sumNanos;
+
+        private Snapshot(final long[] counts, final long sumNanos) {
+            this.counts = counts;
+            this.sumNanos = sumNanos;
+        }
+
+        /**
+         * @return Number of the recorded latencies
+         */
+        public long getCount() {
+            long count = 0;
+            for (final long i : counts) {
+                count += i;
+            }
+            return count;
+        }
+
+        /**
+         * @return Sum of the recorded latencies in nanoseconds
+         */
+        public long getSumNanos() {
+            return sumNanos;
+        }
+
+        /**
+         * @param index Index of a bucket (see upperBound)
+         * @return Number of the latencies in the bucket
+         */
+        public long getBucketCount(final int index) {
+            return counts[index];
+        }
+
+        /**
+         * @return Number of the buckets
+         */
+        public int getBuckets() {
+            return counts.length;
+        }
+
+        /**
+         * @param percentile Percentile between 0 and 1
+         * @return Upper bound of the bucket of the percentile in nanoseconds, 0 if there are no latencies
+         */
+        public long percentile(final double percentile) {
+            final long count = getCount();
+            final long rank = (long) Math.ceil(percentile * count);
+            long seen = 0;
+            for (int i = 0; i < counts.length && count > 0; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return upperBound(i);
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * @param earlier Earlier snapshot of the same histogram
+         * @return Latencies recorded since the earlier snapshot
+         */
+        public Snapshot minus(final Snapshot earlier) {
+            final var difference = new long[counts.length];
+            for (int i = 0; i < counts.length; i++) {
+                difference[i] = counts[i] - earlier.counts[i];
+            }
+            return new Snapshot(difference, sumNanos - earlier.sumNanos);
+        }
+    }
+}
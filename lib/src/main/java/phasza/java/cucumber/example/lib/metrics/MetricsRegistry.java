@@ -0,0 +1,85 @@
+package phasza.java.cucumber.example.lib.metrics;
+
+import jakarta.inject.Singleton;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Latency histograms of the query phases (see QueryPhase), shared by the components of the query
+ * (HTTP client, connector, commands). An embedding service can read the snapshots, or scrape
+ * the histograms in the Prometheus text format (see writePrometheus).
+ */
+@Singleton
+@NoArgsConstructor
+public final class MetricsRegistry {
+
+    /**
+     * Name of the histogram metric
+     */
+    private static final String METRIC = "mvn_query_phase_seconds";
+    /**
+     * Nanoseconds in a second
+     */
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /**
+     * Histograms of the phases
+     */
+    private final Map<QueryPhase, LatencyHistogram> histograms = createHistograms();
+
+    /**
+     * Records the latency of a phase
+     * @param phase Phase of the query
+     * @param nanos Latency in nanoseconds
+     */
+    public void record(final QueryPhase phase, final long nanos) {
+        histograms.get(phase).record(nanos);
+    }
+
+    /**
+     * @return Current snapshots of the phases
+     */
+    public Map<QueryPhase, LatencyHistogram.Snapshot> snapshot() {
+        final var result = new EnumMap<QueryPhase, LatencyHistogram.Snapshot>(QueryPhase.class);
+        histograms.forEach((phase, histogram) -> result.put(phase, histogram.snapshot()));
+        return result;
+    }
+
+    /**
+     * Writes the histograms in the Prometheus text exposition format
+     * @param writer Output of the metrics, it is not flushed
+     * @throws IOException if the output cannot be written
+     */
+    public void writePrometheus(final Writer writer) throws IOException {
+        writer.write(String.format("# HELP %s Latency of the phases of the maven queries%n", METRIC));
+        writer.write(String.format("# TYPE %s histogram%n", METRIC));
+        for (final var entry : snapshot().entrySet()) {
+            final var phase = entry.getKey().getLabel();
+            final var snapshot = entry.getValue();
+            long cumulative = 0;
+            for (int i = 0; i < snapshot.getBuckets(); i++) {
+                cumulative += snapshot.getBucketCount(i);
+                final long bound = LatencyHistogram.upperBound(i);
+                writer.write(String.format(Locale.ROOT, "%s_bucket{phase=\"%s\",le=\"%s\"} %d%n", METRIC, phase,
+                        bound == Long.MAX_VALUE ? "+Inf" : String.valueOf(bound / NANOS_PER_SECOND), cumulative));
+            }
+            writer.write(String.format(Locale.ROOT, "%s_sum{phase=\"%s\"} %s%n",
+                    METRIC, phase, snapshot.getSumNanos() / NANOS_PER_SECOND));
+            writer.write(String.format(Locale.ROOT, "%s_count{phase=\"%s\"} %d%n", METRIC, phase, cumulative));
+        }
+    }
+
+    private static Map<QueryPhase, LatencyHistogram> createHistograms() {
+        final var result = new EnumMap<QueryPhase, LatencyHistogram>(QueryPhase.class);
+        for (final var phase : QueryPhase.values()) {
+            result.put(phase, new LatencyHistogram());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+}
@@ -0,0 +1,49 @@
+package phasza.java.cucumber.example.lib.metrics;
+
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * Phases of a query, whose latencies are recorded in the MetricsRegistry
+ */
+public enum QueryPhase {
+    /**
+     * Resolving the host name of the repository
+     */
+    DNS,
+    /**
+     * Establishing the TCP connection
+     */
+    CONNECT,
+    /**
+     * TLS handshake
+     */
+    TLS,
+    /**
+     * From sending the request to receiving the head of the response
+     */
+    TTFB,
+    /**
+     * Reading (and decompressing) the body of the response, from the network or from the cache
+     */
+    TRANSFER,
+    /**
+     * Parsing the JSON body, without the time spent waiting for the body
+     */
+    PARSE,
+    /**
+     * Sorting the results
+     */
+    SORT,
+    /**
+     * Writing the results to the output, recorded once per command
+     */
+    OUTPUT;
+
+    /**
+     * Name of the phase in the metrics and in the reports
+     */
+    @Getter
+    private final String label = name().toLowerCase(Locale.ROOT);
+}
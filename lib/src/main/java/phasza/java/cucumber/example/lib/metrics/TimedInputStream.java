@@ -0,0 +1,78 @@
+package phasza.java.cucumber.example.lib.metrics;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream which measures the time spent in reading from the underlying stream, and counts the bytes read,
+ * so the consumer (e.g. the JSON parser) can tell its own time from the time of waiting for the data.
+ */
+public final class TimedInputStream extends FilterInputStream {
+
+    /**
+     * Time spent in reading in nanoseconds
+     */
+    private long nanos;
+    /**
+     * Number of the bytes read
+     */
+    private long bytes;
+
+    /**
+     * @param input Stream to measure
+     */
+    public TimedInputStream(final InputStream input) {
+        super(input);
+    }
+
+    /**
+     * @return Time spent in reading in nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return Number of the bytes read (or skipped)
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final long start = System.nanoTime();
+        try {
+            final int result = super.read();
+            bytes += result < 0 ? 0 : 1;
+            return result;
+        } finally {
+            nanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        final long start = System.nanoTime();
+        try {
+            final int result = super.read(buffer, offset, length);
+            bytes += Math.max(0, result);
+            return result;
+        } finally {
+            nanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public long skip(final long count) throws IOException {
+        final long start = System.nanoTime();
+        try {
+            final long result = super.skip(count);
+            bytes += Math.max(0, result);
+            return result;
+        } finally {
+            nanos += System.nanoTime() - start;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package phasza.java.cucumber.example.lib.request;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Implements the "fl" (field list) property, which limits the fields of the returned docs.
+ * The server only sends the listed fields, so the response is smaller to download and to parse.
+ * The field list is encoded only once, when the property is created.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class FieldListProperty implements MvnURLProperty {
+
+    /**
+     * Name of the property in the URL
+     */
+    public static final String NAME = "fl";
+    /**
+     * Identifier field of an artifact ([groupID]:[artifactID])
+     */
+    public static final String ID = "id";
+    /**
+     * Group ID field of an artifact
+     */
+    public static final String GROUP = "g";
+    /**
+     * Artifact ID field of an artifact
+     */
+    public static final String ARTIFACT = "a";
+    /**
+     * Latest version field of an artifact
+     */
+    public static final String LATEST_VERSION = "latestVersion";
+    /**
+     * Version count field of an artifact
+     */
+    public static final String VERSION_COUNT = "versionCount";
+
+    /**
+     * Fields needed to display the [groupID]:[artifactID]:[latestVersion] coordinates
+     */
+    public static final FieldListProperty COORDINATES = new FieldListProperty(List.of(ID, LATEST_VERSION));
+    /**
+     * Every field which is mapped to a DocsEntry
+     */
+    public static final FieldListProperty DOCS_ENTRY = new FieldListProperty(
+            List.of(ID, GROUP, ARTIFACT, LATEST_VERSION, VERSION_COUNT));
+
+    /**
+     * Names of the fields to return
+     */
+    private final List<String> fields;
+    /**
+     * Formatted property with the encoded field list
+     */
+    @Getter(lombok.AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final String formatted;
+
+    /**
+     * New property
+     * @param fields Names of the fields to return
+     */
+    public FieldListProperty(final List<String> fields) {
+        this.fields = List.copyOf(fields);
+        this.formatted = NAME + '=' + URLEncoder.encode(String.join(",", fields), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String get() {
+        return formatted;
+    }
+}
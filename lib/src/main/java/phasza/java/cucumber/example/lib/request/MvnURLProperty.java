@@ -8,4 +8,13 @@ public interface MvnURLProperty {
      * @return Formatted property which can be used, as is, in the HTTP requests
      */
     String get();
+
+    /**
+     * Appends the formatted property to the builder (see SelectURLBuilder).
+     * Implementations should override it to append their parts without creating intermediate strings.
+     * @param builder Builder of the URL
+     */
+    default void appendTo(final StringBuilder builder) {
+        builder.append(get());
+    }
 }
@@ -1,15 +1,21 @@
 package phasza.java.cucumber.example.lib.request;
 
-import lombok.Value;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 
 /**
- * Implements the "q" or "query" property for the MVN selection
+ * Implements the "q" or "query" property for the MVN selection.
+ * The pattern is URL encoded only once, when the property is created, so a property
+ * reused for every page of a query does not re-encode it.
  */
-@Value
-public class QueryProperty implements MvnURLProperty {
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class QueryProperty implements MvnURLProperty {
 
     /**
      * Name of the property in the URL
@@ -18,10 +24,26 @@ public class QueryProperty implements MvnURLProperty {
     /**
      * Pattern to query
      */
-    String pattern;
+    private final String pattern;
+    /**
+     * Formatted property with the encoded pattern
+     */
+    @Getter(lombok.AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final String formatted;
+
+    /**
+     * New property
+     * @param pattern Pattern to query
+     */
+    public QueryProperty(final String pattern) {
+        this.pattern = pattern;
+        this.formatted = NAME + '=' + URLEncoder.encode(pattern, StandardCharsets.UTF_8);
+    }
 
     @Override
     public String get() {
-        return String.format("%s=%s", NAME, URLEncoder.encode(getPattern(), StandardCharsets.UTF_8));
+        return formatted;
     }
 }
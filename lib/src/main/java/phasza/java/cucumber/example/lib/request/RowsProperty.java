@@ -21,4 +21,9 @@ public class RowsProperty implements MvnURLProperty {
     public String get() {
         return String.format("%s=%s", NAME, getValue());
     }
+
+    @Override
+    public void appendTo(final StringBuilder builder) {
+        builder.append(NAME).append('=').append(getValue());
+    }
 }
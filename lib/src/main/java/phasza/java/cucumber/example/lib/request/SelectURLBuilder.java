@@ -0,0 +1,91 @@
+package phasza.java.cucumber.example.lib.request;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the select URLs of a single repository with as few allocations as possible:
+ * - the "[repositoryURL]/solrsearch/select?" prefix is computed only once per repository
+ * - the properties are appended into one reused (thread local) buffer, without intermediate strings
+ * - constant properties (e.g. WTProperty.json()) cache their formatted value
+ * So building a URL allocates only the resulting string (and the text of the numeric properties).
+ */
+public final class SelectURLBuilder {
+
+    /**
+     * URI part of the maven server API
+     */
+    private static final String API_URL = "solrsearch";
+    /**
+     * URI part of the select API
+     */
+    private static final String SELECT_URI = "select";
+    /**
+     * Maximum number of cached builders, the cache is dropped when it grows beyond
+     */
+    private static final int MAX_CACHED_BUILDERS = 64;
+    /**
+     * Initial capacity of the buffer, enough for the usual select URLs
+     */
+    private static final int BUFFER_CAPACITY = 256;
+    /**
+     * A buffer which grew beyond this (e.g. for a very long pattern) is not kept by the thread
+     */
+    private static final int MAX_BUFFER_CAPACITY = 4 * BUFFER_CAPACITY;
+    /**
+     * Cached builders per repository URL
+     */
+    private static final Map<String, SelectURLBuilder> BUILDERS = new ConcurrentHashMap<>();
+    /**
+     * Reused buffer of the calling thread
+     */
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(BUFFER_CAPACITY));
+
+    /**
+     * "[repositoryURL]/solrsearch/select?" prefix of the URLs
+     */
+    private final String prefix;
+
+    private SelectURLBuilder(final String repositoryURL) {
+        this.prefix = repositoryURL + '/' + API_URL + '/' + SELECT_URI + '?';
+    }
+
+    /**
+     * @param repositoryURL URL to server
+     * @return The (cached) builder of the repository
+     */
+    public static SelectURLBuilder forRepository(final String repositoryURL) {
+        final var builder = BUILDERS.get(repositoryURL);
+        if (builder != null) {
+            return builder;
+        }
+        if (BUILDERS.size() >= MAX_CACHED_BUILDERS) {
+            BUILDERS.clear();
+        }
+        return BUILDERS.computeIfAbsent(repositoryURL, SelectURLBuilder::new);
+    }
+
+    /**
+     * Creates a select query with the given properties (see MvnHttpUtils.select)
+     * @param properties Properties for the query
+     * @return Formatted select URL
+     */
+    public String build(final MvnURLProperty... properties) {
+        final var buffer = BUFFER.get();
+        buffer.setLength(0);
+        buffer.append(prefix);
+        for (int i = 0; i < properties.length; i++) {
+            if (i > 0) {
+                buffer.append('&');
+            }
+            properties[i].appendTo(buffer);
+        }
+        final var url = buffer.toString();
+        if (buffer.capacity() > MAX_BUFFER_CAPACITY) {
+            //The pooled threads live long, they would hold the largest URL they ever built
+            BUFFER.set(new StringBuilder(BUFFER_CAPACITY));
+        }
+        return url;
+    }
+}
@@ -0,0 +1,30 @@
+package phasza.java.cucumber.example.lib.request;
+
+import lombok.Value;
+
+/**
+ * Implementation of the "start" property, which is the offset of the first displayed result.
+ * Together with the "rows" property it selects a page of the results.
+ */
+@Value
+public class StartProperty implements MvnURLProperty {
+
+    /**
+     * Name of the property as in the URL
+     */
+    public static final String NAME = "start";
+    /**
+     * Value of the property
+     */
+    int value;
+
+    @Override
+    public String get() {
+        return String.format("%s=%s", NAME, getValue());
+    }
+
+    @Override
+    public void appendTo(final StringBuilder builder) {
+        builder.append(NAME).append('=').append(getValue());
+    }
+}
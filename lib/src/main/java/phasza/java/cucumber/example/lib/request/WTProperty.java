@@ -11,11 +11,20 @@ public final class WTProperty implements MvnURLProperty {
      * Name of the property in the URL
      */
     public static final String NAME = "wt";
+    /**
+     * The JSON typed property, it is constant so its formatted value is computed only once
+     */
+    private static final WTProperty JSON = new WTProperty(Type.JSON);
+
     /**
      * Type value of the property
      */
     @Getter
     private final Type type;
+    /**
+     * Formatted property
+     */
+    private final String formatted;
 
     /**
      * New property from type
@@ -23,18 +32,19 @@ public final class WTProperty implements MvnURLProperty {
      */
     private WTProperty(final Type type) {
         this.type = type;
+        this.formatted = String.format("%s=%s", NAME, type.getLabel());
     }
 
     /**
      * @return JSON typed property
      */
     public static WTProperty json() {
-        return new WTProperty(Type.JSON);
+        return JSON;
     }
 
     @Override
     public String get() {
-        return String.format("%s=%s", NAME, getType().getLabel());
+        return formatted;
     }
 
     /**
@@ -0,0 +1,67 @@
+package phasza.java.cucumber.example.lib.response;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Hand-written deserializer of DocsEntry (see MvnResponseModule)
+ */
+final class DocsEntryDeserializer extends StdDeserializer<DocsEntry> {
+
+    /**
+     * serial version UID
+     */
+    private static final long serialVersionUID = 8510387093734318364L;
+
+    /**
+     * New deserializer
+     */
+    DocsEntryDeserializer() {
+        super(DocsEntry.class);
+    }
+
+    @Override
+    public DocsEntry deserialize(final JsonParser parser, final DeserializationContext context) throws IOException {
+        String id = null;
+        String group = null;
+        String artifact = null;
+        String latestVersion = null;
+        int versionCount = 0;
+        var token = parser.currentToken() == JsonToken.START_OBJECT ? parser.nextToken() : parser.currentToken();
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            final var name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "id":
+                    id = string(parser, context);
+                    break;
+                case "g":
+                    group = string(parser, context);
+                    break;
+                case "a":
+                    artifact = string(parser, context);
+                    break;
+                case "latestVersion":
+                    latestVersion = string(parser, context);
+                    break;
+                case "versionCount":
+                    versionCount = _parseIntPrimitive(parser, context);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        if (token != JsonToken.END_OBJECT) {
+            return (DocsEntry) context.handleUnexpectedToken(DocsEntry.class, parser);
+        }
+        return new DocsEntry(id, group, artifact, latestVersion, versionCount);
+    }
+
+    private String string(final JsonParser parser, final DeserializationContext context) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : _parseString(parser, context);
+    }
+}
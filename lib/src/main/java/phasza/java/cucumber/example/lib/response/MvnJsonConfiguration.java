@@ -0,0 +1,23 @@
+package phasza.java.cucumber.example.lib.response;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Configuration of how the JSON responses are bound.
+ * Every value can be overridden through the micronaut configuration under the "mvn.json" prefix.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties("mvn.json")
+public class MvnJsonConfiguration {
+
+    /**
+     * Whether the response classes are bound with the hand-written deserializers of MvnResponseModule,
+     * or with the reflection based default deserializers of the object mapper
+     */
+    private boolean handWrittenDeserializers = true;
+}
@@ -0,0 +1,52 @@
+package phasza.java.cucumber.example.lib.response;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Hand-written deserializer of MvnResponse (see MvnResponseModule)
+ */
+final class MvnResponseDeserializer extends StdDeserializer<MvnResponse> {
+
+    /**
+     * serial version UID
+     */
+    private static final long serialVersionUID = 5903462711873400852L;
+
+    /**
+     * Deserializer of the [response] part
+     */
+    private final ResponseDeserializer responseDeserializer;
+
+    /**
+     * New deserializer
+     * @param responseDeserializer Deserializer of the [response] part
+     */
+    MvnResponseDeserializer(final ResponseDeserializer responseDeserializer) {
+        super(MvnResponse.class);
+        this.responseDeserializer = responseDeserializer;
+    }
+
+    @Override
+    public MvnResponse deserialize(final JsonParser parser, final DeserializationContext context) throws IOException {
+        Response response = null;
+        var token = parser.currentToken() == JsonToken.START_OBJECT ? parser.nextToken() : parser.currentToken();
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            final var name = parser.getCurrentName();
+            final var valueToken = parser.nextToken();
+            if ("response".equals(name) && valueToken != JsonToken.VALUE_NULL) {
+                response = responseDeserializer.deserialize(parser, context);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (token != JsonToken.END_OBJECT) {
+            return (MvnResponse) context.handleUnexpectedToken(MvnResponse.class, parser);
+        }
+        return new MvnResponse(response);
+    }
+}
@@ -0,0 +1,113 @@
+package phasza.java.cucumber.example.lib.response;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader of the select API"s JSON response.
+ * Instead of binding the whole MvnResponse -> Response -> List of DocsEntry graph, the parser walks
+ * the tokens of the response and hands every element of the [response.docs] array to a consumer
+ * as soon as it has been read. This way only a single entry is held in memory at a time.
+ * Fields other than [response.numFound] and [response.docs] are skipped without binding.
+ * The entries are bound with the hand-written deserializers of MvnResponseModule, unless it is
+ * turned off in MvnJsonConfiguration.
+ */
+@Singleton
+public final class MvnResponseParser {
+
+    /**
+     * Name of the response part in the JSON
+     */
+    private static final String RESPONSE = "response";
+    /**
+     * Name of the number of results field in the response part
+     */
+    private static final String NUM_FOUND = "numFound";
+    /**
+     * Name of the matching artifacts array in the response part
+     */
+    private static final String DOCS = "docs";
+
+    /**
+     * Object mapper (the injected one, with MvnResponseModule if enabled), its factory creates the streaming parsers
+     */
+    private final ObjectMapper objectMapper;
+    /**
+     * Reusable (thread-safe) reader which binds a single docs entry
+     */
+    private final ObjectReader entryReader;
+
+    /**
+     * New parser
+     * @param objectMapper Object mapper to use for parsing
+     * @param configuration JSON binding configuration
+     */
+    public MvnResponseParser(final ObjectMapper objectMapper, final MvnJsonConfiguration configuration) {
+        this.objectMapper = configuration.isHandWrittenDeserializers()
+                //The injected mapper is shared, so the module is registered on a copy of it
+                ? objectMapper.copy().registerModule(new MvnResponseModule())
+                : objectMapper;
+        this.entryReader = this.objectMapper.readerFor(DocsEntry.class);
+    }
+
+    /**
+     * Parses a select response from the stream
+     * @param inputStream Stream of the JSON response (it is closed after parsing)
+     * @param consumer Receives every docs entry in the order of the response
+     * @return Value of [response.numFound], or 0 if the response does not contain it
+     * @throws IOException if the stream cannot be read or the content is not a JSON object
+     */
+    public int parse(final InputStream inputStream, final Consumer<DocsEntry> consumer) throws IOException {
+        try (var parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Response is not a JSON object!");
+            }
+            int numFound = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final var name = parser.getCurrentName();
+                if (parser.nextToken() == JsonToken.START_OBJECT && RESPONSE.equals(name)) {
+                    numFound = parseResponse(parser, consumer);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return numFound;
+        }
+    }
+
+    private int parseResponse(final JsonParser parser, final Consumer<DocsEntry> consumer) throws IOException {
+        int numFound = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final var name = parser.getCurrentName();
+            final var token = parser.nextToken();
+            if (token == JsonToken.VALUE_NUMBER_INT && NUM_FOUND.equals(name)) {
+                numFound = parser.getIntValue();
+            } else if (token == JsonToken.START_ARRAY && DOCS.equals(name)) {
+                parseDocs(parser, consumer);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return numFound;
+    }
+
+    private void parseDocs(final JsonParser parser, final Consumer<DocsEntry> consumer) throws IOException {
+        var token = parser.nextToken();
+        while (token != null && token != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                consumer.accept(entryReader.readValue(parser));
+            } else {
+                parser.skipChildren();
+            }
+            token = parser.nextToken();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package phasza.java.cucumber.example.lib.response;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written deserializer of Response (see MvnResponseModule)
+ */
+final class ResponseDeserializer extends StdDeserializer<Response> {
+
+    /**
+     * serial version UID
+     */
+    private static final long serialVersionUID = -2270417386853364695L;
+
+    /**
+     * Deserializer of the elements of [docs]
+     */
+    private final DocsEntryDeserializer docsEntryDeserializer;
+
+    /**
+     * New deserializer
+     * @param docsEntryDeserializer Deserializer of the elements of [docs]
+     */
+    ResponseDeserializer(final DocsEntryDeserializer docsEntryDeserializer) {
+        super(Response.class);
+        this.docsEntryDeserializer = docsEntryDeserializer;
+    }
+
+    @Override
+    public Response deserialize(final JsonParser parser, final DeserializationContext context) throws IOException {
+        int numFound = 0;
+        List<DocsEntry> docs = null;
+        var token = parser.currentToken() == JsonToken.START_OBJECT ? parser.nextToken() : parser.currentToken();
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            final var name = parser.getCurrentName();
+            final var valueToken = parser.nextToken();
+            if ("numFound".equals(name)) {
+                numFound = _parseIntPrimitive(parser, context);
+            } else if ("docs".equals(name) && valueToken == JsonToken.START_ARRAY) {
+                docs = docs(parser, context);
+            } else if ("docs".equals(name) && valueToken != JsonToken.VALUE_NULL) {
+                return (Response) context.handleUnexpectedToken(List.class, parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (token != JsonToken.END_OBJECT) {
+            return (Response) context.handleUnexpectedToken(Response.class, parser);
+        }
+        return new Response(numFound, docs);
+    }
+
+    private List<DocsEntry> docs(final JsonParser parser, final DeserializationContext context) throws IOException {
+        final var docs = new ArrayList<DocsEntry>();
+        for (var token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+            docs.add(token == JsonToken.VALUE_NULL ? null : docsEntryDeserializer.deserialize(parser, context));
+        }
+        return docs;
+    }
+}
@@ -0,0 +1,123 @@
+package phasza.java.cucumber.example.lib.response;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Orders maven versions (e.g. latestVersion of a DocsEntry) similarly to maven's ComparableVersion:
+ * - the version is split into items at ".", "-", "_" and at the transitions between digits and letters
+ * - numeric items are compared as numbers (1.10 is newer than 1.9)
+ * - well-known qualifiers are ordered as alpha < beta < milestone < rc < snapshot < (release) < sp,
+ *   "ga", "final" and "release" mean the release itself
+ * - unknown qualifiers are newer than the well-known ones (including sp), and are ordered lexically
+ *   among themselves, e.g. 1.0 < 1.0-sp < 1.0-jboss < 1.0-redhat < 1.0.1
+ * - a missing item is treated as the release, so 1.0 is newer than 1.0-alpha and older than 1.0.1
+ * Null versions are older than anything.
+ */
+public final class VersionComparator implements Comparator<String>, Serializable {
+
+    /**
+     * Shared instance
+     */
+    public static final VersionComparator INSTANCE = new VersionComparator();
+
+    /**
+     * serial version UID
+     */
+    private static final long serialVersionUID = 4671187201593180362L;
+    /**
+     * Rank of the release itself among the qualifiers
+     */
+    private static final int RELEASE = 6;
+    /**
+     * Rank of the unknown qualifiers, after every well-known one
+     */
+    private static final int UNKNOWN = 8;
+    /**
+     * Ranks of the well-known qualifiers
+     */
+    private static final Map<String, Integer> QUALIFIERS = Map.ofEntries(
+            Map.entry("alpha", 1), Map.entry("a", 1),
+            Map.entry("beta", 2), Map.entry("b", 2),
+            Map.entry("milestone", 3), Map.entry("m", 3),
+            Map.entry("rc", 4), Map.entry("cr", 4),
+            Map.entry("snapshot", 5),
+            Map.entry("", RELEASE), Map.entry("ga", RELEASE), Map.entry("final", RELEASE),
+            Map.entry("release", RELEASE),
+            Map.entry("sp", 7));
+
+    private VersionComparator() {
+
+    }
+
+    @Override
+    public int compare(final String first, final String second) {
+        if (first == null || second == null) {
+            return first == null ? (second == null ? 0 : -1) : 1;
+        }
+        final var firstItems = split(first);
+        final var secondItems = split(second);
+        for (int i = 0; i < Math.max(firstItems.size(), secondItems.size()); i++) {
+            final int result = compareItems(
+                    i < firstItems.size() ? firstItems.get(i) : "",
+                    i < secondItems.size() ? secondItems.get(i) : "");
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private static int compareItems(final String first, final String second) {
+        final boolean firstNumeric = isNumeric(first);
+        final boolean secondNumeric = isNumeric(second);
+        if (firstNumeric && secondNumeric) {
+            return new BigInteger(first).compareTo(new BigInteger(second));
+        }
+        if (firstNumeric) {
+            //A number is newer than any qualifier, but a missing item is a zero
+            return second.isEmpty() ? new BigInteger(first).signum() : 1;
+        }
+        if (secondNumeric) {
+            return first.isEmpty() ? -new BigInteger(second).signum() : -1;
+        }
+        final int result = Integer.compare(rank(first), rank(second));
+        return result == 0 && rank(first) == UNKNOWN ? first.compareTo(second) : result;
+    }
+
+    private static int rank(final String qualifier) {
+        return QUALIFIERS.getOrDefault(qualifier, UNKNOWN);
+    }
+
+    private static boolean isNumeric(final String item) {
+        return !item.isEmpty() && Character.isDigit(item.charAt(0));
+    }
+
+    private static List<String> split(final String version) {
+        final var items = new ArrayList<String>();
+        final var lower = version.toLowerCase(Locale.ROOT);
+        int start = 0;
+        for (int i = 1; i <= lower.length(); i++) {
+            if (i == lower.length()
+                    || isSeparator(lower.charAt(i))
+                    || isSeparator(lower.charAt(i - 1))
+                    || Character.isDigit(lower.charAt(i)) != Character.isDigit(lower.charAt(i - 1))) {
+                final var item = lower.substring(start, i);
+                if (!item.isEmpty() && !isSeparator(item.charAt(0))) {
+                    items.add(item);
+                }
+                start = i;
+            }
+        }
+        return items;
+    }
+
+    private static boolean isSeparator(final char character) {
+        return character == '.' || character == '-' || character == '_';
+    }
+}
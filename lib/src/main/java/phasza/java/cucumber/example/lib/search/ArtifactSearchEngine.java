@@ -0,0 +1,209 @@
+package phasza.java.cucumber.example.lib.search;
+
+import phasza.java.cucumber.example.lib.MvnConnector;
+import phasza.java.cucumber.example.lib.response.DocsEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory search engine over artifacts, which reproduces the substring and prefix matches of the
+ * server on the [groupID]:[artifactID] ids (see MvnConnector.runQuery).
+ * The artifacts are held in MvnConnector.DISPLAY_ORDER, and every index refers to them by their position,
+ * so every search returns its matches already sorted, and can stop at the first [rows] of them:
+ * - substring search: the posting lists of the trigrams (3 character n-grams) of the pattern are intersected,
+ *   the candidates are verified; patterns shorter than a trigram are matched by scanning segments of the
+ *   artifacts in parallel
+ * - prefix search: binary search in the sorted display keys, the matches are a contiguous range
+ * The engine is immutable and thread-safe.
+ */
+public final class ArtifactSearchEngine {
+
+    /**
+     * Length of the n-grams of the substring index
+     */
+    private static final int GRAM = 3;
+    /**
+     * Number of artifacts scanned by a single task of a parallel scan
+     */
+    private static final int SEGMENT_SIZE = 1 << 16;
+
+    /**
+     * Artifacts in display order
+     */
+    private final DocsEntry[] entries;
+    /**
+     * Ids of the artifacts, in display order
+     */
+    private final String[] ids;
+    /**
+     * Displayed "[id]:[latestVersion]" keys of the artifacts, in display order
+     */
+    private final String[] keys;
+    /**
+     * Ascending positions of the artifacts per trigram of their id
+     */
+    private final Map<Long, int[]> trigrams;
+
+    /**
+     * Builds the indexes of the artifacts
+     * @param artifacts Artifacts to search, in any order
+     */
+    public ArtifactSearchEngine(final Collection<DocsEntry> artifacts) {
+        this.entries = artifacts.toArray(new DocsEntry[0]);
+        Arrays.sort(entries, MvnConnector.DISPLAY_ORDER);
+        this.ids = new String[entries.length];
+        this.keys = new String[entries.length];
+        final Map<Long, IntList> postings = new HashMap<>();
+        for (int i = 0; i < entries.length; i++) {
+            ids[i] = String.valueOf(entries[i].getId());
+            keys[i] = MvnConnector.format(entries[i]);
+            for (int j = 0; j + GRAM <= ids[i].length(); j++) {
+                final var list = postings.computeIfAbsent(trigram(ids[i], j), key -> new IntList());
+                //The same trigram can occur more than once in an id
+                if (list.last() != i) {
+                    list.add(i);
+                }
+            }
+        }
+        this.trigrams = postings.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> entry.getValue().toArray()));
+    }
+
+    /**
+     * @return Number of artifacts in the engine
+     */
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Finds the artifacts whose id contains the pattern
+     * @param pattern Substring of the id (an empty pattern matches everything)
+     * @param rows Limits the number of results
+     * @return Matching artifacts in display order
+     */
+    public List<DocsEntry> search(final String pattern, final int rows) {
+        if (rows <= 0) {
+            return List.of();
+        }
+        if (pattern.length() < GRAM) {
+            return scan(pattern, rows);
+        }
+        final var candidates = candidates(pattern);
+        final var result = new ArrayList<DocsEntry>(Math.min(rows, candidates.length));
+        for (int i = 0; i < candidates.length && result.size() < rows; i++) {
+            if (ids[candidates[i]].contains(pattern)) {
+                result.add(entries[candidates[i]]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the artifacts whose id starts with the prefix
+     * @param prefix Prefix of the id (e.g. "com.google:")
+     * @param rows Limits the number of results
+     * @return Matching artifacts in display order
+     */
+    public List<DocsEntry> searchPrefix(final String prefix, final int rows) {
+        final var result = new ArrayList<DocsEntry>();
+        //Every key starting with the prefix follows the lower bound of the prefix, contiguously
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        for (int i = low; i < keys.length && keys[i].startsWith(prefix) && result.size() < rows; i++) {
+            //The prefix must not reach into the version of the key
+            if (ids[i].length() >= prefix.length()) {
+                result.add(entries[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Ascending positions of the artifacts which contain every trigram of the pattern
+     */
+    private int[] candidates(final String pattern) {
+        final var lists = new ArrayList<int[]>(pattern.length() - GRAM + 1);
+        for (int i = 0; i + GRAM <= pattern.length(); i++) {
+            final var list = trigrams.get(trigram(pattern, i));
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        //Intersecting from the shortest list keeps the intermediate results small
+        lists.sort(Comparator.comparingInt(list -> list.length));
+        var result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private static int[] intersect(final int[] first, final int[] second) {
+        final var result = new int[Math.min(first.length, second.length)];
+        int size = 0;
+        int j = 0;
+        for (final int element : first) {
+            while (j < second.length && second[j] < element) {
+                j++;
+            }
+            if (j < second.length && second[j] == element) {
+                result[size++] = element;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Matches every artifact with the pattern, the segments of the artifacts are scanned in parallel
+     * and their matches are concatenated in order
+     */
+    private List<DocsEntry> scan(final String pattern, final int rows) {
+        final int segments = (entries.length + SEGMENT_SIZE - 1) / SEGMENT_SIZE;
+        final var stream = IntStream.range(0, segments);
+        final var matches = (segments > 1 ? stream.parallel() : stream)
+                .mapToObj(segment -> scanSegment(segment, pattern, rows))
+                .collect(Collectors.toList());
+        final var result = new ArrayList<DocsEntry>();
+        for (final var segment : matches) {
+            for (int i = 0; i < segment.length && result.size() < rows; i++) {
+                result.add(entries[segment[i]]);
+            }
+        }
+        return result;
+    }
+
+    private int[] scanSegment(final int segment, final String pattern, final int rows) {
+        final var result = new IntList();
+        final int end = Math.min(entries.length, (segment + 1) * SEGMENT_SIZE);
+        int count = 0;
+        for (int i = segment * SEGMENT_SIZE; i < end && count < rows; i++) {
+            if (ids[i].contains(pattern)) {
+                result.add(i);
+                count++;
+            }
+        }
+        return result.toArray();
+    }
+
+    private static long trigram(final String value, final int index) {
+        return (long) value.charAt(index) << 32 | (long) value.charAt(index + 1) << 16 | value.charAt(index + 2);
+    }
+}
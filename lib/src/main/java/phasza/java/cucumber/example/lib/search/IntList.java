@@ -0,0 +1,48 @@
+package phasza.java.cucumber.example.lib.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints, used to build the posting lists without boxing
+ */
+final class IntList {
+
+    /**
+     * Initial capacity of a list
+     */
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * Elements, only the first [size] are used
+     */
+    private int[] elements = new int[INITIAL_CAPACITY];
+    /**
+     * Number of elements
+     */
+    private int size;
+
+    /**
+     * Appends an element
+     * @param element Element to append
+     */
+    void add(final int element) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        elements[size++] = element;
+    }
+
+    /**
+     * @return The last element, or -1 if the list is empty
+     */
+    int last() {
+        return size == 0 ? -1 : elements[size - 1];
+    }
+
+    /**
+     * @return The elements in a trimmed array
+     */
+    int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
@@ -0,0 +1,100 @@
+package phasza.java.cucumber.example.lib.watch;
+
+import lombok.Value;
+import phasza.java.cucumber.example.lib.response.VersionComparator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeSet;
+
+/**
+ * Change of an artifact between two polls of a watched pattern.
+ */
+@Value
+public class ArtifactChange {
+
+    /**
+     * Kind of the change
+     */
+    public enum Type {
+        /**
+         * The artifact matches the pattern since the last poll
+         */
+        ADDED,
+        /**
+         * The artifact does not match the pattern any more (or fell out of the first rows)
+         */
+        REMOVED,
+        /**
+         * The latest version of the artifact is newer than at the last poll
+         */
+        UPGRADED,
+        /**
+         * The latest version of the artifact is older than at the last poll (e.g. a release was withdrawn)
+         */
+        DOWNGRADED
+    }
+
+    /**
+     * Kind of the change
+     */
+    Type type;
+    /**
+     * Identifier of the artifact ([groupID]:[artifactID])
+     */
+    String id;
+    /**
+     * Latest version at the last poll, null if the artifact was added
+     */
+    String oldVersion;
+    /**
+     * Latest version at this poll, null if the artifact was removed
+     */
+    String newVersion;
+
+    /**
+     * @return The change in the format to display, e.g. "^ com.google:guice:1.0 -> 2.0"
+     */
+    public String format() {
+        switch (type) {
+            case ADDED:
+                return String.format("+ %s:%s", id, newVersion);
+            case REMOVED:
+                return String.format("- %s:%s", id, oldVersion);
+            case UPGRADED:
+                return String.format("^ %s:%s -> %s", id, oldVersion, newVersion);
+            default:
+                return String.format("v %s:%s -> %s", id, oldVersion, newVersion);
+        }
+    }
+
+    /**
+     * Compares the latest versions of two polls
+     * @param previous Latest versions per id at the last poll
+     * @param current Latest versions per id at this poll
+     * @return Changes in the order of the ids, unchanged artifacts are left out
+     */
+    static List<ArtifactChange> diff(
+            final SortedMap<String, String> previous,
+            final SortedMap<String, String> current) {
+        final var ids = new TreeSet<>(previous.keySet());
+        ids.addAll(current.keySet());
+        final var changes = new ArrayList<ArtifactChange>();
+        for (final var id : ids) {
+            final var oldVersion = previous.get(id);
+            final var newVersion = current.get(id);
+            if (oldVersion == null) {
+                changes.add(new ArtifactChange(Type.ADDED, id, null, newVersion)); //NOPMD
+            } else if (!current.containsKey(id)) {
+                changes.add(new ArtifactChange(Type.REMOVED, id, oldVersion, null)); //NOPMD
+            } else if (!oldVersion.equals(newVersion)) {
+                final var type = VersionComparator.INSTANCE.compare(newVersion, oldVersion) < 0
+                        ? Type.DOWNGRADED
+                        : Type.UPGRADED;
+                changes.add(new ArtifactChange(type, id, oldVersion, newVersion)); //NOPMD
+            }
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,176 @@
+package phasza.java.cucumber.example.lib.watch;
+
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.slf4j.Logger;
+import phasza.java.cucumber.example.lib.MvnQueryException;
+import phasza.java.cucumber.example.lib.http.ContentCompression;
+import phasza.java.cucumber.example.lib.http.HttpStatusException;
+import phasza.java.cucumber.example.lib.http.ResilientExecutor;
+import phasza.java.cucumber.example.lib.http.Validators;
+import phasza.java.cucumber.example.lib.request.FieldListProperty;
+import phasza.java.cucumber.example.lib.request.MvnHttpUtils;
+import phasza.java.cucumber.example.lib.request.QueryProperty;
+import phasza.java.cucumber.example.lib.request.RowsProperty;
+import phasza.java.cucumber.example.lib.request.StartProperty;
+import phasza.java.cucumber.example.lib.request.WTProperty;
+import phasza.java.cucumber.example.lib.response.MvnResponseParser;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Polls the watched patterns and reports the changes of their latest versions since the last poll.
+ * The last known latest version per artifact id is kept in the state file (see WatchState), so the
+ * changes are reported across invocations (e.g. from a cron job).
+ * Every pattern is a single request of the first rows, which sends the validators of the last response
+ * (see Validators), so a 304 (Not Modified) answer costs no download and no parsing.
+ * On the first poll of a pattern every matching artifact is reported as added.
+ */
+@Singleton
+@RequiredArgsConstructor
+public final class ArtifactWatcher {
+
+    /**
+     * Injected, pooled HTTP client
+     */
+    private final CloseableHttpClient httpClient;
+    /**
+     * Injected negotiation and decompression of compressed responses
+     */
+    private final ContentCompression contentCompression;
+    /**
+     * Injected streaming parser of the responses
+     */
+    private final MvnResponseParser responseParser;
+    /**
+     * Injected retries, circuit breaker and pacing of the requests
+     */
+    private final ResilientExecutor resilientExecutor;
+    /**
+     * Injected watch configuration
+     */
+    private final WatchConfiguration configuration;
+    /**
+     * Injected logger
+     */
+    private final Logger logger;
+
+    /**
+     * Polls every pattern in every repository once and updates the state file.
+     * The state keeps only the polled queries, so a pattern which is no longer watched is forgotten.
+     * A query which fails keeps its last known versions, and its changes are reported by the next poll.
+     * @param repositoryURLs URLs of the repositories
+     * @param patterns Watched patterns
+     * @param rows Number of the first artifacts watched per pattern
+     * @param consumer Receives the changes per query, in the order of the ids
+     * @return Number of the queries which failed (they are logged as errors)
+     * @throws MvnQueryException if the state file cannot be read or written
+     */
+    public int poll(
+            final Collection<String> repositoryURLs,
+            final Collection<String> patterns,
+            final int rows,
+            final Consumer<ArtifactChange> consumer) {
+        final var file = path();
+        final Map<String, WatchedQuery> previous;
+        try {
+            previous = WatchState.read(file);
+        } catch (IOException e) {
+            throw new MvnQueryException(String.format("Watch state cannot be read from %s!", file), e);
+        }
+        final var current = new TreeMap<String, WatchedQuery>();
+        int failures = 0;
+        for (final var repositoryURL : repositoryURLs) {
+            for (final var pattern : patterns) {
+                final var key = WatchState.key(repositoryURL, pattern);
+                final var last = Optional.ofNullable(previous.get(key));
+                try {
+                    final var result = fetch(repositoryURL, pattern, rows, last);
+                    if (result.isPresent()) {
+                        ArtifactChange.diff(
+                                last.map(WatchedQuery::getVersions).orElseGet(TreeMap::new),
+                                result.get().getVersions()).forEach(consumer);
+                    } else {
+                        logger.debug("Not modified: {} in {}", pattern, repositoryURL);
+                    }
+                    current.put(key, result.or(() -> last).orElseThrow());
+                } catch (IOException e) {
+                    logger.error(String.format("%s: %s", pattern, e.getMessage()));
+                    last.ifPresent(i -> current.put(key, i));
+                    failures++;
+                }
+            }
+        }
+        try {
+            WatchState.write(file, current);
+        } catch (IOException e) {
+            throw new MvnQueryException(String.format("Watch state cannot be written to %s!", file), e);
+        }
+        return failures;
+    }
+
+    /**
+     * @return Path of the state file
+     */
+    public Path path() {
+        return Paths.get(configuration.getStateFile());
+    }
+
+    /**
+     * @param last Result of the last poll, which provides the validators of the request
+     * @return Result of this poll, or empty if the server answered 304 (Not Modified)
+     */
+    private Optional<WatchedQuery> fetch(
+            final String repositoryURL,
+            final String pattern,
+            final int rows,
+            final Optional<WatchedQuery> last) throws IOException {
+        final var url = MvnHttpUtils.select(
+                repositoryURL,
+                new QueryProperty(pattern),
+                new StartProperty(0),
+                new RowsProperty(rows),
+                FieldListProperty.COORDINATES,
+                WTProperty.json());
+        return resilientExecutor.execute(repositoryURL, () -> {
+            final var request = new HttpGet(url);
+            contentCompression.negotiate(request);
+            last.ifPresent(i -> i.getValidators().addTo(request));
+            return httpClient.execute(request, response -> {
+                if (Validators.isNotModified(response) && last.isPresent()) {
+                    return Optional.<WatchedQuery>empty();
+                }
+                final int status = response.getStatusLine().getStatusCode();
+                if (status != HttpStatus.SC_OK) {
+                    throw new HttpStatusException(status, headerValue(response, HttpHeaders.RETRY_AFTER));
+                }
+                final var versions = new TreeMap<String, String>();
+                responseParser.parse(
+                        contentCompression.decode(url, response),
+                        entry -> {
+                            if (entry.getId() != null) {
+                                versions.put(entry.getId(), String.valueOf(entry.getLatestVersion()));
+                            }
+                        });
+                return Optional.of(new WatchedQuery(Validators.of(response), versions));
+            });
+        });
+    }
+
+    private static String headerValue(final HttpResponse response, final String name) {
+        return Optional.ofNullable(response.getFirstHeader(name)).map(Header::getValue).orElse("");
+    }
+}
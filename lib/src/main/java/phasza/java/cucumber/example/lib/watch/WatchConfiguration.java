@@ -0,0 +1,24 @@
+package phasza.java.cucumber.example.lib.watch;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.nio.file.Paths;
+
+/**
+ * Configuration of the watched patterns (see the "watch" command).
+ * Every value can be overridden through the micronaut configuration under the "mvn.watch" prefix.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties("mvn.watch")
+public class WatchConfiguration {
+
+    /**
+     * File of the last known latest versions, shared by every invocation of the application
+     */
+    private String stateFile = Paths.get(System.getProperty("user.home"), ".mvn-query", "watch.state").toString();
+}
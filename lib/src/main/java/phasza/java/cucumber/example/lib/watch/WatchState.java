@@ -0,0 +1,128 @@
+package phasza.java.cucumber.example.lib.watch;
+
+import phasza.java.cucumber.example.lib.http.Validators;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Layout of the watch state file (big endian):
+ * - header: magic, format version and the number of the watched queries
+ * - per query: the repository URL and the pattern, the ETag and Last-Modified validators of the last
+ *   response and the number of artifacts
+ * - per artifact, in the order of the ids: the length of the prefix shared with the previous id,
+ *   the rest of the id and the latest version
+ * The ids of a pattern mostly share their group ID, so the prefix compression keeps the file small.
+ */
+final class WatchState {
+
+    /**
+     * Magic number at the start of the file ("MVNW")
+     */
+    static final int MAGIC = 0x4D564E57;
+    /**
+     * Version of the layout
+     */
+    static final int VERSION = 1;
+
+    private WatchState() {
+
+    }
+
+    /**
+     * @param repositoryURL URL of the repository
+     * @param pattern Watched pattern
+     * @return Key of the query in the state
+     */
+    static String key(final String repositoryURL, final String pattern) {
+        return repositoryURL + '\n' + pattern;
+    }
+
+    /**
+     * @param file State file
+     * @return The watched queries by their keys, empty if the file does not exist yet
+     * @throws IOException if the file cannot be read or has an unknown format
+     */
+    static Map<String, WatchedQuery> read(final Path file) throws IOException {
+        final var queries = new TreeMap<String, WatchedQuery>();
+        if (!Files.isRegularFile(file)) {
+            return queries;
+        }
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                throw new IOException("Unknown format");
+            }
+            final int queryCount = input.readInt();
+            for (int i = 0; i < queryCount; i++) {
+                final var key = key(input.readUTF(), input.readUTF());
+                final var validators = new Validators(input.readUTF(), input.readUTF()); //NOPMD
+                final var versions = new TreeMap<String, String>();
+                final int count = input.readInt();
+                var id = "";
+                for (int j = 0; j < count; j++) {
+                    id = id.substring(0, input.readUnsignedShort()) + input.readUTF();
+                    versions.put(id, input.readUTF());
+                }
+                queries.put(key, new WatchedQuery(validators, versions)); //NOPMD
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * Writes the state to a temporary file first, then moves it to its place, so concurrent
+     * invocations never read a half written state
+     * @param file State file
+     * @param queries The watched queries by their keys
+     * @throws IOException if the file cannot be written
+     */
+    static void write(final Path file, final Map<String, WatchedQuery> queries) throws IOException {
+        final var directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        final var temp = Files.createTempFile(directory, "watch", ".tmp");
+        try {
+            try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeInt(queries.size());
+                for (final var query : queries.entrySet()) {
+                    final int separator = query.getKey().indexOf('\n');
+                    output.writeUTF(query.getKey().substring(0, separator));
+                    output.writeUTF(query.getKey().substring(separator + 1));
+                    output.writeUTF(query.getValue().getValidators().getETag());
+                    output.writeUTF(query.getValue().getValidators().getLastModified());
+                    output.writeInt(query.getValue().getVersions().size());
+                    var previous = "";
+                    for (final var version : query.getValue().getVersions().entrySet()) {
+                        final var id = version.getKey();
+                        final int shared = sharedPrefix(previous, id);
+                        output.writeShort(shared);
+                        output.writeUTF(id.substring(shared));
+                        output.writeUTF(version.getValue());
+                        previous = id;
+                    }
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static int sharedPrefix(final String first, final String second) {
+        final int limit = Math.min(Math.min(first.length(), second.length()), 0xFFFF);
+        int length = 0;
+        while (length < limit && first.charAt(length) == second.charAt(length)) {
+            length++;
+        }
+        return length;
+    }
+}
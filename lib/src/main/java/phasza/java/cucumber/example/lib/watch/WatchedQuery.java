@@ -0,0 +1,22 @@
+package phasza.java.cucumber.example.lib.watch;
+
+import lombok.Value;
+import phasza.java.cucumber.example.lib.http.Validators;
+
+import java.util.SortedMap;
+
+/**
+ * Result of the last poll of a watched pattern in a repository.
+ */
+@Value
+class WatchedQuery {
+
+    /**
+     * Validators of the response, which make the next poll conditional
+     */
+    Validators validators;
+    /**
+     * Latest version per artifact id, ordered by the id
+     */
+    SortedMap<String, String> versions;
+}
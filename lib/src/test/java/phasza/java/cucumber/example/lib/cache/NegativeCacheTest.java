@@ -0,0 +1,85 @@
+package phasza.java.cucumber.example.lib.cache;
+
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.helpers.NOPLogger;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of the merge of the misses of concurrent invocations, which share the file of the negative cache
+ */
+@NoArgsConstructor
+class NegativeCacheTest {
+
+    /**
+     * Time to live of the misses, a generation covers the half of it
+     */
+    private static final Duration TIME_TO_LIVE = Duration.ofMillis(400);
+    /**
+     * URL of the repository
+     */
+    private static final String REPOSITORY_URL = "https://repository";
+
+    /**
+     * Directory of the cache file
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * The misses recorded into the same generation by two invocations are both kept
+     */
+    @Test
+    void sameGeneration() {
+        final var stored = newCache();
+        stored.recordMiss(REPOSITORY_URL, "first");
+        stored.close();
+        final var one = newCache();
+        final var other = newCache();
+        one.recordMiss(REPOSITORY_URL, "one");
+        other.recordMiss(REPOSITORY_URL, "other");
+        one.close();
+        other.close();
+        assertEquals(List.of(true, true, true, false), knownMisses("first", "one", "other", "unknown"),
+                "Misses of the same generation were not merged");
+    }
+
+    /**
+     * The generation, which another invocation rotated meanwhile, is not overwritten by an older one
+     * @throws InterruptedException if the test is interrupted
+     */
+    @Test
+    void rotatedGeneration() throws InterruptedException {
+        final var older = newCache();
+        older.recordMiss(REPOSITORY_URL, "older");
+        Thread.sleep(TIME_TO_LIVE.toMillis() / 2 + 50);
+        final var newer = newCache();
+        newer.recordMiss(REPOSITORY_URL, "newer");
+        newer.close();
+        older.close();
+        assertEquals(List.of(true, true, false), knownMisses("newer", "older", "unknown"),
+                "Misses of the rotated generation were lost");
+    }
+
+    private List<Boolean> knownMisses(final String... patterns) {
+        final var cache = newCache();
+        return Arrays.stream(patterns).map(i -> cache.isKnownMiss(REPOSITORY_URL, i)).collect(Collectors.toList());
+    }
+
+    private NegativeCache newCache() {
+        final var configuration = new NegativeCacheConfiguration();
+        configuration.setEnabled(true);
+        configuration.setFile(directory.resolve("negative.bloom").toString());
+        configuration.setTimeToLive(TIME_TO_LIVE);
+        configuration.setExpectedEntries(1000);
+        return new NegativeCache(configuration, NOPLogger.NOP_LOGGER);
+    }
+}
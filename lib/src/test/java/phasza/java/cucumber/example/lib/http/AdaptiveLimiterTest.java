@@ -0,0 +1,143 @@
+package phasza.java.cucumber.example.lib.http;
+
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the permits and the adaptation of the concurrency limit
+ */
+@NoArgsConstructor
+class AdaptiveLimiterTest {
+
+    /**
+     * Latency of the answers of an idle server
+     */
+    private static final long LOW_LATENCY = TimeUnit.MILLISECONDS.toNanos(10);
+    /**
+     * Latency of the answers of a queueing server, above the tolerance
+     */
+    private static final long HIGH_LATENCY = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * Without the adaptive concurrency, the permits are not limited
+     */
+    @Test
+    void nonAdaptiveLimiterDoesNotLimit() {
+        final var configuration = new RateLimitConfiguration();
+        configuration.setAdaptiveConcurrency(false);
+        configuration.setInitialConcurrency(1);
+        final var limiter = new AdaptiveLimiter(configuration);
+        boolean granted = true;
+        for (int i = 0; i < 1_000; i++) {
+            granted &= limiter.acquire().isDone();
+        }
+        assertTrue(granted, "Non-adaptive limiter held back a permit");
+    }
+
+    /**
+     * The permits above the limit wait
+     */
+    @Test
+    void permitAboveLimitWaits() {
+        final var limiter = limiter(2);
+        limiter.acquire();
+        limiter.acquire();
+        assertFalse(limiter.acquire().isDone(), "Permit above the limit was granted");
+    }
+
+    /**
+     * A released permit is granted to the next waiter
+     */
+    @Test
+    void releasedPermitIsGrantedToWaiter() {
+        final var limiter = limiter(1);
+        limiter.acquire();
+        final var waiter = limiter.acquire();
+        limiter.onIgnored();
+        assertTrue(waiter.isDone(), "Released permit was not granted to the waiter");
+    }
+
+    /**
+     * A cancelled waiter gives up its place, the permit goes to the next one
+     */
+    @Test
+    void cancelledWaiterIsSkipped() {
+        final var limiter = limiter(1);
+        limiter.acquire();
+        final CompletableFuture<Void> cancelled = limiter.acquire();
+        final var waiter = limiter.acquire();
+        cancelled.cancel(false);
+        limiter.onIgnored();
+        assertTrue(waiter.isDone(), "Permit was not granted after the cancelled waiter");
+    }
+
+    /**
+     * The limit grows while the latency stays flat
+     */
+    @Test
+    void limitGrowsWithFlatLatency() {
+        final var limiter = limiter(4);
+        answer(limiter, LOW_LATENCY, 20);
+        assertTrue(limiter.getLimit() > 4, "Limit did not grow: " + limiter.getLimit());
+    }
+
+    /**
+     * The limit shrinks when the latency rises above the tolerance
+     */
+    @Test
+    void limitShrinksWithRisingLatency() {
+        final var limiter = limiter(8);
+        answer(limiter, LOW_LATENCY, 10);
+        final int before = limiter.getLimit();
+        answer(limiter, HIGH_LATENCY, 30);
+        assertTrue(limiter.getLimit() < before, "Limit did not shrink: " + limiter.getLimit());
+    }
+
+    /**
+     * The limit is halved when the server throttles
+     */
+    @Test
+    void limitIsHalvedWhenThrottled() {
+        final var limiter = limiter(16);
+        limiter.acquire();
+        limiter.onThrottled();
+        assertEquals(8, limiter.getLimit(), "Limit was not halved");
+    }
+
+    /**
+     * The limit does not go below the lower bound
+     */
+    @Test
+    void limitStaysAboveMinimum() {
+        final var limiter = limiter(16);
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire();
+            limiter.onThrottled();
+        }
+        assertEquals(1, limiter.getLimit(), "Limit went below the minimum");
+    }
+
+    private static AdaptiveLimiter limiter(final int initial) {
+        final var configuration = new RateLimitConfiguration();
+        configuration.setAdaptiveConcurrency(true);
+        configuration.setInitialConcurrency(initial);
+        configuration.setMinConcurrency(1);
+        configuration.setMaxConcurrency(64);
+        configuration.setLatencyTolerance(2);
+        return new AdaptiveLimiter(configuration);
+    }
+
+    private static void answer(final AdaptiveLimiter limiter, final long latencyNanos, final int count) {
+        for (int i = 0; i < count; i++) {
+            limiter.acquire();
+            limiter.onSuccess(latencyNanos);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package phasza.java.cucumber.example.lib.http;
+
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the classification of the status codes and the parsing of the Retry-After header
+ */
+@NoArgsConstructor
+class HttpStatusExceptionTest {
+
+    /**
+     * Retry-After as a delay in seconds
+     */
+    @Test
+    void retryAfterSeconds() {
+        assertEquals(
+                Optional.of(Duration.ofSeconds(120)),
+                new HttpStatusException(429, " 120 ").getRetryAfter(),
+                "Delay in seconds was not parsed");
+    }
+
+    /**
+     * A negative delay means no waiting
+     */
+    @Test
+    void negativeRetryAfterIsZero() {
+        assertEquals(
+                Optional.of(Duration.ZERO),
+                new HttpStatusException(429, "-5").getRetryAfter(),
+                "Negative delay was not cut to zero");
+    }
+
+    /**
+     * Retry-After as an HTTP date
+     */
+    @Test
+    void retryAfterDate() {
+        final var date = DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(60));
+        final var delay = new HttpStatusException(503, date).getRetryAfter().orElseThrow();
+        assertTrue(
+                delay.compareTo(Duration.ofSeconds(58)) > 0 && delay.compareTo(Duration.ofSeconds(60)) <= 0,
+                "HTTP date was parsed to " + delay);
+    }
+
+    /**
+     * An HTTP date in the past means no waiting
+     */
+    @Test
+    void pastRetryAfterDateIsZero() {
+        assertEquals(
+                Optional.of(Duration.ZERO),
+                new HttpStatusException(503, "Wed, 21 Oct 2015 07:28:00 GMT").getRetryAfter(),
+                "Past date was not cut to zero");
+    }
+
+    /**
+     * An invalid header is ignored
+     */
+    @Test
+    void invalidRetryAfterIsIgnored() {
+        assertFalse(
+                new HttpStatusException(429, "soon").getRetryAfter().isPresent(),
+                "Invalid header was parsed");
+    }
+
+    /**
+     * A missing header is ignored
+     */
+    @Test
+    void missingRetryAfterIsIgnored() {
+        assertFalse(new HttpStatusException(429).getRetryAfter().isPresent(), "Missing header was parsed");
+    }
+
+    /**
+     * 429 is throttling and worth retrying
+     */
+    @Test
+    void tooManyRequestsIsThrottled() {
+        final var exception = new HttpStatusException(429);
+        assertTrue(exception.isTransient() && exception.isThrottled(), "429 is not a transient throttling");
+    }
+
+    /**
+     * A server error is worth retrying, but it is not throttling
+     */
+    @Test
+    void serverErrorIsTransient() {
+        final var exception = new HttpStatusException(500);
+        assertTrue(exception.isTransient() && !exception.isThrottled(), "500 is not a transient error");
+    }
+
+    /**
+     * A client error is permanent
+     */
+    @Test
+    void clientErrorIsPermanent() {
+        assertFalse(new HttpStatusException(404).isTransient(), "404 is transient");
+    }
+}
@@ -0,0 +1,79 @@
+package phasza.java.cucumber.example.lib.http;
+
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.helpers.NOPLogger;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of the circuit breaker of the executor.
+ * The circuit breaker opens after a single failure and is half open right away, without retries.
+ */
+@NoArgsConstructor
+class ResilientExecutorTest {
+
+    /**
+     * URL of the repository
+     */
+    private static final String REPOSITORY_URL = "https://repository";
+
+    /**
+     * Instance under test
+     */
+    private final ResilientExecutor executor = newExecutor();
+
+    /**
+     * Stops the executor
+     */
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    /**
+     * An unexpected exception of the trial request does not leave the circuit breaker half open forever,
+     * the next request is let through
+     * @throws IOException if the last request is rejected
+     */
+    @Test
+    void runtimeExceptionReleasesTrial() throws IOException {
+        fail(() -> {
+            throw new ConnectException("Connection refused");
+        });
+        fail(() -> {
+            throw new IllegalStateException("Unexpected answer");
+        });
+        assertEquals("answer", executor.execute(REPOSITORY_URL, () -> "answer"), "Trial request was not released");
+    }
+
+    /**
+     * Executes a call which is expected to fail
+     * @param call Failing call
+     */
+    private void fail(final RepositoryCall<String> call) {
+        try {
+            executor.execute(REPOSITORY_URL, call);
+        } catch (IOException | RuntimeException e) { //NOPMD
+            //Expected
+        }
+    }
+
+    private static ResilientExecutor newExecutor() {
+        final var retryConfiguration = new RetryConfiguration();
+        retryConfiguration.setMaxAttempts(1);
+        final var circuitBreakerConfiguration = new CircuitBreakerConfiguration();
+        circuitBreakerConfiguration.setFailureThreshold(1);
+        circuitBreakerConfiguration.setOpenDuration(Duration.ZERO);
+        return new ResilientExecutor(
+                retryConfiguration,
+                circuitBreakerConfiguration,
+                new RateLimitConfiguration(),
+                NOPLogger.NOP_LOGGER);
+    }
+}
@@ -0,0 +1,219 @@
+package phasza.java.cucumber.example.lib.http;
+
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Tests of the collapsing of the concurrent, identical calls.
+ * The leader call is held on a latch, until the follower is waiting for it.
+ */
+@NoArgsConstructor
+@SuppressWarnings("PMD.JUnitTestContainsTooManyAsserts")
+class SingleFlightTest {
+
+    /**
+     * Key of the identical calls
+     */
+    private static final String KEY = "https://repository/select?q=guice";
+    /**
+     * Time a thread has to reach its expected state
+     */
+    private static final long TIMEOUT_SECONDS = 5;
+
+    /**
+     * Released when the leader call has started
+     */
+    private final CountDownLatch started = new CountDownLatch(1);
+    /**
+     * Releases the leader call
+     */
+    private final CountDownLatch release = new CountDownLatch(1);
+    /**
+     * Number of the executed calls
+     */
+    private final AtomicInteger executions = new AtomicInteger();
+    /**
+     * Instance under test
+     */
+    private final SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+
+    /**
+     * The follower receives the result of the leader, without executing its call
+     * @throws Exception if a call fails
+     */
+    @Test
+    void concurrentCallsShareResult() throws Exception {
+        final var result = new Object();
+        final var leader = start(() -> singleFlight.execute(KEY, held(() -> result)));
+        final var follower = follow(() -> singleFlight.execute(KEY, counted(Object::new)));
+        release.countDown();
+        assertSame(result, leader.get(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Leader received another result");
+        assertSame(result, follower.get(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Follower received another result");
+        assertEquals(1, executions.get(), "The identical calls were not collapsed");
+    }
+
+    /**
+     * The follower receives the failure of the leader
+     * @throws Exception if the test is interrupted
+     */
+    @Test
+    void concurrentCallsShareFailure() throws Exception {
+        final var failure = new IOException("Unexpected HTTP status: 503");
+        start(() -> singleFlight.execute(KEY, held(() -> {
+            throw failure;
+        })));
+        final var follower = follow(() -> singleFlight.execute(KEY, counted(Object::new)));
+        release.countDown();
+        final var thrown = assertThrows(ExecutionException.class,
+                () -> follower.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertSame(failure, thrown.getCause(), "Follower received another failure");
+        assertEquals(1, executions.get(), "The follower executed its call");
+    }
+
+    /**
+     * When the call of the leader is interrupted (cancelled by its own caller), the follower executes its call
+     * @throws Exception if a call fails
+     */
+    @Test
+    void followerExecutesAfterInterruptedLeader() throws Exception {
+        final var result = new Object();
+        start(() -> singleFlight.execute(KEY, held(() -> {
+            throw new InterruptedIOException("Cancelled");
+        })));
+        final var follower = follow(() -> singleFlight.execute(KEY, counted(() -> result)));
+        release.countDown();
+        assertSame(result, follower.get(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Follower did not execute its call");
+        assertEquals(2, executions.get(), "Unexpected number of calls");
+    }
+
+    /**
+     * A call after the previous one finished is executed again
+     * @throws IOException if a call fails
+     */
+    @Test
+    void finishedCallIsExecutedAgain() throws IOException {
+        singleFlight.execute(KEY, counted(Object::new));
+        assertThrows(IOException.class, () -> singleFlight.execute(KEY, counted(() -> {
+            throw new IOException("Unexpected HTTP status: 503");
+        })));
+        singleFlight.execute(KEY, counted(Object::new));
+        assertEquals(3, executions.get(), "A finished call was shared");
+    }
+
+    /**
+     * The asynchronous callers share the call, a cancelled copy does not affect the others
+     */
+    @Test
+    void cancelledAsyncCopyDoesNotAffectOthers() {
+        final var call = new CompletableFuture<Object>();
+        final var first = singleFlight.executeAsync(KEY, () -> {
+            executions.incrementAndGet();
+            return call;
+        });
+        final var second = singleFlight.executeAsync(KEY, () -> {
+            executions.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        first.cancel(true);
+        final var result = new Object();
+        call.complete(result);
+        assertSame(result, second.join(), "The other caller did not receive the result");
+        assertFalse(call.isCancelled(), "The shared call was cancelled");
+        assertEquals(1, executions.get(), "The asynchronous calls were not collapsed");
+    }
+
+    /**
+     * The asynchronous call is removed when it completes, or when it cannot be started
+     */
+    @Test
+    void finishedAsyncCallIsExecutedAgain() {
+        singleFlight.executeAsync(KEY, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(new Object());
+        });
+        final var failed = singleFlight.executeAsync(KEY, () -> {
+            executions.incrementAndGet();
+            throw new IllegalStateException("Connection pool is shut down");
+        });
+        singleFlight.executeAsync(KEY, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(new Object());
+        });
+        assertTrue(failed.isCompletedExceptionally(), "The call which cannot be started did not fail");
+        assertEquals(3, executions.get(), "A finished asynchronous call was shared");
+    }
+
+    /**
+     * @return The call, which signals its start and waits for the release
+     */
+    private RepositoryCall<Object> held(final RepositoryCall<Object> call) {
+        return counted(() -> {
+            started.countDown();
+            try {
+                if (!release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    fail("The call was not released");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while held");
+            }
+            return call.call();
+        });
+    }
+
+    /**
+     * @return The call, which counts its executions
+     */
+    private RepositoryCall<Object> counted(final RepositoryCall<Object> call) {
+        return () -> {
+            executions.incrementAndGet();
+            return call.call();
+        };
+    }
+
+    /**
+     * Starts the follower, after the leader has started, and waits until it waits for the leader
+     */
+    private FutureTask<Object> follow(final Callable<Object> callable) throws InterruptedException {
+        if (!started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            fail("The leader has not started");
+        }
+        final var task = new FutureTask<>(callable);
+        final var thread = new Thread(task);
+        thread.setDaemon(true);
+        thread.start();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (thread.getState() != Thread.State.WAITING) {
+            if (System.nanoTime() > deadline) {
+                fail("The follower is not waiting for the leader");
+            }
+            Thread.onSpinWait();
+        }
+        return task;
+    }
+
+    private static FutureTask<Object> start(final Callable<Object> callable) {
+        final var task = new FutureTask<>(callable);
+        final var thread = new Thread(task);
+        thread.setDaemon(true);
+        thread.start();
+        return task;
+    }
+}
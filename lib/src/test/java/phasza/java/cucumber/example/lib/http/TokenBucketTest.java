@@ -0,0 +1,98 @@
+package phasza.java.cucumber.example.lib.http;
+
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the pacing of the token bucket
+ */
+@NoArgsConstructor
+class TokenBucketTest {
+
+    /**
+     * An unlimited bucket never holds back a request
+     */
+    @Test
+    void unlimitedBucketNeverWaits() {
+        final var bucket = new TokenBucket(0, 1);
+        long waited = 0;
+        for (int i = 0; i < 100; i++) {
+            waited += bucket.reserve();
+        }
+        assertEquals(0, waited, "Unlimited bucket held back a request");
+    }
+
+    /**
+     * The burst is sent at once
+     */
+    @Test
+    void burstIsSentAtOnce() {
+        final var bucket = new TokenBucket(1, 3);
+        long waited = 0;
+        for (int i = 0; i < 3; i++) {
+            waited += bucket.reserve();
+        }
+        assertEquals(0, waited, "A request of the burst was held back");
+    }
+
+    /**
+     * The request after the burst waits for the next token
+     */
+    @Test
+    void requestAfterBurstWaitsForToken() {
+        final var bucket = new TokenBucket(1, 3);
+        for (int i = 0; i < 3; i++) {
+            bucket.reserve();
+        }
+        final long wait = bucket.reserve();
+        assertTrue(
+                wait > TimeUnit.MILLISECONDS.toNanos(900) && wait <= TimeUnit.MILLISECONDS.toNanos(1_001),
+                "Request after the burst waited " + wait + "ns instead of about a second");
+    }
+
+    /**
+     * The waiting requests reserve their tokens ahead, so they are spread evenly
+     */
+    @Test
+    void waitingRequestsAreSpread() {
+        final var bucket = new TokenBucket(10, 1);
+        bucket.reserve();
+        final long first = bucket.reserve();
+        final long second = bucket.reserve();
+        final long gap = second - first;
+        assertTrue(
+                gap > TimeUnit.MILLISECONDS.toNanos(90) && gap <= TimeUnit.MILLISECONDS.toNanos(101),
+                "Waiting requests are " + gap + "ns apart instead of the period of the rate");
+    }
+
+    /**
+     * A pause holds back even an unlimited bucket
+     */
+    @Test
+    void pauseHoldsBackRequests() {
+        final var bucket = new TokenBucket(0, 1);
+        bucket.pause(TimeUnit.SECONDS.toNanos(5));
+        final long wait = bucket.reserve();
+        assertTrue(
+                wait > TimeUnit.SECONDS.toNanos(4) && wait <= TimeUnit.SECONDS.toNanos(5),
+                "Paused bucket waited " + wait + "ns instead of the pause");
+    }
+
+    /**
+     * A shorter pause does not cut an ongoing longer one
+     */
+    @Test
+    void shorterPauseKeepsLongerPause() {
+        final var bucket = new TokenBucket(0, 1);
+        bucket.pause(TimeUnit.SECONDS.toNanos(5));
+        bucket.pause(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(
+                bucket.reserve() > TimeUnit.SECONDS.toNanos(4),
+                "Shorter pause cut the longer one");
+    }
+}
@@ -0,0 +1,77 @@
+package phasza.java.cucumber.example.lib.index;
+
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import phasza.java.cucumber.example.lib.response.DocsEntry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests of the layout of the index file, written by ArtifactIndexFormat and read back by ArtifactIndexReader
+ */
+@NoArgsConstructor
+class ArtifactIndexFormatTest {
+
+    /**
+     * Directory of the index files
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * The artifacts are read back in the display order, a missing latest version stays missing
+     * @throws IOException if the index cannot be written or read
+     */
+    @Test
+    void roundTrip() throws IOException {
+        final var file = directory.resolve("index.bin");
+        ArtifactIndexFormat.write(file, List.of("com"), List.of(
+                new DocsEntry("com.pot.java:gigen", "com.pot.java", "gigen", "1.2.3.4", 1),
+                new DocsEntry("com.google:guice", "com.google", "guice", null, 3)));
+        final var entries = new ArrayList<DocsEntry>();
+        ArtifactIndexReader.open(file).forEach(entries::add);
+        assertEquals(List.of(
+                new DocsEntry("com.google:guice", "com.google", "guice", null, 3),
+                new DocsEntry("com.pot.java:gigen", "com.pot.java", "gigen", "1.2.3.4", 1)),
+                entries,
+                "Artifacts were not read back");
+    }
+
+    /**
+     * A string whose length does not fit in the length prefix is rejected, instead of corrupting the index
+     */
+    @Test
+    void tooLongString() {
+        final var file = directory.resolve("index.bin");
+        final var id = "com:" + "a".repeat(ArtifactIndexFormat.MAX_STRING_LENGTH);
+        assertThrows(IOException.class,
+                () -> ArtifactIndexFormat.write(file, List.of("com"), List.of(new DocsEntry(id, "com", "a", "1", 1))),
+                "Too long string was written");
+    }
+
+    /**
+     * The rejected index leaves neither the index nor its temporary file behind
+     * @throws IOException if the directory cannot be listed
+     */
+    @Test
+    void tooLongStringLeavesNoFile() throws IOException {
+        final var file = directory.resolve("index.bin");
+        try {
+            ArtifactIndexFormat.write(file, List.of("a".repeat(ArtifactIndexFormat.MAX_STRING_LENGTH + 1)), List.of());
+        } catch (IOException e) { //NOPMD
+            //Expected
+        }
+        try (var files = Files.list(directory)) {
+            assertFalse(files.findAny().isPresent(), "Rejected index left a file behind");
+        }
+    }
+}
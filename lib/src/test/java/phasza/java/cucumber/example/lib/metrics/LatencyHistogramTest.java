@@ -0,0 +1,130 @@
+package phasza.java.cucumber.example.lib.metrics;
+
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of the buckets and the percentiles of the latency histogram
+ */
+@NoArgsConstructor
+class LatencyHistogramTest {
+
+    /**
+     * Index of the last, unbounded bucket
+     */
+    private static final int LAST_BUCKET = 21;
+
+    /**
+     * The bounds double from 100 µs
+     */
+    @Test
+    void boundsDouble() {
+        assertEquals(
+                "100000 200000 400000 104857600000 " + Long.MAX_VALUE,
+                LatencyHistogram.upperBound(0) + " " + LatencyHistogram.upperBound(1) + " "
+                        + LatencyHistogram.upperBound(2) + " " + LatencyHistogram.upperBound(20) + " "
+                        + LatencyHistogram.upperBound(LAST_BUCKET),
+                "Unexpected bucket bounds");
+    }
+
+    /**
+     * A latency on a bound belongs to the bucket of the bound, a latency above it to the next one
+     */
+    @Test
+    void latencyOnBoundIsInItsBucket() {
+        final var histogram = new LatencyHistogram();
+        histogram.record(100_000);
+        histogram.record(100_001);
+        histogram.record(200_000);
+        histogram.record(200_001);
+        final var snapshot = histogram.snapshot();
+        assertEquals(
+                "1 2 1",
+                snapshot.getBucketCount(0) + " " + snapshot.getBucketCount(1) + " " + snapshot.getBucketCount(2),
+                "Latencies are in the wrong buckets");
+    }
+
+    /**
+     * Zero and negative latencies are in the first bucket
+     */
+    @Test
+    void negativeLatencyIsInFirstBucket() {
+        final var histogram = new LatencyHistogram();
+        histogram.record(0);
+        histogram.record(-5);
+        assertEquals(2, histogram.snapshot().getBucketCount(0), "Latencies are not in the first bucket");
+    }
+
+    /**
+     * A latency above the last bound is in the unbounded bucket
+     */
+    @Test
+    void longLatencyIsInLastBucket() {
+        final var histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MINUTES.toNanos(5));
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(2, histogram.snapshot().getBucketCount(LAST_BUCKET), "Latencies are not in the last bucket");
+    }
+
+    /**
+     * The count and the sum include every latency
+     */
+    @Test
+    void countAndSum() {
+        final var histogram = new LatencyHistogram();
+        histogram.record(50_000);
+        histogram.record(1_000_000);
+        histogram.record(3_000_000);
+        final var snapshot = histogram.snapshot();
+        assertEquals("3 4050000", snapshot.getCount() + " " + snapshot.getSumNanos(), "Unexpected count and sum");
+    }
+
+    /**
+     * The percentiles are the upper bounds of their buckets
+     */
+    @Test
+    void percentilesAreBucketBounds() {
+        final var histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(50_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(1_000_000);
+        }
+        final var snapshot = histogram.snapshot();
+        assertEquals(
+                "100000 100000 1600000 1600000",
+                snapshot.percentile(0.5) + " " + snapshot.percentile(0.9) + " "
+                        + snapshot.percentile(0.95) + " " + snapshot.percentile(1),
+                "Unexpected percentiles");
+    }
+
+    /**
+     * An empty histogram has no percentiles
+     */
+    @Test
+    void emptyPercentileIsZero() {
+        assertEquals(0, new LatencyHistogram().snapshot().percentile(0.95), "Empty histogram has a percentile");
+    }
+
+    /**
+     * The difference of two snapshots contains the latencies recorded in between
+     */
+    @Test
+    void differenceOfSnapshots() {
+        final var histogram = new LatencyHistogram();
+        histogram.record(50_000);
+        final var before = histogram.snapshot();
+        histogram.record(150_000);
+        final var difference = histogram.snapshot().minus(before);
+        assertEquals(
+                "1 150000 0 1",
+                difference.getCount() + " " + difference.getSumNanos() + " "
+                        + difference.getBucketCount(0) + " " + difference.getBucketCount(1),
+                "Unexpected difference");
+    }
+}
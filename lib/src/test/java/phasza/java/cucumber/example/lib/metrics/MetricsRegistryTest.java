@@ -0,0 +1,67 @@
+package phasza.java.cucumber.example.lib.metrics;
+
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertLinesMatch;
+
+/**
+ * Tests of the Prometheus text format of the metrics registry
+ */
+@NoArgsConstructor
+class MetricsRegistryTest {
+
+    /**
+     * The header is followed by the cumulative buckets, the sum and the count of the phase
+     * @throws IOException if the metrics cannot be written
+     */
+    @Test
+    void histogramOfPhase() throws IOException {
+        final var registry = new MetricsRegistry();
+        registry.record(QueryPhase.OUTPUT, 50_000);
+        registry.record(QueryPhase.OUTPUT, 150_000);
+        assertLinesMatch(
+                List.of(
+                        "# HELP mvn_query_phase_seconds Latency of the phases of the maven queries",
+                        "# TYPE mvn_query_phase_seconds histogram",
+                        ">> other phases >>",
+                        "mvn_query_phase_seconds_bucket{phase=\"output\",le=\"1.0E-4\"} 1",
+                        "mvn_query_phase_seconds_bucket{phase=\"output\",le=\"2.0E-4\"} 2",
+                        "mvn_query_phase_seconds_bucket{phase=\"output\",le=\"4.0E-4\"} 2",
+                        ">> higher buckets >>",
+                        "mvn_query_phase_seconds_bucket{phase=\"output\",le=\"+Inf\"} 2",
+                        "mvn_query_phase_seconds_sum{phase=\"output\"} 2.0E-4",
+                        "mvn_query_phase_seconds_count{phase=\"output\"} 2"),
+                prometheus(registry),
+                "Unexpected histogram of the phase");
+    }
+
+    /**
+     * Every phase is written, even without latencies
+     * @throws IOException if the metrics cannot be written
+     */
+    @Test
+    void everyPhaseIsWritten() throws IOException {
+        assertEquals(
+                Arrays.stream(QueryPhase.values())
+                        .map(i -> String.format("mvn_query_phase_seconds_count{phase=\"%s\"} 0", i.getLabel()))
+                        .collect(Collectors.toList()),
+                prometheus(new MetricsRegistry()).stream()
+                        .filter(i -> i.startsWith("mvn_query_phase_seconds_count"))
+                        .collect(Collectors.toList()),
+                "Not every phase is written");
+    }
+
+    private static List<String> prometheus(final MetricsRegistry registry) throws IOException {
+        final var writer = new StringWriter();
+        registry.writePrometheus(writer);
+        return writer.toString().lines().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,140 @@
+package phasza.java.cucumber.example.lib.response;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that the hand-written deserializers bind the responses exactly as the default (reflection based) ones
+ */
+@NoArgsConstructor
+class MvnResponseModuleTest {
+
+    /**
+     * Mapper with the default deserializers
+     */
+    private final JsonMapper reflection = new JsonMapper();
+    /**
+     * Mapper with the hand-written deserializers
+     */
+    private final JsonMapper handWritten = JsonMapper.builder().addModule(new MvnResponseModule()).build();
+
+    /**
+     * Every field of the artifacts is set
+     * @throws IOException if the JSON cannot be parsed
+     */
+    @Test
+    void completeResponse() throws IOException {
+        assertSameBinding("{\"response\":{\"numFound\":2,\"docs\":["
+                + "{\"id\":\"com.google:guice\",\"g\":\"com.google\",\"a\":\"guice\","
+                + "\"latestVersion\":\"1.0\",\"versionCount\":3},"
+                + "{\"id\":\"no.men:est-omen\",\"g\":\"no.men\",\"a\":\"est-omen\","
+                + "\"latestVersion\":\"6.0\",\"versionCount\":1}]}}");
+    }
+
+    /**
+     * The missing fields are null (or 0)
+     * @throws IOException if the JSON cannot be parsed
+     */
+    @Test
+    void missingFields() throws IOException {
+        assertSameBinding("{\"response\":{\"docs\":[{\"id\":\"com.google:guice\"},{}]}}");
+    }
+
+    /**
+     * The null fields are null (or 0)
+     * @throws IOException if the JSON cannot be parsed
+     */
+    @Test
+    void nullFields() throws IOException {
+        assertSameBinding("{\"response\":{\"numFound\":null,\"docs\":[{\"id\":null,\"g\":null,\"a\":null,"
+                + "\"latestVersion\":null,\"versionCount\":null},null]}}");
+    }
+
+    /**
+     * The unknown fields are skipped, even if they are objects or arrays
+     * @throws IOException if the JSON cannot be parsed
+     */
+    @Test
+    void unknownFields() throws IOException {
+        assertSameBinding("{\"responseHeader\":{\"status\":0,\"params\":{\"q\":\"guice\"}},"
+                + "\"response\":{\"start\":0,\"numFound\":1,\"docs\":[{\"id\":\"com.google:guice\","
+                + "\"text\":[\"com.google\",\"guice\"],\"ec\":[\".jar\"],\"nested\":{\"deep\":[{}]},"
+                + "\"timestamp\":1234567890,\"latestVersion\":\"1.0\"}]},\"spellcheck\":{\"suggestions\":[]}}");
+    }
+
+    /**
+     * An empty list of artifacts stays empty
+     * @throws IOException if the JSON cannot be parsed
+     */
+    @Test
+    void emptyDocs() throws IOException {
+        assertSameBinding("{\"response\":{\"numFound\":0,\"docs\":[]}}");
+    }
+
+    /**
+     * A missing or null list of artifacts is null
+     * @throws IOException if the JSON cannot be parsed
+     */
+    @Test
+    void missingAndNullDocs() throws IOException {
+        assertSameBinding("[{\"response\":{\"numFound\":0}},{\"response\":{\"numFound\":0,\"docs\":null}}]");
+    }
+
+    /**
+     * A missing or null response is null
+     * @throws IOException if the JSON cannot be parsed
+     */
+    @Test
+    void missingAndNullResponse() throws IOException {
+        assertSameBinding("[{},{\"response\":null}]");
+    }
+
+    /**
+     * The scalars are coerced the same way
+     * @throws IOException if the JSON cannot be parsed
+     */
+    @Test
+    void coercedScalars() throws IOException {
+        assertSameBinding("{\"response\":{\"numFound\":\"12\",\"docs\":[{\"id\":\"com.google:guice\","
+                + "\"latestVersion\":1.5,\"versionCount\":\"7\"}]}}");
+    }
+
+    /**
+     * The streaming parser with the hand-written deserializers returns the artifacts of the default mapper
+     * @throws IOException if the JSON cannot be parsed
+     */
+    @Test
+    void streamingParser() throws IOException {
+        final var json = "{\"responseHeader\":{\"status\":0},\"response\":{\"numFound\":3,\"docs\":["
+                + "{\"id\":\"com.google:guice\",\"g\":\"com.google\",\"a\":\"guice\",\"latestVersion\":\"1.0\","
+                + "\"versionCount\":3,\"unknown\":[1,2]},{\"id\":\"no.men:est-omen\"},{}]}}";
+        final var configuration = new MvnJsonConfiguration();
+        configuration.setHandWrittenDeserializers(true);
+        final var streamed = new ArrayList<DocsEntry>();
+        new MvnResponseParser(new JsonMapper(), configuration).parse(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), streamed::add);
+        assertEquals(
+                reflection.readValue(json, MvnResponse.class).getResponse().getDocs(),
+                streamed,
+                "The streamed artifacts differ from the default binding");
+    }
+
+    /**
+     * Binds the JSON (a response, or an array of responses) with both mappers
+     */
+    private void assertSameBinding(final String json) throws IOException {
+        final var type = json.startsWith("[") ? MvnResponse[].class : MvnResponse.class;
+        assertEquals(
+                reflection.writeValueAsString(reflection.readValue(json, type)),
+                reflection.writeValueAsString(handWritten.readValue(json, type)),
+                "The hand-written binding differs from the default one");
+    }
+}
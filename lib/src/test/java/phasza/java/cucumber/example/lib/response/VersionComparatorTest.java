@@ -0,0 +1,67 @@
+package phasza.java.cucumber.example.lib.response;
+
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of the order of the versions, compared to the order of maven's ComparableVersion
+ */
+@NoArgsConstructor
+class VersionComparatorTest {
+
+    /**
+     * Numeric items are compared as numbers, a missing item is the release
+     */
+    @Test
+    void numericItems() {
+        final var expected = Arrays.asList("1.0-alpha", "1", "1.0.1", "1.9", "1.10", "2");
+        assertEquals(expected, shuffledAndSorted(expected), "Versions are not in maven's order");
+    }
+
+    /**
+     * Well-known qualifiers are ordered by their ranks, with their aliases
+     */
+    @Test
+    void knownQualifiers() {
+        final var expected = Arrays.asList(
+                "1.0-alpha", "1.0-b", "1.0-milestone", "1.0-cr", "1.0-snapshot", "1.0-final", "1.0-sp");
+        assertEquals(expected, shuffledAndSorted(expected), "Versions are not in maven's order");
+    }
+
+    /**
+     * Unknown qualifiers are newer than the well-known ones, and are ordered lexically among themselves
+     */
+    @Test
+    void unknownQualifiers() {
+        final var expected = Arrays.asList("1.0-alpha", "1.0", "1.0-sp", "1.0-jboss", "1.0-redhat", "1.0.1");
+        assertEquals(expected, shuffledAndSorted(expected), "Versions are not in maven's order");
+    }
+
+    /**
+     * The qualifiers are case insensitive, and null is older than anything
+     */
+    @Test
+    void caseAndNull() {
+        final var expected = Arrays.asList(null, "1.0-RC", "1.0-GA", "1.0-SP");
+        assertEquals(expected, shuffledAndSorted(expected), "Versions are not in maven's order");
+    }
+
+    /**
+     * @param versions Versions from the oldest to the newest
+     * @return The versions shuffled, then sorted by the comparator
+     */
+    private static List<String> shuffledAndSorted(final List<String> versions) {
+        final var result = new ArrayList<>(versions);
+        Collections.reverse(result);
+        Collections.swap(result, 0, result.size() / 2);
+        result.sort(VersionComparator.INSTANCE);
+        return result;
+    }
+}
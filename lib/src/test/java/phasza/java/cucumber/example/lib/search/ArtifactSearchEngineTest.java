@@ -0,0 +1,167 @@
+package phasza.java.cucumber.example.lib.search;
+
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import phasza.java.cucumber.example.lib.MvnConnector;
+import phasza.java.cucumber.example.lib.response.DocsEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the substring and prefix searches of the in-memory engine
+ */
+@NoArgsConstructor
+class ArtifactSearchEngineTest {
+
+    /**
+     * Artifacts out of display order, the ids differ right where ':' sorts after '-' and '.'
+     */
+    private static final List<DocsEntry> ARTIFACTS = List.of(
+            entry("com.google:guice", "1.0"),
+            entry("org.apache:commons-io", "2.11"),
+            entry("com.google:guice-ext", "2.0"),
+            entry("com.google.inject:guice", "3.0"),
+            entry("abcxbcd:trap", "1.0"),
+            entry("zabcdz:hit", "1.0"));
+
+    /**
+     * The matches are returned in display order, as if the formatted strings were sorted
+     */
+    @Test
+    void substringMatchesAreInDisplayOrder() {
+        assertEquals(
+                List.of("com.google.inject:guice", "com.google:guice-ext", "com.google:guice"),
+                ids(new ArtifactSearchEngine(ARTIFACTS).search("guice", 10)),
+                "Matches are not in display order");
+    }
+
+    /**
+     * An artifact which contains every trigram of the pattern, but not the pattern, does not match
+     */
+    @Test
+    void trigramCandidatesAreVerified() {
+        assertEquals(
+                List.of("zabcdz:hit"),
+                ids(new ArtifactSearchEngine(ARTIFACTS).search("abcd", 10)),
+                "Candidate of the trigram intersection was not verified");
+    }
+
+    /**
+     * A pattern with a trigram which is not in any artifact matches nothing
+     */
+    @Test
+    void unknownTrigramMatchesNothing() {
+        assertTrue(new ArtifactSearchEngine(ARTIFACTS).search("guicy", 10).isEmpty(), "Unknown trigram matched");
+    }
+
+    /**
+     * A pattern shorter than a trigram is matched by scanning
+     */
+    @Test
+    void shortPatternIsScanned() {
+        assertEquals(
+                List.of("org.apache:commons-io", "zabcdz:hit"),
+                ids(new ArtifactSearchEngine(ARTIFACTS).search("h", 10)),
+                "Short pattern was not matched");
+    }
+
+    /**
+     * An empty pattern matches every artifact
+     */
+    @Test
+    void emptyPatternMatchesEverything() {
+        assertEquals(ARTIFACTS.size(), new ArtifactSearchEngine(ARTIFACTS).search("", 100).size(),
+                "Empty pattern did not match every artifact");
+    }
+
+    /**
+     * The number of the results is limited by the rows
+     */
+    @Test
+    void rowsLimitTheResults() {
+        assertEquals(
+                List.of("com.google.inject:guice", "com.google:guice-ext"),
+                ids(new ArtifactSearchEngine(ARTIFACTS).search("guice", 2)),
+                "Results were not limited to the first rows");
+    }
+
+    /**
+     * No rows means no results
+     */
+    @Test
+    void zeroRowsMatchNothing() {
+        assertTrue(new ArtifactSearchEngine(ARTIFACTS).search("guice", 0).isEmpty(), "Zero rows returned results");
+    }
+
+    /**
+     * The parallel scan of several segments keeps the display order and stops at the rows
+     */
+    @Test
+    void parallelScanKeepsDisplayOrder() {
+        final var artifacts = new ArrayList<DocsEntry>();
+        for (int i = 200_000; i > 0; i -= 2) {
+            artifacts.add(entry(String.format("g%d:a", i), "1"));
+        }
+        final var expected = artifacts.stream()
+                .filter(i -> i.getId().contains("77"))
+                .sorted(MvnConnector.DISPLAY_ORDER)
+                .limit(1_000)
+                .collect(Collectors.toList());
+        assertEquals(ids(expected), ids(new ArtifactSearchEngine(artifacts).search("77", 1_000)),
+                "Parallel scan did not return the first matches in display order");
+    }
+
+    /**
+     * The prefix search returns the contiguous range of the prefix
+     */
+    @Test
+    void prefixMatchesInDisplayOrder() {
+        assertEquals(
+                List.of("com.google:guice-ext", "com.google:guice"),
+                ids(new ArtifactSearchEngine(ARTIFACTS).searchPrefix("com.google:", 10)),
+                "Prefix did not match its range");
+    }
+
+    /**
+     * The prefix search is limited by the rows
+     */
+    @Test
+    void prefixRowsLimitTheResults() {
+        assertEquals(
+                List.of("abcxbcd:trap", "com.google.inject:guice"),
+                ids(new ArtifactSearchEngine(ARTIFACTS).searchPrefix("", 2)),
+                "Prefix results were not limited to the first rows");
+    }
+
+    /**
+     * A prefix after the last key matches nothing
+     */
+    @Test
+    void prefixAfterLastKeyMatchesNothing() {
+        assertTrue(new ArtifactSearchEngine(ARTIFACTS).searchPrefix("zz", 10).isEmpty(),
+                "Prefix after the last key matched");
+    }
+
+    /**
+     * A prefix which reaches into the version of the key does not match
+     */
+    @Test
+    void prefixDoesNotMatchVersion() {
+        assertTrue(new ArtifactSearchEngine(ARTIFACTS).searchPrefix("com.google:guice:1", 10).isEmpty(),
+                "Prefix matched the version");
+    }
+
+    private static DocsEntry entry(final String id, final String version) {
+        final var parts = id.split(":");
+        return new DocsEntry(id, parts[0], parts[1], version, 1);
+    }
+
+    private static List<String> ids(final List<DocsEntry> entries) {
+        return entries.stream().map(DocsEntry::getId).collect(Collectors.toList());
+    }
+}